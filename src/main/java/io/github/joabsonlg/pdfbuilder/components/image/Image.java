@@ -1,27 +1,41 @@
 package io.github.joabsonlg.pdfbuilder.components.image;
 
+import io.github.joabsonlg.pdfbuilder.core.ContentStreamWriter;
+import io.github.joabsonlg.pdfbuilder.core.ImageHeader;
+import io.github.joabsonlg.pdfbuilder.core.ResourceManager;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
+import io.github.joabsonlg.pdfbuilder.core.TextMeasurer;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDInlineImage;
 import org.apache.pdfbox.util.Matrix;
 
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Componente para renderização de imagens em documentos PDF.
  * Suporta redimensionamento, rotação e diferentes formatos de imagem.
+ * <p>
+ * Ao criar o componente, apenas o cabeçalho do arquivo é lido para obter as dimensões.
+ * A imagem é embutida no documento quando é desenhada pela primeira vez. Nos documentos de um
+ * {@link io.github.joabsonlg.pdfbuilder.core.PDFBuilder}, a conversão é feita em segundo plano
+ * pelo {@link ResourceManager} até o documento ser salvo; nos demais, ao desenhar. Imagens
+ * pequenas podem ser escritas em linha no content stream, conforme o limite configurado no
+ * gerenciador de recursos.
  */
 public final class Image {
     public enum Alignment {
         LEFT, CENTER, RIGHT
     }
 
-    private final PDImageXObject image;
+    private final ResourceManager resourceManager;
+    private final Path imagePath;
+    private PDImageXObject image;
     private final float width;
     private final float height;
     private final float rotation;
@@ -29,8 +43,11 @@ public final class Image {
     private final Alignment alignment;
     private final String caption;
     private final float captionFontSize;
+    private final int stripRows;
 
     private Image(Builder builder) {
+        this.resourceManager = builder.resourceManager;
+        this.imagePath = builder.imagePath;
         this.image = builder.image;
         this.width = builder.width;
         this.height = builder.height;
@@ -39,12 +56,13 @@ public final class Image {
         this.alignment = builder.alignment;
         this.caption = builder.caption;
         this.captionFontSize = builder.captionFontSize;
+        this.stripRows = builder.stripRows;
     }
 
     /**
-     * Renderiza a imagem no PDPageContentStream.
+     * Renderiza a imagem no ContentStreamWriter.
      */
-    public float render(PDPageContentStream contentStream, float x, float y, float availableWidth, float imageWidth) throws IOException {
+    public float render(ContentStreamWriter contentStream, float x, float y, float availableWidth, float imageWidth) throws IOException {
         // Calcula as dimensões com base na qualidade
         float adjustedWidth = width * quality;
         float adjustedHeight = height * quality;
@@ -69,7 +87,12 @@ public final class Image {
         }
 
         // Renderiza a imagem com dimensões ajustadas
-        contentStream.drawImage(image, xPos, y - adjustedHeight, adjustedWidth, adjustedHeight);
+        PDInlineImage inline = image == null && stripRows == 0 ? resourceManager.inlineImage(imagePath) : null;
+        if (inline != null) {
+            contentStream.drawImage(inline, xPos, y - adjustedHeight, adjustedWidth, adjustedHeight);
+        } else {
+            contentStream.drawImage(embed(), xPos, y - adjustedHeight, adjustedWidth, adjustedHeight);
+        }
 
         // Restaura o estado gráfico
         contentStream.restoreGraphicsState();
@@ -78,11 +101,11 @@ public final class Image {
 
         // Adiciona legenda se existir
         if (caption != null && !caption.isEmpty()) {
-            PDFont font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            PDFont font = StandardFonts.get(Standard14Fonts.FontName.HELVETICA);
             contentStream.beginText();
             contentStream.setFont(font, captionFontSize);
 
-            float captionWidth = font.getStringWidth(caption) / 1000 * captionFontSize;
+            float captionWidth = TextMeasurer.getStringWidth(font, caption, captionFontSize);
             float captionX = switch (alignment) {
                 case CENTER -> xPos + (imageWidth - captionWidth) / 2;
                 case RIGHT -> xPos + imageWidth - captionWidth;
@@ -100,6 +123,20 @@ public final class Image {
         return newY;
     }
 
+    /**
+     * Embute a imagem no documento na primeira vez em que é desenhada. Se o documento tiver
+     * uma resolução de imagens configurada, a imagem é reamostrada para o tamanho exibido.
+     */
+    private PDImageXObject embed() throws IOException {
+        if (image == null && stripRows > 0) {
+            image = resourceManager.ingestImageInStrips(imagePath, stripRows, width * quality, height * quality);
+        } else if (image == null) {
+            image = resourceManager.resampleImage(resourceManager.ingestImage(imagePath),
+                    width * quality, height * quality);
+        }
+        return image;
+    }
+
     /**
      * Retorna as dimensões atuais da imagem.
      */
@@ -107,6 +144,11 @@ public final class Image {
         return new Dimension((int) width, (int) height);
     }
 
+    /**
+     * Cria um builder para a imagem do arquivo. A imagem é obtida pelo {@link ResourceManager}
+     * do documento, de modo que arquivos com o mesmo conteúdo são embutidos uma única vez.
+     * @throws IOException se houver erro ao ler o cabeçalho da imagem
+     */
     public static Builder builder(PDDocument document, File imageFile) throws IOException {
         return new Builder(document, imageFile);
     }
@@ -116,6 +158,8 @@ public final class Image {
     }
 
     public static final class Builder {
+        private final ResourceManager resourceManager;
+        private final Path imagePath;
         private PDImageXObject image;
         private float width;
         private float height;
@@ -124,11 +168,23 @@ public final class Image {
         private Alignment alignment = Alignment.LEFT;
         private String caption = null;
         private float captionFontSize = 10f;
+        private int stripRows;
 
         private Builder(PDDocument document, File imageFile) throws IOException {
-            this.image = PDImageXObject.createFromFileByContent(imageFile, document);
-            this.width = image.getWidth();
-            this.height = image.getHeight();
+            this.resourceManager = ResourceManager.of(document);
+            this.imagePath = imageFile.toPath();
+            ImageHeader header = ImageHeader.read(imagePath);
+            if (header != null) {
+                this.width = header.getWidth();
+                this.height = header.getHeight();
+                // Imagens repetidas no documento não são emitidas em linha
+                resourceManager.registerImageUse(imagePath);
+            } else {
+                // Formato sem leitor de cabeçalho: a imagem é decodificada para obter as dimensões
+                this.image = resourceManager.createImage(imagePath);
+                this.width = image.getWidth();
+                this.height = image.getHeight();
+            }
         }
 
         /**
@@ -191,7 +247,28 @@ public final class Image {
             return this;
         }
 
+        /**
+         * Lê a imagem em faixas horizontais de no máximo o número de linhas informado, para
+         * imagens grandes demais para serem decodificadas de uma vez, como desenhos
+         * digitalizados. A memória usada passa a depender da faixa e não da imagem.
+         * @throws IllegalArgumentException se o número de linhas não for positivo
+         */
+        public Builder withStripHeight(int rows) {
+            if (rows < 1) {
+                throw new IllegalArgumentException("Número de linhas da faixa deve ser positivo");
+            }
+            this.stripRows = rows;
+            return this;
+        }
+
+        /**
+         * Cria a imagem. Se o documento tiver uma resolução de imagens configurada, a imagem
+         * é reamostrada para o tamanho em que será exibida.
+         */
         public Image build() {
+            if (image != null) {
+                this.image = resourceManager.resampleImage(image, width * quality, height * quality);
+            }
             return new Image(this);
         }
     }
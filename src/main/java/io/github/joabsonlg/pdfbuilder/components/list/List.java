@@ -2,8 +2,10 @@ package io.github.joabsonlg.pdfbuilder.components.list;
 
 import io.github.joabsonlg.pdfbuilder.components.text.StyledText;
 import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
+import io.github.joabsonlg.pdfbuilder.core.ContentStreamWriter;
+import io.github.joabsonlg.pdfbuilder.core.FontFallback;
 import io.github.joabsonlg.pdfbuilder.core.PDFBuilder;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import io.github.joabsonlg.pdfbuilder.core.TextMeasurer;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,9 +46,9 @@ public final class List {
     }
 
     /**
-     * Renderiza a lista no PDPageContentStream.
+     * Renderiza a lista no ContentStreamWriter.
      */
-    public float render(PDPageContentStream contentStream, float x, float y, float availableWidth, PDFBuilder pdfBuilder) throws IOException {
+    public float render(ContentStreamWriter contentStream, float x, float y, float availableWidth, PDFBuilder pdfBuilder) throws IOException {
         float currentY = y;
         float baseIndentation = indentation * level;
         float textX = x + baseIndentation + bulletSpacing;  // Ajustado para incluir bulletSpacing
@@ -92,10 +94,10 @@ public final class List {
                     contentStream.setFont(style.getFont(), style.getFontSize());
                     contentStream.setNonStrokingColor(style.getColor());
                     contentStream.newLineAtOffset(currentX, lineY);
-                    contentStream.showText(text);
+                    FontFallback.showText(contentStream, style.getFont(), style.getFallbackFonts(), text, style.getFontSize(), style.isKerning());
                     contentStream.endText();
 
-                    currentX += style.getFont().getStringWidth(text) / 1000 * style.getFontSize();
+                    currentX += FontFallback.getStringWidth(style.getFont(), style.getFallbackFonts(), text, style.getFontSize(), style.isKerning());
                 }
 
                 lineY -= fontSize + lineSpacing;
@@ -161,8 +163,8 @@ public final class List {
             TextStyle style = styledText.getStyle();
 
             for (String word : words) {
-                float wordWidth = style.getFont().getStringWidth(word) / 1000 * style.getFontSize();
-                float spaceWidth = style.getFont().getStringWidth(" ") / 1000 * style.getFontSize();
+                float wordWidth = FontFallback.getStringWidth(style.getFont(), style.getFallbackFonts(), word, style.getFontSize(), style.isKerning());
+                float spaceWidth = TextMeasurer.getStringWidth(style.getFont(), " ", style.getFontSize());
 
                 if (currentWidth + wordWidth > maxWidth) {
                     if (!currentLine.isEmpty()) {
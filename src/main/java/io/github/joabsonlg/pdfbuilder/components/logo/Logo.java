@@ -1,6 +1,7 @@
 package io.github.joabsonlg.pdfbuilder.components.logo;
 
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import io.github.joabsonlg.pdfbuilder.core.ContentStreamWriter;
+import io.github.joabsonlg.pdfbuilder.core.TextMeasurer;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 
 import java.io.IOException;
@@ -24,7 +25,7 @@ public final class Logo {
     /**
      * Renderiza o logo na página.
      */
-    public void render(PDPageContentStream contentStream, float pageWidth, float y, float marginLeft, float marginRight) throws IOException {
+    public void render(ContentStreamWriter contentStream, float pageWidth, float y, float marginLeft, float marginRight) throws IOException {
         float contentWidth = pageWidth - marginLeft - marginRight;
         float textY = y;
         float lineY = y - (style.getFontSize() / 2) - 5;
@@ -34,7 +35,7 @@ public final class Logo {
         contentStream.setNonStrokingColor(style.getColor());
 
         // Calcula a largura do texto
-        float textWidth = style.getFont().getStringWidth(title) / 1000 * style.getFontSize();
+        float textWidth = TextMeasurer.getStringWidth(style.getFont(), title, style.getFontSize());
 
         // Renderiza a imagem da esquerda
         if (leftImage != null) {
@@ -103,6 +104,22 @@ public final class Logo {
         return baseHeight + style.getMarginBottom() + (style.hasLine() ? style.getLineWidth() + 10 : 0);
     }
 
+    public String getTitle() {
+        return title;
+    }
+
+    public LogoStyle getStyle() {
+        return style;
+    }
+
+    public PDImageXObject getLeftImage() {
+        return leftImage;
+    }
+
+    public PDImageXObject getRightImage() {
+        return rightImage;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -1,7 +1,7 @@
 package io.github.joabsonlg.pdfbuilder.components.logo;
 
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
 import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -106,7 +106,7 @@ public final class LogoStyle {
 
         public Builder() {
             try {
-                this.font = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+                this.font = StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD);
             } catch (Exception e) {
                 LOGGER.error("Erro ao criar fonte padrão", e);
                 throw new RuntimeException("Erro ao criar fonte padrão", e);
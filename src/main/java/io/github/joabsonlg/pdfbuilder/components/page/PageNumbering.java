@@ -1,7 +1,8 @@
 package io.github.joabsonlg.pdfbuilder.components.page;
 
 import io.github.joabsonlg.pdfbuilder.components.text.TextAlignment;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import io.github.joabsonlg.pdfbuilder.core.ContentStreamWriter;
+import io.github.joabsonlg.pdfbuilder.core.TextMeasurer;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,9 +46,9 @@ public final class PageNumbering {
      * @param pageNumber    Número da página atual
      * @param totalPages    Total de páginas no documento
      */
-    public void render(PDPageContentStream contentStream, float pageWidth, float pageHeight, int pageNumber, int totalPages) throws IOException {
+    public void render(ContentStreamWriter contentStream, float pageWidth, float pageHeight, int pageNumber, int totalPages) throws IOException {
         String text = formatPageNumber(pageNumber, totalPages);
-        float textWidth = font.getStringWidth(text) / 1000 * fontSize;
+        float textWidth = TextMeasurer.getStringWidth(font, text, fontSize);
         float x = calculateX(pageWidth, textWidth);
         float y = calculateY(pageHeight);
 
@@ -59,6 +60,10 @@ public final class PageNumbering {
         contentStream.endText();
     }
 
+    public PDFont getFont() {
+        return font;
+    }
+
     public String formatPageNumber(int pageNumber, int totalPages) {
         return switch (format) {
             case SIMPLE -> String.valueOf(pageNumber);
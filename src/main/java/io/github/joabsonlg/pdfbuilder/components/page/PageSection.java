@@ -1,8 +1,9 @@
 package io.github.joabsonlg.pdfbuilder.components.page;
 
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import io.github.joabsonlg.pdfbuilder.core.ContentStreamWriter;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
+import io.github.joabsonlg.pdfbuilder.core.TextMeasurer;
 import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 
 import java.awt.Color;
@@ -88,7 +89,7 @@ public final class PageSection {
      * @param totalPages Total de páginas (opcional, usado apenas se tiver PageNumbering)
      * @throws IOException em caso de erro na renderização
      */
-    public void render(PDPageContentStream contentStream, float pageWidth, float y, float marginLeft, float marginRight,
+    public void render(ContentStreamWriter contentStream, float pageWidth, float y, float marginLeft, float marginRight,
                       int pageNumber, int totalPages) throws IOException {
         float contentWidth = pageWidth - marginLeft - marginRight;
         float textY = y;
@@ -109,14 +110,14 @@ public final class PageSection {
         // Renderiza o texto centralizado ou a numeração de página
         if (pageNumbering != null) {
             String pageText = pageNumbering.formatPageNumber(pageNumber, totalPages);
-            float textWidth = font.getStringWidth(pageText) / 1000 * fontSize;
+            float textWidth = TextMeasurer.getStringWidth(font, pageText, fontSize);
             float rightX = pageWidth - marginRight - textWidth;
             contentStream.beginText();
             contentStream.newLineAtOffset(rightX, textY);
             contentStream.showText(pageText);
             contentStream.endText();
         } else if (centerText != null && !centerText.isEmpty()) {
-            float textWidth = font.getStringWidth(centerText) / 1000 * fontSize;
+            float textWidth = TextMeasurer.getStringWidth(font, centerText, fontSize);
             float centerX = marginLeft + (contentWidth - textWidth) / 2;
             contentStream.beginText();
             contentStream.newLineAtOffset(centerX, textY);
@@ -126,7 +127,7 @@ public final class PageSection {
 
         // Renderiza o texto à direita (apenas se não tiver PageNumbering)
         if (pageNumbering == null && rightText != null && !rightText.isEmpty()) {
-            float textWidth = font.getStringWidth(rightText) / 1000 * fontSize;
+            float textWidth = TextMeasurer.getStringWidth(font, rightText, fontSize);
             float rightX = pageWidth - marginRight - textWidth;
             contentStream.beginText();
             contentStream.newLineAtOffset(rightX, textY);
@@ -145,7 +146,7 @@ public final class PageSection {
     }
 
     // Sobrecarga do método render para manter compatibilidade
-    public void render(PDPageContentStream contentStream, float pageWidth, float y, float marginLeft, float marginRight) throws IOException {
+    public void render(ContentStreamWriter contentStream, float pageWidth, float y, float marginLeft, float marginRight) throws IOException {
         render(contentStream, pageWidth, y, marginLeft, marginRight, 0, 0);
     }
 
@@ -167,7 +168,7 @@ public final class PageSection {
 
         private Builder() {
             // Valores padrão
-            font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            font = StandardFonts.get(Standard14Fonts.FontName.HELVETICA);
         }
 
         public Builder withLeftText(String leftText) {
@@ -1,6 +1,6 @@
 package io.github.joabsonlg.pdfbuilder.components.page;
 
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 
 import java.awt.*;
@@ -22,7 +22,7 @@ public final class PageSectionStyle {
     public static PageSection createMinimal(String title) {
         return PageSection.builder()
                 .withCenterText(title)
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                 .withFontSize(10)
                 .withColor(new Color(128, 128, 128))
                 .withDrawLine(true)
@@ -39,7 +39,7 @@ public final class PageSectionStyle {
                 .withLeftText(company)
                 .withCenterText(documentTitle)
                 .withRightText(LocalDate.now().format(DateTimeFormatter.ISO_DATE))
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD))
                 .withFontSize(10)
                 .withColor(new Color(68, 68, 68))
                 .withDrawLine(true)
@@ -54,7 +54,7 @@ public final class PageSectionStyle {
     public static PageSection createModern(String title) {
         return PageSection.builder()
                 .withCenterText(title)
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                 .withFontSize(12)
                 .withColor(new Color(41, 128, 185))
                 .withDrawLine(true)
@@ -71,7 +71,7 @@ public final class PageSectionStyle {
                 .withLeftText(leftText)
                 .withCenterText(centerText)
                 .withRightText(pageNumbering != null ? "{pageNumber}" : "")
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                 .withFontSize(8)
                 .withColor(new Color(128, 128, 128))
                 .withDrawLine(true)
@@ -88,7 +88,7 @@ public final class PageSectionStyle {
                 .withLeftText("© " + LocalDate.now().getYear() + " " + company)
                 .withCenterText("CONFIDENCIAL")
                 .withRightText("")
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                 .withFontSize(8)
                 .withColor(new Color(128, 128, 128))
                 .withDrawLine(true)
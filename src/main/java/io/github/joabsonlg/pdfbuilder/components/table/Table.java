@@ -1,20 +1,30 @@
 package io.github.joabsonlg.pdfbuilder.components.table;
 
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import io.github.joabsonlg.pdfbuilder.core.ContentStreamWriter;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
+import io.github.joabsonlg.pdfbuilder.core.TextMeasurer;
 import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 
 import java.awt.*;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Componente para renderização de tabelas em documentos PDF.
  * Suporta células com texto simples, alinhamento e cores de fundo.
  */
 public final class Table {
+    /**
+     * Número de linhas a partir do qual a medição é dividida entre threads, e tamanho
+     * máximo do bloco medido por cada tarefa.
+     */
+    private static final int MEASURE_BLOCK_ROWS = 512;
+
     private final List<List<String>> data;
     private final float[] columnWidths;
     private final float rowHeight;
@@ -26,6 +36,7 @@ public final class Table {
     private final boolean drawHeader;
     private final Color headerBackgroundColor;
     private final Color headerTextColor;
+    private final boolean kerning;
 
     private Table(Builder builder) {
         this.data = builder.data;
@@ -39,6 +50,14 @@ public final class Table {
         this.drawHeader = builder.drawHeader;
         this.headerBackgroundColor = builder.headerBackgroundColor;
         this.headerTextColor = builder.headerTextColor;
+        this.kerning = builder.kerning;
+    }
+
+    /**
+     * Indica se a primeira linha dos dados é desenhada como cabeçalho.
+     */
+    public boolean hasHeader() {
+        return drawHeader;
     }
 
     public float calculateHeight() {
@@ -59,16 +78,115 @@ public final class Table {
 
 
     /**
-     * Renderiza a tabela no PDPageContentStream.
+     * Renderiza a tabela no ContentStreamWriter.
      */
-    public float render(PDPageContentStream contentStream, float x, float y, float availableWidth) throws IOException {
+    public float render(ContentStreamWriter contentStream, float x, float y, float availableWidth) throws IOException {
+        return render(contentStream, x, y, layout(availableWidth), 0, data.size());
+    }
+
+    /**
+     * Renderiza um intervalo de linhas da tabela, quebrando o texto apenas das linhas do
+     * intervalo. Para renderizar a tabela em várias partes, como as linhas que cabem em cada
+     * página, prefira {@link #render(ContentStreamWriter, float, float, Layout, int, int)}
+     * com o resultado de {@link #layout(float)}, que não repete a quebra de texto.
+     * A linha 0 é desenhada como cabeçalho quando o cabeçalho está ativo.
+     *
+     * @param fromRow Índice da primeira linha (inclusivo)
+     * @param toRow Índice da última linha (exclusivo)
+     * @return Posição Y após a última linha renderizada
+     */
+    public float render(ContentStreamWriter contentStream, float x, float y, float availableWidth,
+                        int fromRow, int toRow) throws IOException {
+        checkRange(fromRow, toRow);
+        float[] adjustedColumnWidths = adjustColumnWidths(availableWidth);
         float currentY = y;
+        for (int i = fromRow; i < toRow; i++) {
+            String[][] cells = wrapRow(data.get(i), adjustedColumnWidths);
+            currentY = drawRow(contentStream, cells, x, currentY, drawHeader && i == 0, adjustedColumnWidths,
+                    rowHeightFor(cells));
+        }
+        return currentY;
+    }
+
+    /**
+     * Renderiza um intervalo de linhas a partir do texto já quebrado e das alturas de
+     * {@link #layout(float)}, sem medir novamente as células. A linha 0 é desenhada como
+     * cabeçalho quando o cabeçalho está ativo.
+     *
+     * @param layout Disposição calculada para esta tabela
+     * @param fromRow Índice da primeira linha (inclusivo)
+     * @param toRow Índice da última linha (exclusivo)
+     * @return Posição Y após a última linha renderizada
+     * @throws IllegalArgumentException se a disposição for de outra tabela ou o intervalo for inválido
+     */
+    public float render(ContentStreamWriter contentStream, float x, float y, Layout layout,
+                        int fromRow, int toRow) throws IOException {
+        if (layout == null || layout.table != this) {
+            throw new IllegalArgumentException("Disposição não pertence a esta tabela");
+        }
+        checkRange(fromRow, toRow);
+        float currentY = y;
+        for (int i = fromRow; i < toRow; i++) {
+            currentY = drawRow(contentStream, layout.cells[i], x, currentY, drawHeader && i == 0,
+                    layout.columnWidths, layout.heights[i]);
+        }
+        return currentY;
+    }
+
+    /**
+     * Calcula a altura de cada linha da tabela, com a quebra de texto das células, sem
+     * renderizar. Equivale a {@code layout(availableWidth).getRowHeights()}.
+     *
+     * @param availableWidth Largura disponível para a tabela
+     * @return Altura de cada linha, na ordem dos dados (a linha 0 é o cabeçalho, se ativo)
+     * @throws IOException se houver erro ao medir o texto
+     */
+    public float[] measureRowHeights(float availableWidth) throws IOException {
+        return layout(availableWidth).getRowHeights();
+    }
+
+    /**
+     * Quebra o texto de todas as células e calcula a altura de cada linha, sem renderizar.
+     * O resultado é desenhado por {@link #render(ContentStreamWriter, float, float, Layout, int, int)}
+     * sem nova quebra de texto, e as alturas permitem distribuir as linhas entre páginas
+     * antes de emitir qualquer conteúdo.
+     * <p>
+     * Tabelas grandes com fontes de métricas pré-compiladas são medidas em paralelo no
+     * {@link ForkJoinPool#commonPool()}, dividindo as linhas em blocos.
+     *
+     * @param availableWidth Largura disponível para a tabela
+     * @return Disposição da tabela na largura informada
+     * @throws IOException se houver erro ao medir o texto
+     */
+    public Layout layout(float availableWidth) throws IOException {
+        Layout layout = new Layout(this, adjustColumnWidths(availableWidth), data.size());
+        if (data.size() <= MEASURE_BLOCK_ROWS || !TextMeasurer.hasPrecompiledMetrics(font)) {
+            measureRows(layout, 0, data.size());
+            return layout;
+        }
+        try {
+            ForkJoinPool.commonPool().invoke(new MeasureTask(layout, 0, data.size()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return layout;
+    }
+
+    private void checkRange(int fromRow, int toRow) {
+        if (fromRow < 0 || toRow > data.size() || fromRow > toRow) {
+            throw new IllegalArgumentException("Intervalo de linhas inválido: " + fromRow + " a " + toRow);
+        }
+    }
+
+    /**
+     * Ajusta as larguras das colunas proporcionalmente se a tabela exceder a largura disponível.
+     */
+    private float[] adjustColumnWidths(float availableWidth) {
         float tableWidth = 0;
         for (float columnWidth : columnWidths) {
             tableWidth += columnWidth;
         }
 
-        // Ajusta as larguras das colunas se necessário
         float[] adjustedColumnWidths = columnWidths.clone();
         if (tableWidth > availableWidth) {
             float scaleFactor = availableWidth / tableWidth;
@@ -76,23 +194,41 @@ public final class Table {
                 adjustedColumnWidths[i] *= scaleFactor;
             }
         }
+        return adjustedColumnWidths;
+    }
 
-        // Desenha o cabeçalho
-        if (!data.isEmpty() && drawHeader) {
-            List<String> headerRow = data.get(0);
-            currentY = drawRow(contentStream, headerRow, x, currentY, true, adjustedColumnWidths);
+    private void measureRows(Layout layout, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            String[][] cells = wrapRow(data.get(i), layout.columnWidths);
+            layout.cells[i] = cells;
+            layout.heights[i] = rowHeightFor(cells);
         }
+    }
 
-        // Desenha as linhas de dados
-        for (int i = drawHeader ? 1 : 0; i < data.size(); i++) {
-            List<String> row = data.get(i);
-            currentY = drawRow(contentStream, row, x, currentY, false, adjustedColumnWidths);
+    /**
+     * Quebra o texto de cada célula da linha, com 5 pontos de padding de cada lado.
+     */
+    private String[][] wrapRow(List<String> row, float[] columnWidths) throws IOException {
+        String[][] cells = new String[Math.min(row.size(), columnWidths.length)][];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = wrapText(row.get(i), font, fontSize, columnWidths[i] - 10).toArray(new String[0]);
         }
+        return cells;
+    }
 
-        return currentY;
+    /**
+     * Altura da linha para o texto mais alto das células, com 10 pontos de padding em cima e embaixo.
+     */
+    private float rowHeightFor(String[][] cells) {
+        float maxTextHeight = 0;
+        for (String[] lines : cells) {
+            maxTextHeight = Math.max(maxTextHeight, lines.length * fontSize);
+        }
+        return Math.max(rowHeight, maxTextHeight + 20);
     }
 
-    private float drawRow(PDPageContentStream contentStream, List<String> row, float x, float y, boolean isHeader, float[] columnWidths) throws IOException {
+    private float drawRow(ContentStreamWriter contentStream, String[][] cells, float x, float y, boolean isHeader,
+                          float[] columnWidths, float actualRowHeight) throws IOException {
         float currentX;
         Color bgColor = isHeader ? headerBackgroundColor : null;
         Color txtColor = isHeader ? headerTextColor : textColor;
@@ -103,25 +239,6 @@ public final class Table {
             tableWidth += width;
         }
 
-        // Primeiro, calcula a altura necessária para a linha
-        float maxTextHeight = 0;
-        List<List<String>> wrappedTexts = new ArrayList<>();
-
-        for (int i = 0; i < row.size() && i < columnWidths.length; i++) {
-            String cellText = row.get(i);
-            float columnWidth = columnWidths[i];
-            float maxWidth = columnWidth - 10; // 5 pixels de padding de cada lado
-
-            List<String> lines = wrapText(cellText, font, fontSize, maxWidth);
-            wrappedTexts.add(lines);
-
-            float textHeight = lines.size() * fontSize;
-            maxTextHeight = Math.max(maxTextHeight, textHeight);
-        }
-
-        // Adiciona padding vertical
-        float actualRowHeight = Math.max(rowHeight, maxTextHeight + 20); // 10 pixels de padding em cima e embaixo
-
         // Desenha o fundo da linha se necessário
         if (bgColor != null) {
             contentStream.setNonStrokingColor(bgColor);
@@ -131,9 +248,9 @@ public final class Table {
 
         // Desenha as bordas e o texto de cada célula
         currentX = x;
-        for (int i = 0; i < row.size() && i < columnWidths.length; i++) {
+        for (int i = 0; i < cells.length; i++) {
             float columnWidth = columnWidths[i];
-            List<String> lines = wrappedTexts.get(i);
+            String[] lines = cells[i];
 
             // Desenha a borda da célula
             contentStream.setStrokingColor(borderColor);
@@ -142,25 +259,29 @@ public final class Table {
             contentStream.stroke();
 
             // Calcula a altura total do texto
-            float textHeight = lines.size() * fontSize;
+            float textHeight = lines.length * fontSize;
 
             // Calcula a posição Y inicial para centralizar verticalmente todas as linhas
             float startY = y - actualRowHeight + (actualRowHeight - textHeight) / 2;
 
             // Desenha cada linha do texto
-            for (int lineIndex = 0; lineIndex < lines.size(); lineIndex++) {
-                String line = lines.get(lineIndex);
+            for (int lineIndex = 0; lineIndex < lines.length; lineIndex++) {
+                String line = lines[lineIndex];
 
                 // Calcula a posição X para centralizar a linha horizontalmente
-                float textWidth = font.getStringWidth(line) / 1000 * fontSize;
+                float textWidth = TextMeasurer.getStringWidth(font, line, fontSize, kerning);
                 float textX = currentX + (columnWidth - textWidth) / 2;
-                float textY = startY + (lines.size() - 1 - lineIndex) * fontSize;
+                float textY = startY + (lines.length - 1 - lineIndex) * fontSize;
 
                 contentStream.beginText();
                 contentStream.setFont(font, fontSize);
                 contentStream.setNonStrokingColor(txtColor);
                 contentStream.newLineAtOffset(textX, textY);
-                contentStream.showText(line);
+                if (kerning) {
+                    contentStream.showKernedText(line);
+                } else {
+                    contentStream.showText(line);
+                }
                 contentStream.endText();
             }
 
@@ -174,13 +295,17 @@ public final class Table {
      * Quebra o texto em linhas que cabem dentro da largura máxima especificada.
      */
     private List<String> wrapText(String text, PDFont font, float fontSize, float maxWidth) throws IOException {
+        float advance = kerning ? -1 : TextMeasurer.getFixedPitchAdvance(font);
+        if (advance >= 0 && TextMeasurer.isFixedPitch(font, text, 0, text.length())) {
+            return wrapFixedPitchText(text, advance, fontSize, maxWidth);
+        }
         List<String> lines = new ArrayList<>();
         String[] words = text.split(" ");
         StringBuilder currentLine = new StringBuilder();
 
         for (String word : words) {
             // Testa se a palavra sozinha é maior que a largura máxima
-            float wordWidth = font.getStringWidth(word) / 1000 * fontSize;
+            float wordWidth = TextMeasurer.getStringWidth(font, word, fontSize, kerning);
             if (wordWidth > maxWidth) {
                 // Se a linha atual não estiver vazia, adiciona ela primeiro
                 if (currentLine.length() > 0) {
@@ -190,7 +315,7 @@ public final class Table {
                 // Quebra a palavra em caracteres
                 for (int i = 0; i < word.length(); i++) {
                     String part = word.substring(0, i + 1);
-                    float partWidth = font.getStringWidth(part) / 1000 * fontSize;
+                    float partWidth = TextMeasurer.getStringWidth(font, part, fontSize, kerning);
                     if (partWidth > maxWidth) {
                         if (i > 0) {
                             lines.add(word.substring(0, i));
@@ -207,7 +332,7 @@ public final class Table {
 
             // Testa se adicionar a palavra vai exceder a largura máxima
             String testLine = currentLine.toString() + (currentLine.length() > 0 ? " " : "") + word;
-            float lineWidth = font.getStringWidth(testLine) / 1000 * fontSize;
+            float lineWidth = TextMeasurer.getStringWidth(font, testLine, fontSize, kerning);
 
             if (lineWidth <= maxWidth) {
                 currentLine.append(currentLine.length() > 0 ? " " : "").append(word);
@@ -227,6 +352,141 @@ public final class Table {
         return lines;
     }
 
+    /**
+     * Quebra o texto de uma fonte de largura fixa comparando contagens de caracteres,
+     * sem medir cada palavra ou linha candidata. Produz as mesmas linhas que {@link #wrapText}.
+     */
+    private List<String> wrapFixedPitchText(String text, float advance, float fontSize, float maxWidth) {
+        List<String> lines = new ArrayList<>();
+        String[] words = text.split(" ");
+        StringBuilder currentLine = new StringBuilder();
+        int maxChars = maxFittingChars(advance, fontSize, maxWidth);
+
+        for (String word : words) {
+            if (word.length() > maxChars) {
+                if (currentLine.length() > 0) {
+                    lines.add(currentLine.toString().trim());
+                    currentLine = new StringBuilder();
+                }
+                // Quebra a palavra em partes com o máximo de caracteres que cabe (ao menos um)
+                int partLength = Math.max(1, maxChars);
+                int start = 0;
+                while (word.length() - start > partLength) {
+                    lines.add(word.substring(start, start + partLength));
+                    start += partLength;
+                }
+                if (start < word.length()) {
+                    lines.add(word.substring(start));
+                }
+                continue;
+            }
+
+            int separator = currentLine.length() > 0 ? 1 : 0;
+            if (currentLine.length() + separator + word.length() <= maxChars) {
+                currentLine.append(separator > 0 ? " " : "").append(word);
+            } else {
+                if (currentLine.length() > 0) {
+                    lines.add(currentLine.toString().trim());
+                    currentLine = new StringBuilder();
+                }
+                currentLine.append(word);
+            }
+        }
+
+        if (currentLine.length() > 0) {
+            lines.add(currentLine.toString().trim());
+        }
+
+        return lines;
+    }
+
+    /**
+     * Retorna o maior número de caracteres de largura fixa cuja largura não excede maxWidth,
+     * usando a mesma aritmética de {@link TextMeasurer#getStringWidth(PDFont, String, float)}.
+     */
+    private static int maxFittingChars(float advance, float fontSize, float maxWidth) {
+        float estimate = maxWidth / (advance / 1000 * fontSize);
+        int count = (int) Math.min(Integer.MAX_VALUE - 1, Math.max(0, estimate));
+        while (count > 0 && count * advance / 1000 * fontSize > maxWidth) {
+            count--;
+        }
+        while (count < Integer.MAX_VALUE - 1 && (count + 1) * advance / 1000 * fontSize <= maxWidth) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Mede um bloco de linhas, dividindo-o ao meio enquanto for maior que
+     * {@link #MEASURE_BLOCK_ROWS}. Cada tarefa escreve apenas no seu intervalo da disposição.
+     */
+    private final class MeasureTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Layout layout;
+        private final int from;
+        private final int to;
+
+        private MeasureTask(Layout layout, int from, int to) {
+            this.layout = layout;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MEASURE_BLOCK_ROWS) {
+                try {
+                    measureRows(layout, from, to);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MeasureTask(layout, from, middle), new MeasureTask(layout, middle, to));
+        }
+    }
+
+    /**
+     * Disposição da tabela em uma largura: o texto quebrado de cada célula e a altura de
+     * cada linha. É imutável depois de calculada por {@link Table#layout(float)}.
+     */
+    public static final class Layout {
+        private final Table table;
+        private final float[] columnWidths;
+        private final String[][][] cells;
+        private final float[] heights;
+
+        private Layout(Table table, float[] columnWidths, int rowCount) {
+            this.table = table;
+            this.columnWidths = columnWidths;
+            this.cells = new String[rowCount][][];
+            this.heights = new float[rowCount];
+        }
+
+        /**
+         * Retorna o número de linhas da tabela, incluindo o cabeçalho.
+         */
+        public int getRowCount() {
+            return heights.length;
+        }
+
+        /**
+         * Retorna a altura da linha, com o padding das células.
+         */
+        public float getRowHeight(int row) {
+            return heights[row];
+        }
+
+        /**
+         * Retorna uma cópia das alturas das linhas, na ordem dos dados.
+         */
+        public float[] getRowHeights() {
+            return heights.clone();
+        }
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -243,9 +503,10 @@ public final class Table {
         private boolean drawHeader = true;
         private Color headerBackgroundColor = new Color(240, 240, 240);
         private Color headerTextColor = Color.BLACK;
+        private boolean kerning = false;
 
         private Builder() {
-            this.font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            this.font = StandardFonts.get(Standard14Fonts.FontName.HELVETICA);
         }
 
         /**
@@ -337,6 +598,14 @@ public final class Table {
             return this;
         }
 
+        /**
+         * Ativa ou desativa o kerning entre pares de caracteres.
+         */
+        public Builder withKerning(boolean kerning) {
+            this.kerning = kerning;
+            return this;
+        }
+
         public Table build() {
             return new Table(this);
         }
@@ -1,8 +1,9 @@
 package io.github.joabsonlg.pdfbuilder.components.text;
 
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import io.github.joabsonlg.pdfbuilder.core.ContentStreamWriter;
+import io.github.joabsonlg.pdfbuilder.core.FontFallback;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
 import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 
 import java.awt.*;
@@ -64,24 +65,26 @@ public final class Heading {
     }
 
     /**
-     * Renderiza o título no PDPageContentStream.
+     * Renderiza o título no ContentStreamWriter.
      */
-    public float render(PDPageContentStream contentStream, float x, float y, float maxWidth) throws IOException {
-        PDFont font = style != null ? style.getFont() : new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+    public float render(ContentStreamWriter contentStream, float x, float y, float maxWidth) throws IOException {
+        PDFont font = style != null ? style.getFont() : StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD);
         float fontSize = style != null ? style.getFontSize() : level.getFontSize();
         Color color = style != null ? style.getColor() : Color.BLACK;
+        List<PDFont> fallbacks = style != null ? style.getFallbackFonts() : List.of();
+        boolean kerning = style != null && style.isKerning();
 
         contentStream.setFont(font, fontSize);
         contentStream.setNonStrokingColor(color);
 
         String fullText = numbered && number != null ? number + " " + text : text;
 
-        java.util.List<String> lines = breakTextIntoLines(fullText, font, fontSize, maxWidth);
+        java.util.List<String> lines = breakTextIntoLines(fullText, font, fallbacks, kerning, fontSize, maxWidth);
 
         y -= spacingBefore;
 
         for (String line : lines) {
-            float textWidth = font.getStringWidth(line) / 1000 * fontSize;
+            float textWidth = FontFallback.getStringWidth(font, fallbacks, line, fontSize, kerning);
 
             float startX = x;
             if (alignment == TextAlignment.CENTER) {
@@ -92,7 +95,7 @@ public final class Heading {
 
             contentStream.beginText();
             contentStream.newLineAtOffset(startX, y);
-            contentStream.showText(line);
+            FontFallback.showText(contentStream, font, fallbacks, line, fontSize, kerning);
             contentStream.endText();
 
             if (lines.indexOf(line) < lines.size() - 1) {
@@ -103,14 +106,15 @@ public final class Heading {
         return y - spacingAfter;
     }
 
-    private java.util.List<String> breakTextIntoLines(String text, PDFont font, float fontSize, float maxWidth) throws IOException {
+    private java.util.List<String> breakTextIntoLines(String text, PDFont font, List<PDFont> fallbacks, boolean kerning,
+                                                      float fontSize, float maxWidth) throws IOException {
         List<String> lines = new ArrayList<>();
         String[] words = text.split("\\s+");
         StringBuilder currentLine = new StringBuilder();
 
         for (String word : words) {
             if (currentLine.isEmpty()) {
-                float wordWidth = font.getStringWidth(word) / 1000 * fontSize;
+                float wordWidth = FontFallback.getStringWidth(font, fallbacks, word, fontSize, kerning);
                 if (wordWidth > maxWidth) {
                     lines.add(word);
                     currentLine = new StringBuilder();
@@ -119,7 +123,7 @@ public final class Heading {
                 }
             } else {
                 String testLine = currentLine + " " + word;
-                float textWidth = font.getStringWidth(testLine) / 1000 * fontSize;
+                float textWidth = FontFallback.getStringWidth(font, fallbacks, testLine, fontSize, kerning);
 
                 if (textWidth > maxWidth) {
                     lines.add(currentLine.toString());
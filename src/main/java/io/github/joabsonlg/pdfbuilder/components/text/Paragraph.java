@@ -1,50 +1,91 @@
 package io.github.joabsonlg.pdfbuilder.components.text;
 
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import io.github.joabsonlg.pdfbuilder.core.ContentStreamWriter;
+import io.github.joabsonlg.pdfbuilder.core.FontFallback;
+import io.github.joabsonlg.pdfbuilder.core.TextMeasurer;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Componente para renderização de parágrafos com alinhamento e formatação rica.
+ * <p>
+ * O texto pode conter campos no formato {@code {{nome}}}, substituídos pelos valores
+ * informados em {@link #render(ContentStreamWriter, float, float, float, Map)}. As palavras
+ * são separadas e medidas uma única vez, e as quebras de linha anteriores à linha do
+ * primeiro campo são reaproveitadas entre renderizações com a mesma largura: a cada
+ * renderização, apenas a partir dessa linha o texto é medido e quebrado novamente.
  */
 public final class Paragraph {
+    private static final int MAX_CACHED_WIDTHS = 8;
+
     private final List<StyledText> styledTexts;
     private final TextAlignment alignment;
     private final float lineSpacing;
+    private final Map<Float, Layout> layouts;
+    private volatile Words words;
 
     private Paragraph(Builder builder) {
         this.styledTexts = builder.styledTexts;
         this.alignment = builder.alignment;
         this.lineSpacing = builder.lineSpacing;
+        this.layouts = new ConcurrentHashMap<>();
     }
 
     /**
      * Calcula a altura total necessária para renderizar o parágrafo.
      */
     public float calculateHeight() throws IOException {
-        List<List<StyledText>> lines = breakTextIntoLines(Float.MAX_VALUE);
+        return calculateHeight(Map.of());
+    }
+
+    /**
+     * Calcula a altura total necessária para renderizar o parágrafo com os campos substituídos.
+     *
+     * @param values Valores dos campos, por nome
+     */
+    public float calculateHeight(Map<String, String> values) throws IOException {
+        List<List<Word>> lines = breakTextIntoLines(Float.MAX_VALUE, values);
         return lines.size() * getHeight();
     }
 
     /**
-     * Renderiza o parágrafo no PDPageContentStream respeitando a largura máxima e alinhamento.
+     * Renderiza o parágrafo no ContentStreamWriter respeitando a largura máxima e alinhamento.
      */
-    public float render(PDPageContentStream contentStream, float x, float y, float maxWidth) throws IOException {
-        List<List<StyledText>> lines = breakTextIntoLines(maxWidth);
+    public float render(ContentStreamWriter contentStream, float x, float y, float maxWidth) throws IOException {
+        return render(contentStream, x, y, maxWidth, Map.of());
+    }
+
+    /**
+     * Renderiza o parágrafo substituindo os campos pelos valores informados. Os valores são
+     * separados em palavras como o restante do texto.
+     *
+     * @param contentStream Stream de conteúdo do PDF
+     * @param x Posição X inicial
+     * @param y Posição Y inicial
+     * @param maxWidth Largura máxima disponível
+     * @param values Valores dos campos, por nome
+     * @return Posição Y final após renderizar todo o texto
+     * @throws IOException se houver erro ao renderizar
+     */
+    public float render(ContentStreamWriter contentStream, float x, float y, float maxWidth,
+                        Map<String, String> values) throws IOException {
+        List<List<Word>> lines = breakTextIntoLines(maxWidth, values);
         float currentY = y;
 
-        for (List<StyledText> line : lines) {
+        for (List<Word> line : lines) {
             float startX = calculateStartX(line, x, maxWidth);
             float wordSpacing = calculateWordSpacing(line, maxWidth);
 
             float currentX = startX;
             for (int i = 0; i < line.size(); i++) {
-                StyledText styledText = line.get(i);
-                TextStyle style = styledText.getStyle();
-                String text = styledText.getText();
+                Word word = line.get(i);
+                TextStyle style = word.style;
+                String text = word.text;
 
                 // Configura estilo
                 contentStream.setFont(style.getFont(), style.getFontSize());
@@ -53,25 +94,23 @@ public final class Paragraph {
                 // Renderiza texto
                 contentStream.beginText();
                 contentStream.newLineAtOffset(currentX, currentY);
-                contentStream.showText(text);
+                FontFallback.showText(contentStream, style.getFont(), style.getFallbackFonts(), text, style.getFontSize(), style.isKerning());
                 contentStream.endText();
 
                 // Sublinhado se necessário
                 if (style.isUnderline()) {
-                    float textWidth = getStringWidth(text, style.getFont(), style.getFontSize());
                     contentStream.setLineWidth(style.getUnderlineThickness());
                     contentStream.moveTo(currentX, currentY + style.getUnderlineOffset());
-                    contentStream.lineTo(currentX + textWidth, currentY + style.getUnderlineOffset());
+                    contentStream.lineTo(currentX + word.width, currentY + style.getUnderlineOffset());
                     contentStream.stroke();
                 }
 
                 // Atualiza posição X
-                float advance = getStringWidth(text, style.getFont(), style.getFontSize());
-                currentX += advance;
+                currentX += word.width;
 
                 // Adiciona espaço entre palavras
                 if (i < line.size() - 1) {
-                    currentX += (alignment == TextAlignment.JUSTIFIED ? wordSpacing : getSpaceWidth(style.getFont(), style.getFontSize()));
+                    currentX += (alignment == TextAlignment.JUSTIFIED ? wordSpacing : word.spaceWidth);
                 }
             }
             currentY -= getHeight();
@@ -80,18 +119,16 @@ public final class Paragraph {
         return currentY;
     }
 
-    private float calculateWordSpacing(List<StyledText> line, float maxWidth) throws IOException {
+    private float calculateWordSpacing(List<Word> line, float maxWidth) {
         if (alignment != TextAlignment.JUSTIFIED || line.size() <= 1) {
-            return getSpaceWidth(line.get(0).getStyle().getFont(), line.get(0).getStyle().getFontSize());
+            return line.get(0).spaceWidth;
         }
 
         float totalTextWidth = 0;
         int spaces = line.size() - 1;
 
-        for (StyledText styledText : line) {
-            totalTextWidth += getStringWidth(styledText.getText(),
-                    styledText.getStyle().getFont(),
-                    styledText.getStyle().getFontSize());
+        for (Word word : line) {
+            totalTextWidth += word.width;
         }
 
         float totalSpaceWidth = maxWidth - totalTextWidth;
@@ -99,15 +136,12 @@ public final class Paragraph {
         return totalSpaceWidth / spaces;
     }
 
-    private float calculateStartX(List<StyledText> line, float baseX, float maxWidth) throws IOException {
+    private float calculateStartX(List<Word> line, float baseX, float maxWidth) {
         float lineWidth = 0;
-        float spaceWidth = getSpaceWidth(line.get(0).getStyle().getFont(), line.get(0).getStyle().getFontSize());
+        float spaceWidth = line.get(0).spaceWidth;
 
         for (int i = 0; i < line.size(); i++) {
-            StyledText styledText = line.get(i);
-            lineWidth += getStringWidth(styledText.getText(),
-                    styledText.getStyle().getFont(),
-                    styledText.getStyle().getFontSize());
+            lineWidth += line.get(i).width;
 
             if (i < line.size() - 1) {
                 lineWidth += spaceWidth;
@@ -122,44 +156,100 @@ public final class Paragraph {
         };
     }
 
-    private List<List<StyledText>> breakTextIntoLines(float maxWidth) throws IOException {
-        List<List<StyledText>> lines = new ArrayList<>();
-        List<StyledText> currentLine = new ArrayList<>();
-        float currentWidth = 0;
-
-        for (StyledText styledText : styledTexts) {
-            String[] words = styledText.getText().split("\\s+");
-            TextStyle style = styledText.getStyle();
-
-            for (String word : words) {
-                float wordWidth = getStringWidth(word, style.getFont(), style.getFontSize());
-                float spaceWidth = getSpaceWidth(style.getFont(), style.getFontSize());
+    /**
+     * Quebra o texto em linhas, reaproveitando as linhas anteriores ao primeiro campo e
+     * quebrando novamente, com os valores substituídos, a partir da linha em que ele começa.
+     */
+    private List<List<Word>> breakTextIntoLines(float maxWidth, Map<String, String> values) throws IOException {
+        if (values == null) {
+            throw new IllegalArgumentException("Valores dos campos não podem ser nulos");
+        }
+        Words measured = measureWords();
+        Layout layout = layout(measured, maxWidth);
+        if (measured.firstPlaceholder == measured.list.size()) {
+            return layout.lines;
+        }
 
-                if (currentWidth + wordWidth <= maxWidth || currentLine.isEmpty()) {
-                    currentLine.add(new StyledText(word, style));
-                    currentWidth += wordWidth + spaceWidth;
-                } else {
-                    lines.add(new ArrayList<>(currentLine));
-                    currentLine.clear();
-                    currentLine.add(new StyledText(word, style));
-                    currentWidth = wordWidth + spaceWidth;
+        LineBreaker breaker = new LineBreaker(maxWidth, new ArrayList<>(layout.lines));
+        for (Word word : layout.openLine) {
+            breaker.add(word);
+        }
+        for (int i = measured.firstPlaceholder; i < measured.list.size(); i++) {
+            Word word = measured.list.get(i);
+            String text = word.placeholder ? Placeholders.bind(word.text, values) : word.text;
+            if (text.equals(word.text)) {
+                breaker.add(word);
+                continue;
+            }
+            for (String part : text.split("\\s+")) {
+                if (!part.isEmpty()) {
+                    breaker.add(measure(part, word.style));
                 }
             }
         }
+        return breaker.finish();
+    }
 
-        if (!currentLine.isEmpty()) {
-            lines.add(currentLine);
+    /**
+     * Retorna as quebras de linha das palavras anteriores ao primeiro campo para a largura.
+     */
+    private Layout layout(Words measured, float maxWidth) {
+        Layout layout = layouts.get(maxWidth);
+        if (layout != null) {
+            return layout;
+        }
+        LineBreaker breaker = new LineBreaker(maxWidth, new ArrayList<>());
+        for (int i = 0; i < measured.firstPlaceholder; i++) {
+            breaker.add(measured.list.get(i));
+        }
+        List<List<Word>> lines = breaker.finish();
+        List<Word> openLine = List.of();
+        if (measured.firstPlaceholder < measured.list.size() && !lines.isEmpty()) {
+            // A linha em que o primeiro campo começaria ainda pode receber outras palavras
+            openLine = lines.remove(lines.size() - 1);
+        }
+        layout = new Layout(List.copyOf(lines), openLine);
+        if (layouts.size() >= MAX_CACHED_WIDTHS) {
+            layouts.clear();
         }
+        layouts.put(maxWidth, layout);
+        return layout;
+    }
 
-        return lines;
+    /**
+     * Separa e mede as palavras de todos os trechos uma única vez.
+     */
+    private Words measureWords() throws IOException {
+        Words measured = words;
+        if (measured == null) {
+            List<Word> list = new ArrayList<>();
+            int firstPlaceholder = -1;
+            for (StyledText styledText : styledTexts) {
+                for (String text : styledText.getText().split("\\s+")) {
+                    Word word = measure(text, styledText.getStyle());
+                    if (word.placeholder && firstPlaceholder < 0) {
+                        firstPlaceholder = list.size();
+                    }
+                    list.add(word);
+                }
+            }
+            measured = new Words(List.copyOf(list), firstPlaceholder < 0 ? list.size() : firstPlaceholder);
+            words = measured;
+        }
+        return measured;
     }
 
-    private float getStringWidth(String str, PDFont font, float fontSize) throws IOException {
-        return font.getStringWidth(str) / 1000 * fontSize;
+    private Word measure(String text, TextStyle style) throws IOException {
+        return new Word(text, style, getStringWidth(text, style), getSpaceWidth(style.getFont(), style.getFontSize()),
+                Placeholders.indexOf(text) >= 0);
+    }
+
+    private float getStringWidth(String str, TextStyle style) throws IOException {
+        return FontFallback.getStringWidth(style.getFont(), style.getFallbackFonts(), str, style.getFontSize(), style.isKerning());
     }
 
     private float getSpaceWidth(PDFont font, float fontSize) throws IOException {
-        return font.getSpaceWidth() / 1000 * fontSize;
+        return TextMeasurer.getSpaceWidth(font, fontSize);
     }
 
     public float getHeight() {
@@ -173,6 +263,85 @@ public final class Paragraph {
         return new Builder();
     }
 
+    /**
+     * Palavra medida com o estilo do seu trecho.
+     */
+    private static final class Word {
+        private final String text;
+        private final TextStyle style;
+        private final float width;
+        private final float spaceWidth;
+        private final boolean placeholder;
+
+        private Word(String text, TextStyle style, float width, float spaceWidth, boolean placeholder) {
+            this.text = text;
+            this.style = style;
+            this.width = width;
+            this.spaceWidth = spaceWidth;
+            this.placeholder = placeholder;
+        }
+    }
+
+    /**
+     * Palavras do parágrafo e a posição da primeira que contém um campo.
+     */
+    private static final class Words {
+        private final List<Word> list;
+        private final int firstPlaceholder;
+
+        private Words(List<Word> list, int firstPlaceholder) {
+            this.list = list;
+            this.firstPlaceholder = firstPlaceholder;
+        }
+    }
+
+    /**
+     * Linhas completas anteriores ao primeiro campo e as palavras da linha em que ele começa.
+     */
+    private static final class Layout {
+        private final List<List<Word>> lines;
+        private final List<Word> openLine;
+
+        private Layout(List<List<Word>> lines, List<Word> openLine) {
+            this.lines = lines;
+            this.openLine = openLine;
+        }
+    }
+
+    /**
+     * Quebra de linhas gulosa: cada palavra entra na linha atual se couber na largura.
+     */
+    private static final class LineBreaker {
+        private final float maxWidth;
+        private final List<List<Word>> lines;
+        private List<Word> currentLine = new ArrayList<>();
+        private float currentWidth;
+
+        private LineBreaker(float maxWidth, List<List<Word>> lines) {
+            this.maxWidth = maxWidth;
+            this.lines = lines;
+        }
+
+        private void add(Word word) {
+            if (currentWidth + word.width <= maxWidth || currentLine.isEmpty()) {
+                currentLine.add(word);
+                currentWidth += word.width + word.spaceWidth;
+            } else {
+                lines.add(List.copyOf(currentLine));
+                currentLine = new ArrayList<>();
+                currentLine.add(word);
+                currentWidth = word.width + word.spaceWidth;
+            }
+        }
+
+        private List<List<Word>> finish() {
+            if (!currentLine.isEmpty()) {
+                lines.add(List.copyOf(currentLine));
+            }
+            return lines;
+        }
+    }
+
     public static class Builder {
         private List<StyledText> styledTexts = new ArrayList<>();
         private TextAlignment alignment = TextAlignment.LEFT;
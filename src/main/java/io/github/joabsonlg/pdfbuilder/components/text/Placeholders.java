@@ -0,0 +1,58 @@
+package io.github.joabsonlg.pdfbuilder.components.text;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Campos no formato {@code {{nome}}} dentro do texto dos componentes, substituídos pelos
+ * valores informados na renderização. Campos sem valor permanecem como escritos.
+ */
+final class Placeholders {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{([\\w.-]+)}}");
+
+    private Placeholders() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Retorna a posição do primeiro campo do texto.
+     *
+     * @return Índice do primeiro campo, ou -1 se o texto não tiver campos
+     */
+    static int indexOf(String text) {
+        if (text.indexOf("{{") < 0) {
+            return -1;
+        }
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        return matcher.find() ? matcher.start() : -1;
+    }
+
+    /**
+     * Substitui os campos do texto pelos valores informados.
+     *
+     * @param text Texto com campos
+     * @param values Valores dos campos, por nome
+     * @return Texto com os campos substituídos
+     */
+    static String bind(String text, Map<String, String> values) {
+        if (values.isEmpty() || text.indexOf("{{") < 0) {
+            return text;
+        }
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        StringBuilder result = null;
+        int last = 0;
+        while (matcher.find()) {
+            String value = values.get(matcher.group(1));
+            if (value == null) {
+                continue;
+            }
+            if (result == null) {
+                result = new StringBuilder(text.length() + value.length());
+            }
+            result.append(text, last, matcher.start()).append(value);
+            last = matcher.end();
+        }
+        return result == null ? text : result.append(text, last, text.length()).toString();
+    }
+}
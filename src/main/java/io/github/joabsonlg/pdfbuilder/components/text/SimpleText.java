@@ -1,22 +1,34 @@
 package io.github.joabsonlg.pdfbuilder.components.text;
 
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import io.github.joabsonlg.pdfbuilder.core.ContentStreamWriter;
+import io.github.joabsonlg.pdfbuilder.core.TextMeasurer;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 
 import java.awt.*;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Componente para renderização de texto simples.
+ * <p>
+ * O texto pode conter campos no formato {@code {{nome}}}, substituídos na renderização. As
+ * linhas anteriores à linha em que começa o primeiro campo são guardadas por largura e
+ * reaproveitadas, e apenas o restante do texto é quebrado novamente a cada renderização.
  */
 public final class SimpleText {
+    private static final int MAX_CACHED_WIDTHS = 8;
+
     private final String text;
     private final PDFont font;
     private final float fontSize;
     private final float lineSpacing;
     private final Color color;
+    // Início da palavra que contém o primeiro campo, ou -1 se o texto não tiver campos
+    private final int placeholderStart;
+    private final Map<Float, Layout> layouts;
 
     private SimpleText(String text, PDFont font, float fontSize, float lineSpacing, Color color) {
         this.text = text;
@@ -24,20 +36,38 @@ public final class SimpleText {
         this.fontSize = fontSize;
         this.lineSpacing = lineSpacing;
         this.color = color;
+        this.placeholderStart = wordStart(text, Placeholders.indexOf(text));
+        this.layouts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Renderiza o texto no ContentStreamWriter respeitando a largura máxima.
+     *
+     * @param contentStream Stream de conteúdo do PDF
+     * @param x             Posição X inicial
+     * @param y             Posição Y inicial
+     * @param maxWidth      Largura máxima disponível
+     * @return Posição Y final após renderizar todo o texto
+     * @throws IOException se houver erro ao renderizar
+     */
+    public float render(ContentStreamWriter contentStream, float x, float y, float maxWidth) throws IOException {
+        return render(contentStream, x, y, maxWidth, Map.of());
     }
 
     /**
-     * Renderiza o texto no PDPageContentStream respeitando a largura máxima.
+     * Renderiza o texto substituindo os campos pelos valores informados.
      *
      * @param contentStream Stream de conteúdo do PDF
      * @param x             Posição X inicial
      * @param y             Posição Y inicial
      * @param maxWidth      Largura máxima disponível
+     * @param values        Valores dos campos, por nome
      * @return Posição Y final após renderizar todo o texto
      * @throws IOException se houver erro ao renderizar
      */
-    public float render(PDPageContentStream contentStream, float x, float y, float maxWidth) throws IOException {
-        List<String> lines = breakTextIntoLines(maxWidth);
+    public float render(ContentStreamWriter contentStream, float x, float y, float maxWidth,
+                        Map<String, String> values) throws IOException {
+        List<String> lines = breakTextIntoLines(maxWidth, values);
         float currentY = y;
 
         contentStream.setFont(font, fontSize);
@@ -56,14 +86,65 @@ public final class SimpleText {
         return currentY;
     }
 
+    /**
+     * Quebra o texto em linhas com os campos substituídos. As linhas anteriores à linha em
+     * que começa o primeiro campo vêm do cache; a quebra é refeita a partir dessa linha.
+     *
+     * @param maxWidth Largura máxima disponível
+     * @param values Valores dos campos, por nome
+     * @return Lista de linhas
+     * @throws IOException se houver erro no cálculo
+     */
+    private List<String> breakTextIntoLines(float maxWidth, Map<String, String> values) throws IOException {
+        if (values == null) {
+            throw new IllegalArgumentException("Valores dos campos não podem ser nulos");
+        }
+        Layout layout = layouts.get(maxWidth);
+        if (layout == null) {
+            layout = layout(maxWidth);
+        }
+        if (placeholderStart < 0) {
+            return layout.lines;
+        }
+        String rest = Placeholders.bind(text.substring(placeholderStart), values);
+        List<String> lines = new ArrayList<>(layout.lines);
+        lines.addAll(breakTextIntoLines(layout.openLine != null ? layout.openLine + " " + rest : rest, maxWidth));
+        return lines;
+    }
+
+    private Layout layout(float maxWidth) throws IOException {
+        Layout layout;
+        if (placeholderStart < 0) {
+            layout = new Layout(List.copyOf(breakTextIntoLines(text, maxWidth)), null);
+        } else {
+            List<String> lines = breakTextIntoLines(text.substring(0, placeholderStart), maxWidth);
+            // A última linha antes do campo ainda pode receber as palavras seguintes
+            String openLine = lines.isEmpty() ? null : lines.remove(lines.size() - 1);
+            layout = new Layout(List.copyOf(lines), openLine);
+        }
+        if (layouts.size() >= MAX_CACHED_WIDTHS) {
+            layouts.clear();
+        }
+        layouts.put(maxWidth, layout);
+        return layout;
+    }
+
     /**
      * Quebra o texto em linhas respeitando a largura máxima.
      *
+     * @param text Texto a quebrar
      * @param maxWidth Largura máxima disponível
      * @return Lista de linhas
      * @throws IOException se houver erro no cálculo
      */
-    private List<String> breakTextIntoLines(float maxWidth) throws IOException {
+    private List<String> breakTextIntoLines(String text, float maxWidth) throws IOException {
+        float advance = TextMeasurer.getFixedPitchAdvance(font);
+        if (advance >= 0) {
+            List<String> lines = breakFixedPitchText(text, advance, maxWidth);
+            if (lines != null) {
+                return lines;
+            }
+        }
         List<String> lines = new ArrayList<>();
         String[] words = text.split("\\s+");
         StringBuilder currentLine = new StringBuilder();
@@ -95,11 +176,86 @@ public final class SimpleText {
         return lines;
     }
 
+    /**
+     * Quebra o texto em linhas para fontes de largura fixa, comparando contagens de
+     * caracteres em vez de medir cada linha candidata. Produz as mesmas linhas que
+     * a quebra por medição.
+     *
+     * @param text Texto a quebrar
+     * @param advance Avanço comum dos caracteres em unidades de glifo
+     * @param maxWidth Largura máxima disponível
+     * @return Lista de linhas, ou null se alguma palavra tiver caracteres com outra largura
+     */
+    private List<String> breakFixedPitchText(String text, float advance, float maxWidth) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder currentLine = new StringBuilder();
+        int length = text.length();
+        int index = 0;
+
+        while (index < length) {
+            while (index < length && isWhitespace(text.charAt(index))) {
+                index++;
+            }
+            int wordStart = index;
+            while (index < length && !isWhitespace(text.charAt(index))) {
+                index++;
+            }
+            if (wordStart == index) {
+                break;
+            }
+            if (!TextMeasurer.isFixedPitch(font, text, wordStart, index)) {
+                return null;
+            }
+
+            int testLength = currentLine.length() > 0
+                    ? currentLine.length() + 1 + index - wordStart
+                    : index - wordStart;
+
+            if (testLength * advance / 1000 * fontSize <= maxWidth) {
+                if (currentLine.length() > 0) {
+                    currentLine.append(' ');
+                }
+                currentLine.append(text, wordStart, index);
+            } else if (currentLine.length() > 0) {
+                lines.add(currentLine.toString());
+                currentLine.setLength(0);
+                currentLine.append(text, wordStart, index);
+            } else {
+                // Palavra única maior que maxWidth, força quebra
+                lines.add(text.substring(wordStart, index));
+            }
+        }
+
+        if (currentLine.length() > 0) {
+            lines.add(currentLine.toString());
+        }
+
+        return lines;
+    }
+
+    /**
+     * Retorna o início da palavra que contém a posição informada.
+     */
+    private static int wordStart(String text, int index) {
+        int start = index;
+        while (start > 0 && !isWhitespace(text.charAt(start - 1))) {
+            start--;
+        }
+        return start;
+    }
+
+    /**
+     * Separadores de palavras equivalentes à classe {@code \s} das expressões regulares.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
     /**
      * Calcula a largura de uma string específica com a fonte atual.
      */
     private float getStringWidth(String str) throws IOException {
-        return font.getStringWidth(str) / 1000 * fontSize;
+        return TextMeasurer.getStringWidth(font, str, fontSize);
     }
 
     /**
@@ -111,6 +267,19 @@ public final class SimpleText {
         return fontSize * lineSpacing;
     }
 
+    /**
+     * Linhas completas anteriores ao primeiro campo e a linha em que ele começa.
+     */
+    private static final class Layout {
+        private final List<String> lines;
+        private final String openLine;
+
+        private Layout(List<String> lines, String openLine) {
+            this.lines = lines;
+            this.openLine = openLine;
+        }
+    }
+
     /**
      * Builder para criar instâncias de SimpleText.
      */
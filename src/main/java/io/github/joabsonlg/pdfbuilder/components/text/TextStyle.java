@@ -3,6 +3,8 @@ package io.github.joabsonlg.pdfbuilder.components.text;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 
 import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Define o estilo de formatação para um trecho de texto.
@@ -14,6 +16,8 @@ public final class TextStyle {
     private final boolean underline;
     private final float underlineThickness;
     private final float underlineOffset;
+    private final List<PDFont> fallbackFonts;
+    private final boolean kerning;
 
     private TextStyle(Builder builder) {
         this.font = builder.font;
@@ -22,6 +26,8 @@ public final class TextStyle {
         this.underline = builder.underline;
         this.underlineThickness = builder.underlineThickness;
         this.underlineOffset = builder.underlineOffset;
+        this.fallbackFonts = builder.fallbackFonts;
+        this.kerning = builder.kerning;
     }
 
     public PDFont getFont() {
@@ -48,6 +54,20 @@ public final class TextStyle {
         return underlineOffset;
     }
 
+    /**
+     * Retorna as fontes usadas, em ordem, para os caracteres ausentes na fonte principal.
+     */
+    public List<PDFont> getFallbackFonts() {
+        return fallbackFonts;
+    }
+
+    /**
+     * Indica se o kerning da fonte é aplicado na medição e na escrita do texto.
+     */
+    public boolean isKerning() {
+        return kerning;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -59,6 +79,8 @@ public final class TextStyle {
         private boolean underline = false;
         private float underlineThickness = 0.5f;
         private float underlineOffset = -2.5f;
+        private List<PDFont> fallbackFonts = List.of();
+        private boolean kerning = false;
 
         public Builder withFont(PDFont font) {
             this.font = font;
@@ -90,6 +112,22 @@ public final class TextStyle {
             return this;
         }
 
+        /**
+         * Define a cadeia de fontes alternativas para caracteres ausentes na fonte principal.
+         */
+        public Builder withFallbackFonts(PDFont... fonts) {
+            this.fallbackFonts = List.copyOf(Arrays.asList(fonts));
+            return this;
+        }
+
+        /**
+         * Ativa ou desativa o kerning entre pares de caracteres.
+         */
+        public Builder withKerning(boolean kerning) {
+            this.kerning = kerning;
+            return this;
+        }
+
         public TextStyle build() {
             if (font == null) {
                 throw new IllegalStateException("Font must be set");
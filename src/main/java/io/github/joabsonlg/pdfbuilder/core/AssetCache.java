@@ -0,0 +1,220 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache global de imagens já codificadas, compartilhado entre documentos.
+ * <p>
+ * Para cada conteúdo de arquivo de imagem, guarda o dicionário e os bytes codificados do
+ * XObject gerado pelo PDFBox. Documentos seguintes que usam o mesmo arquivo, como logos e
+ * marcas d'água, importam uma cópia desses dados sem decodificar nem recodificar a imagem.
+ * O cache é limitado pelo total de bytes guardados e descarta primeiro as entradas usadas
+ * há mais tempo.
+ */
+public final class AssetCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssetCache.class);
+
+    /** Tamanho máximo padrão do cache, em bytes. */
+    public static final long DEFAULT_MAX_SIZE = 32L * 1024 * 1024;
+
+    /** Fração do tamanho máximo que uma única entrada pode ocupar. */
+    private static final int MAX_ENTRY_FRACTION = 8;
+
+    private static final Map<ContentKey, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static long maxSize = DEFAULT_MAX_SIZE;
+    private static long size;
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+
+    private AssetCache() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Define o total de bytes que o cache pode guardar, descartando entradas se necessário.
+     * Imagens maiores que um oitavo desse total não são guardadas. Zero desativa o cache.
+     *
+     * @param bytes Tamanho máximo em bytes
+     * @throws IllegalArgumentException se o tamanho for negativo
+     */
+    public static synchronized void setMaxSize(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Tamanho máximo não pode ser negativo");
+        }
+        maxSize = bytes;
+        evict();
+    }
+
+    /**
+     * Retorna o total de bytes que o cache pode guardar.
+     */
+    public static synchronized long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Retorna as estatísticas de uso do cache.
+     */
+    public static synchronized Statistics getStatistics() {
+        return new Statistics(hits, misses, evictions, ENTRIES.size(), size);
+    }
+
+    /**
+     * Descarta todas as entradas e zera as estatísticas.
+     */
+    public static synchronized void clear() {
+        ENTRIES.clear();
+        size = 0;
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Importa a imagem guardada para o conteúdo informado.
+     *
+     * @param key Conteúdo do arquivo de imagem
+     * @return Cópia independente do XObject guardado, ou null se o conteúdo não estiver no cache
+     * @throws IOException se houver erro ao copiar os dados da imagem
+     */
+    static synchronized PDImageXObject get(ContentKey key) throws IOException {
+        Entry entry = ENTRIES.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return new PDImageXObject(new PDStream((COSStream) CosCopy.copy(entry.stream)), null);
+    }
+
+    /**
+     * Guarda os dados codificados da imagem gerada para o conteúdo informado.
+     *
+     * @param key Conteúdo do arquivo de imagem
+     * @param image XObject gerado a partir do conteúdo
+     * @throws IOException se houver erro ao ler os dados da imagem
+     */
+    static synchronized void put(ContentKey key, PDImageXObject image) throws IOException {
+        if (ENTRIES.containsKey(key) || key.length() > maxSize / MAX_ENTRY_FRACTION) {
+            return;
+        }
+        COSStream stream = (COSStream) CosCopy.copy(image.getCOSObject());
+        long entrySize = key.length() + encodedSize(stream);
+        if (entrySize > maxSize / MAX_ENTRY_FRACTION) {
+            return;
+        }
+        ENTRIES.put(key, new Entry(stream, entrySize));
+        size += entrySize;
+        evict();
+        LOGGER.debug("Imagem guardada no cache de recursos ({} bytes, {} entradas)", entrySize, ENTRIES.size());
+    }
+
+    private static void evict() {
+        Iterator<Entry> iterator = ENTRIES.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().size;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private static long encodedSize(COSBase base) {
+        long total = 0;
+        if (base instanceof COSStream stream) {
+            total += stream.getLength();
+        }
+        if (base instanceof COSDictionary dictionary) {
+            for (COSBase value : dictionary.getValues()) {
+                total += encodedSize(value);
+            }
+        } else if (base instanceof COSArray array) {
+            for (COSBase value : array) {
+                total += encodedSize(value);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Dados codificados de uma imagem guardada.
+     */
+    private static final class Entry {
+        private final COSStream stream;
+        private final long size;
+
+        private Entry(COSStream stream, long size) {
+            this.stream = stream;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Estatísticas de uso do cache em um determinado momento.
+     */
+    public static final class Statistics {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int entryCount;
+        private final long size;
+
+        Statistics(long hits, long misses, long evictions, int entryCount, long size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.entryCount = entryCount;
+            this.size = size;
+        }
+
+        /** Retorna o número de imagens importadas do cache. */
+        public long getHits() {
+            return hits;
+        }
+
+        /** Retorna o número de consultas a imagens que não estavam no cache. */
+        public long getMisses() {
+            return misses;
+        }
+
+        /** Retorna o número de entradas descartadas para respeitar o tamanho máximo. */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /** Retorna o número de imagens guardadas. */
+        public int getEntryCount() {
+            return entryCount;
+        }
+
+        /** Retorna o total de bytes guardados. */
+        public long getSize() {
+            return size;
+        }
+
+        /** Retorna a fração das consultas atendidas pelo cache, entre 0 e 1. */
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("AssetCache[hits=%d, misses=%d, evictions=%d, entries=%d, size=%d]",
+                    hits, misses, evictions, entryCount, size);
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Geração de documentos em lote, um documento por registro.
+ * <p>
+ * Os registros são lidos da fonte à medida que há capacidade livre, e cada documento é
+ * gerado em uma thread própria: virtual, quando a plataforma oferece, ou de um pool fixo
+ * com o tamanho da concorrência máxima. Além do número de documentos simultâneos, a
+ * concorrência é limitada por um orçamento de memória, do qual cada documento reserva a
+ * estimativa do seu registro até terminar. A leitura da fonte aguarda enquanto não houver
+ * capacidade, de modo que lotes com centenas de milhares de registros não são carregados
+ * de uma vez.
+ * <p>
+ * Com um {@link DocumentTemplate}, cada documento é criado a partir do modelo, com os
+ * campos preenchidos a partir do registro, e a função de geração adiciona apenas o
+ * conteúdo variável.
+ * <p>
+ * Erros de um documento não interrompem o lote: são registrados no resultado, com o tempo
+ * de geração de cada documento.
+ *
+ * <pre>{@code
+ * BatchResult result = BatchGenerator.<Statement>builder()
+ *         .withRenderer((statement, builder) -> builder.addParagraph(...))
+ *         .withSink(statement -> Files.newOutputStream(dir.resolve(statement.id() + ".pdf")))
+ *         .withMemoryBudget(512L << 20)
+ *         .build()
+ *         .generate(statements);
+ * }</pre>
+ *
+ * @param <R> Tipo dos registros
+ */
+public final class BatchGenerator<R> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchGenerator.class);
+    private static final Method VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+    /** Estimativa padrão de memória de um documento em geração. */
+    public static final long DEFAULT_DOCUMENT_MEMORY = 16L << 20;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PDFConfiguration configuration;
+    private final DocumentTemplate template;
+    private final Function<? super R, Map<String, String>> slotValues;
+    private final Renderer<R> renderer;
+    private final Sink<R> sink;
+    private final int maxConcurrency;
+    private final long memoryBudget;
+    private final ToLongFunction<R> memoryEstimate;
+    private final boolean virtualThreads;
+
+    private BatchGenerator(Builder<R> builder) {
+        this.configuration = builder.configuration;
+        this.template = builder.template;
+        this.slotValues = builder.slotValues;
+        this.renderer = builder.renderer;
+        this.sink = builder.sink;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.memoryBudget = builder.memoryBudget;
+        this.memoryEstimate = builder.memoryEstimate;
+        this.virtualThreads = builder.virtualThreads;
+    }
+
+    /**
+     * Cria um builder para o gerador de lotes.
+     */
+    public static <R> Builder<R> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Gera um documento para cada registro da fonte, aguardando a conclusão de todos.
+     *
+     * @param records Fonte dos registros, percorrida uma única vez
+     * @return Resultado do lote, com o tempo e o erro de cada documento
+     * @throws InterruptedException se a thread for interrompida aguardando capacidade livre
+     */
+    public BatchResult generate(Iterable<? extends R> records) throws InterruptedException {
+        // O orçamento é contado em KiB para caber nas permissões do semáforo
+        int budget = (int) Math.min(Integer.MAX_VALUE, Math.max(1, memoryBudget >> 10));
+        Semaphore slots = new Semaphore(maxConcurrency);
+        Semaphore memory = new Semaphore(budget);
+        List<BatchResult.Document> documents = new ArrayList<>();
+        long start = System.nanoTime();
+        ExecutorService executor = createExecutor();
+        try {
+            long index = 0;
+            for (R record : records) {
+                int reserved = (int) Math.min(budget, Math.max(1, memoryEstimate.applyAsLong(record) >> 10));
+                slots.acquire();
+                try {
+                    memory.acquire(reserved);
+                } catch (InterruptedException e) {
+                    slots.release();
+                    throw e;
+                }
+                long recordIndex = index++;
+                try {
+                    executor.execute(() -> {
+                        try {
+                            BatchResult.Document document = generate(recordIndex, record);
+                            synchronized (documents) {
+                                documents.add(document);
+                            }
+                        } finally {
+                            memory.release(reserved);
+                            slots.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    memory.release(reserved);
+                    slots.release();
+                    throw e;
+                }
+            }
+        } finally {
+            executor.shutdown();
+            // Documentos já iniciados terminam mesmo se a leitura da fonte falhar
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.debug("Aguardando documentos do lote em geração");
+            }
+        }
+        documents.sort(Comparator.comparingLong(BatchResult.Document::getIndex));
+        BatchResult result = new BatchResult(documents, System.nanoTime() - start);
+        LOGGER.debug("Lote de {} documentos gerado em {} ms, {} com erro",
+                documents.size(), result.getElapsed().toMillis(), result.getFailed().size());
+        return result;
+    }
+
+    private BatchResult.Document generate(long index, R record) {
+        long start = System.nanoTime();
+        CountingOutputStream counter = null;
+        PDFBuilder builder = null;
+        try {
+            builder = template != null
+                    ? template.newDocument(slotValues.apply(record))
+                    : PDFBuilder.create(configuration);
+            if (renderer != null) {
+                renderer.render(record, builder);
+            }
+            try (OutputStream out = sink.open(record)) {
+                if (out == null) {
+                    throw new IOException("Destino nulo para o registro " + index);
+                }
+                counter = new CountingOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+                builder.saveToOutputStream(counter);
+                counter.flush();
+            }
+            builder = null;
+            return new BatchResult.Document(index, System.nanoTime() - start, counter.count, null);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Erro ao gerar o documento do registro {}: {}", index, e.getMessage());
+            return new BatchResult.Document(index, System.nanoTime() - start,
+                    counter != null ? counter.count : 0, e);
+        } finally {
+            if (builder != null) {
+                closeQuietly(builder);
+            }
+        }
+    }
+
+    private static void closeQuietly(PDFBuilder builder) {
+        try {
+            builder.close();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Erro ao fechar documento com falha: {}", e.getMessage());
+        }
+    }
+
+    private ExecutorService createExecutor() {
+        if (virtualThreads && VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                LOGGER.debug("Threads virtuais indisponíveis: {}", e.getMessage());
+            }
+        }
+        AtomicInteger threads = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "pdf-batch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(maxConcurrency, factory);
+    }
+
+    /**
+     * Localiza a fábrica de executores de threads virtuais, disponível a partir do Java 21.
+     * Em versões anteriores, o lote usa um pool fixo de threads.
+     */
+    private static Method findVirtualThreadExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            LOGGER.debug("Threads virtuais indisponíveis nesta versão do Java");
+            return null;
+        }
+    }
+
+    /**
+     * Preenche o documento de um registro.
+     *
+     * @param <R> Tipo dos registros
+     */
+    @FunctionalInterface
+    public interface Renderer<R> {
+        /**
+         * Adiciona ao builder o conteúdo do registro. O documento é salvo pelo gerador.
+         *
+         * @param record Registro do documento
+         * @param builder Builder exclusivo do documento
+         * @throws IOException se houver erro ao gerar o conteúdo
+         */
+        void render(R record, PDFBuilder builder) throws IOException;
+    }
+
+    /**
+     * Destino do documento de um registro.
+     *
+     * @param <R> Tipo dos registros
+     */
+    @FunctionalInterface
+    public interface Sink<R> {
+        /**
+         * Abre o stream que receberá o documento do registro. O stream é fechado pelo gerador.
+         *
+         * @param record Registro do documento
+         * @return Stream de destino
+         * @throws IOException se houver erro ao abrir o destino
+         */
+        OutputStream open(R record) throws IOException;
+    }
+
+    /**
+     * Stream que conta os bytes gravados.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    public static final class Builder<R> {
+        private PDFConfiguration configuration = PDFConfiguration.create().build();
+        private DocumentTemplate template;
+        private Function<? super R, Map<String, String>> slotValues;
+        private Renderer<R> renderer;
+        private Sink<R> sink;
+        private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+        private long memoryBudget = Runtime.getRuntime().maxMemory() / 2;
+        private ToLongFunction<R> memoryEstimate = record -> DEFAULT_DOCUMENT_MEMORY;
+        private boolean virtualThreads = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Define a configuração usada em todos os documentos.
+         */
+        public Builder<R> withConfiguration(PDFConfiguration configuration) {
+            if (configuration == null) {
+                throw new IllegalArgumentException("Configuração não pode ser nula");
+            }
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * Cria os documentos a partir do modelo, que substitui a configuração definida por
+         * {@link #withConfiguration(PDFConfiguration)}. Com um modelo, a função de geração é
+         * opcional.
+         *
+         * @param template Modelo dos documentos
+         * @param slotValues Valores dos campos do modelo para cada registro
+         */
+        public Builder<R> withTemplate(DocumentTemplate template, Function<? super R, Map<String, String>> slotValues) {
+            if (template == null || slotValues == null) {
+                throw new IllegalArgumentException("Modelo e valores dos campos não podem ser nulos");
+            }
+            this.template = template;
+            this.slotValues = slotValues;
+            return this;
+        }
+
+        /**
+         * Define a função que preenche o documento de cada registro.
+         */
+        public Builder<R> withRenderer(Renderer<R> renderer) {
+            this.renderer = renderer;
+            return this;
+        }
+
+        /**
+         * Define o destino do documento de cada registro.
+         */
+        public Builder<R> withSink(Sink<R> sink) {
+            this.sink = sink;
+            return this;
+        }
+
+        /**
+         * Define o número máximo de documentos gerados simultaneamente. O padrão é o número
+         * de processadores.
+         */
+        public Builder<R> withMaxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("Concorrência máxima deve ser positiva");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Define a memória, em bytes, disponível para os documentos em geração. O padrão é
+         * metade da memória máxima da JVM.
+         */
+        public Builder<R> withMemoryBudget(long bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("Orçamento de memória deve ser positivo");
+            }
+            this.memoryBudget = bytes;
+            return this;
+        }
+
+        /**
+         * Define a estimativa de memória, em bytes, do documento de cada registro. Um
+         * documento com estimativa acima do orçamento é gerado sozinho. O padrão é
+         * 16 MiB por documento.
+         */
+        public Builder<R> withMemoryEstimate(ToLongFunction<R> estimate) {
+            if (estimate == null) {
+                throw new IllegalArgumentException("Estimativa de memória não pode ser nula");
+            }
+            this.memoryEstimate = estimate;
+            return this;
+        }
+
+        /**
+         * Define se os documentos são gerados em threads virtuais, quando disponíveis. Com
+         * false, ou em versões do Java sem threads virtuais, usa um pool fixo de threads.
+         */
+        public Builder<R> withVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Cria o gerador de lotes.
+         *
+         * @throws IllegalStateException se a função de geração, sem modelo, ou o destino não forem definidos
+         */
+        public BatchGenerator<R> build() {
+            if (renderer == null && template == null) {
+                throw new IllegalStateException("Função de geração dos documentos não definida");
+            }
+            if (sink == null) {
+                throw new IllegalStateException("Destino dos documentos não definido");
+            }
+            return new BatchGenerator<>(this);
+        }
+    }
+}
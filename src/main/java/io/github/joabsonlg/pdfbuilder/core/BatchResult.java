@@ -0,0 +1,105 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado da geração de um lote pelo {@link BatchGenerator}.
+ */
+public final class BatchResult {
+    private final List<Document> documents;
+    private final long elapsedNanos;
+
+    BatchResult(List<Document> documents, long elapsedNanos) {
+        this.documents = Collections.unmodifiableList(new ArrayList<>(documents));
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Retorna o resultado de cada documento, na ordem dos registros.
+     */
+    public List<Document> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * Retorna os documentos que não puderam ser gerados.
+     */
+    public List<Document> getFailed() {
+        List<Document> failed = new ArrayList<>();
+        for (Document document : documents) {
+            if (!document.isSuccessful()) {
+                failed.add(document);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Retorna o tempo total do lote.
+     */
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    /**
+     * Retorna o número de documentos gerados por segundo.
+     */
+    public double getThroughput() {
+        return elapsedNanos > 0 ? documents.size() * 1e9 / elapsedNanos : 0;
+    }
+
+    /**
+     * Resultado da geração do documento de um registro.
+     */
+    public static final class Document {
+        private final long index;
+        private final long elapsedNanos;
+        private final long size;
+        private final Exception error;
+
+        Document(long index, long elapsedNanos, long size, Exception error) {
+            this.index = index;
+            this.elapsedNanos = elapsedNanos;
+            this.size = size;
+            this.error = error;
+        }
+
+        /**
+         * Retorna a posição do registro na fonte, a partir de zero.
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * Retorna o tempo de geração do documento, da criação até o fim da gravação.
+         */
+        public Duration getElapsed() {
+            return Duration.ofNanos(elapsedNanos);
+        }
+
+        /**
+         * Retorna o número de bytes gravados no destino.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Retorna o erro que impediu a geração, ou null se o documento foi gerado.
+         */
+        public Exception getError() {
+            return error;
+        }
+
+        /**
+         * Indica se o documento foi gerado.
+         */
+        public boolean isSuccessful() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Hash de 64 bits para identificar conteúdos binários repetidos.
+ * <p>
+ * Processa o conteúdo em blocos de 8 bytes, no estilo do xxHash64 com uma única via.
+ * Não é criptográfico: iguais hashes apenas indicam candidatos, que devem ser confirmados
+ * pela comparação dos bytes.
+ */
+final class ContentHash {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+    private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME_5 = 0x27D4EB2F165667C5L;
+
+    private ContentHash() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Calcula o hash de 64 bits do conteúdo.
+     *
+     * @param content Bytes a serem processados
+     * @return Hash do conteúdo
+     */
+    static long of(byte[] content) {
+        long hash = PRIME_5 + content.length;
+        int i = 0;
+        for (; i + Long.BYTES <= content.length; i += Long.BYTES) {
+            long block = (long) LONGS.get(content, i) * PRIME_2;
+            hash ^= Long.rotateLeft(block, 31) * PRIME_1;
+            hash = Long.rotateLeft(hash, 27) * PRIME_1 + PRIME_4;
+        }
+        for (; i < content.length; i++) {
+            hash ^= (content[i] & 0xFFL) * PRIME_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME_1;
+        }
+        hash ^= hash >>> 33;
+        hash *= PRIME_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME_3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import java.util.Arrays;
+
+/**
+ * Chave de mapa baseada no conteúdo binário.
+ * <p>
+ * O hash de 64 bits de {@link ContentHash} é calculado uma única vez; a igualdade compara
+ * primeiro os hashes e só então os bytes, de modo que colisões nunca identificam conteúdos
+ * diferentes como iguais.
+ */
+final class ContentKey {
+    private final byte[] content;
+    private final long hash;
+
+    ContentKey(byte[] content) {
+        this.content = content;
+        this.hash = ContentHash.of(content);
+    }
+
+    /**
+     * Retorna o conteúdo, sem cópia.
+     */
+    byte[] content() {
+        return content;
+    }
+
+    /**
+     * Retorna o tamanho do conteúdo em bytes.
+     */
+    int length() {
+        return content.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ContentKey key)) {
+            return false;
+        }
+        return hash == key.hash && Arrays.equals(content, key.content);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
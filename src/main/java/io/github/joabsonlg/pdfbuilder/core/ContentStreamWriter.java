@@ -0,0 +1,351 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDInlineImage;
+import org.apache.pdfbox.util.Matrix;
+
+import java.awt.Color;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Envoltório de {@link PDPageContentStream} que acompanha o estado gráfico corrente
+ * (fonte, tamanho, cores, espessura de linha e matriz de texto) e descarta operadores
+ * que não alteram nada.
+ * <p>
+ * Blocos de texto consecutivos (ET seguido de BT) são fundidos em um único objeto de texto,
+ * convertendo o posicionamento absoluto de cada bloco em um deslocamento relativo (Td).
+ * Operações de caminho, imagem e salvamento de estado fecham o objeto de texto pendente antes
+ * de serem emitidas.
+ */
+public final class ContentStreamWriter implements Closeable {
+    private final PDPageContentStream delegate;
+    private final Deque<GraphicsState> savedStates;
+    private final Object subsetLock;
+    private GraphicsState state;
+
+    // Estado do objeto de texto
+    private boolean inText;
+    private boolean pendingEndText;
+    private float lineX;
+    private float lineY;
+    private boolean atLineStart;
+    private float logicalLineX;
+    private float logicalLineY;
+    private boolean logicalAtLineStart;
+
+    /**
+     * Cria um novo writer sobre o content stream informado.
+     *
+     * @param delegate Content stream de destino
+     */
+    public ContentStreamWriter(PDPageContentStream delegate) {
+        this(delegate, new Object());
+    }
+
+    /**
+     * Cria um writer que pode ser usado ao mesmo tempo que outros writers do mesmo documento.
+     *
+     * @param delegate Content stream de destino
+     * @param subsetLock Objeto compartilhado pelos writers do documento, que protege o
+     *                   registro de fontes com subconjunto no documento
+     */
+    ContentStreamWriter(PDPageContentStream delegate, Object subsetLock) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Content stream não pode ser nulo");
+        }
+        this.delegate = delegate;
+        this.subsetLock = subsetLock;
+        this.savedStates = new ArrayDeque<>();
+        this.state = new GraphicsState();
+    }
+
+    /**
+     * Inicia um objeto de texto. Se o objeto anterior acabou de ser fechado, ele é reaproveitado.
+     */
+    public void beginText() throws IOException {
+        if (pendingEndText) {
+            pendingEndText = false;
+        } else {
+            delegate.beginText();
+            lineX = 0;
+            lineY = 0;
+            atLineStart = true;
+        }
+        inText = true;
+        logicalLineX = 0;
+        logicalLineY = 0;
+        logicalAtLineStart = true;
+    }
+
+    /**
+     * Finaliza o objeto de texto. O operador ET é adiado até que uma operação
+     * incompatível com objetos de texto seja emitida.
+     */
+    public void endText() throws IOException {
+        requireText("endText");
+        inText = false;
+        pendingEndText = true;
+    }
+
+    /**
+     * Move para o início da próxima linha, deslocada da linha atual.
+     * O operador Td é emitido apenas quando o texto seguinte for exibido.
+     *
+     * @param tx Deslocamento em X
+     * @param ty Deslocamento em Y
+     */
+    public void newLineAtOffset(float tx, float ty) throws IOException {
+        requireText("newLineAtOffset");
+        logicalLineX += tx;
+        logicalLineY += ty;
+        logicalAtLineStart = true;
+    }
+
+    /**
+     * Exibe o texto na posição atual.
+     *
+     * @param text Texto a ser exibido
+     */
+    public void showText(String text) throws IOException {
+        requireText("showText");
+        syncTextPosition();
+        PDFont font = state.font;
+        if (font == null) {
+            delegate.showText(text);
+        } else {
+            // Fontes padrão são compartilhadas entre documentos e a codificação usa caches internos da fonte
+            synchronized (font) {
+                delegate.showText(text);
+            }
+        }
+        atLineStart = false;
+        logicalAtLineStart = false;
+    }
+
+    /**
+     * Escreve texto aplicando o kerning da fonte atual com o operador TJ.
+     * Sem pares de kerning no texto, equivale a {@link #showText(String)}.
+     *
+     * @param text Texto a ser escrito
+     */
+    public void showKernedText(String text) throws IOException {
+        Object[] positioned = state.font != null ? TextMeasurer.getKernedSegments(state.font, text) : new Object[0];
+        if (positioned.length == 0) {
+            showText(text);
+            return;
+        }
+        requireText("showKernedText");
+        syncTextPosition();
+        synchronized (state.font) {
+            delegate.showTextWithPositioning(positioned);
+        }
+        atLineStart = false;
+        logicalAtLineStart = false;
+    }
+
+    /**
+     * Define a fonte e o tamanho, se forem diferentes dos atuais.
+     *
+     * @param font     Fonte
+     * @param fontSize Tamanho da fonte
+     */
+    public void setFont(PDFont font, float fontSize) throws IOException {
+        if (font == state.font && Float.compare(fontSize, state.fontSize) == 0) {
+            return;
+        }
+        if (font.willBeSubset()) {
+            // A primeira seleção da fonte a registra no conjunto de fontes do documento
+            synchronized (subsetLock) {
+                delegate.setFont(font, fontSize);
+            }
+        } else {
+            delegate.setFont(font, fontSize);
+        }
+        state.font = font;
+        state.fontSize = fontSize;
+    }
+
+    /**
+     * Define a cor de preenchimento, se for diferente da atual.
+     *
+     * @param color Cor de preenchimento
+     */
+    public void setNonStrokingColor(Color color) throws IOException {
+        if (color.equals(state.nonStrokingColor)) {
+            return;
+        }
+        delegate.setNonStrokingColor(color);
+        state.nonStrokingColor = color;
+    }
+
+    /**
+     * Define a cor de traço, se for diferente da atual.
+     *
+     * @param color Cor de traço
+     */
+    public void setStrokingColor(Color color) throws IOException {
+        if (color.equals(state.strokingColor)) {
+            return;
+        }
+        delegate.setStrokingColor(color);
+        state.strokingColor = color;
+    }
+
+    /**
+     * Define a espessura de linha, se for diferente da atual.
+     *
+     * @param lineWidth Espessura da linha
+     */
+    public void setLineWidth(float lineWidth) throws IOException {
+        if (Float.compare(lineWidth, state.lineWidth) == 0) {
+            return;
+        }
+        delegate.setLineWidth(lineWidth);
+        state.lineWidth = lineWidth;
+    }
+
+    /**
+     * Move o ponto corrente do caminho.
+     */
+    public void moveTo(float x, float y) throws IOException {
+        flushText();
+        delegate.moveTo(x, y);
+    }
+
+    /**
+     * Adiciona uma linha ao caminho.
+     */
+    public void lineTo(float x, float y) throws IOException {
+        flushText();
+        delegate.lineTo(x, y);
+    }
+
+    /**
+     * Adiciona um retângulo ao caminho.
+     */
+    public void addRect(float x, float y, float width, float height) throws IOException {
+        flushText();
+        delegate.addRect(x, y, width, height);
+    }
+
+    /**
+     * Traça o caminho atual.
+     */
+    public void stroke() throws IOException {
+        flushText();
+        delegate.stroke();
+    }
+
+    /**
+     * Preenche o caminho atual.
+     */
+    public void fill() throws IOException {
+        flushText();
+        delegate.fill();
+    }
+
+    /**
+     * Desenha uma imagem na posição e dimensões informadas.
+     */
+    public void drawImage(PDImageXObject image, float x, float y, float width, float height) throws IOException {
+        flushText();
+        delegate.drawImage(image, x, y, width, height);
+    }
+
+    /**
+     * Desenha uma imagem em linha (BI/ID/EI), escrita no próprio content stream, na posição
+     * e dimensões informadas.
+     */
+    public void drawImage(PDInlineImage image, float x, float y, float width, float height) throws IOException {
+        flushText();
+        delegate.drawImage(image, x, y, width, height);
+    }
+
+    /**
+     * Aplica uma transformação à matriz de transformação corrente.
+     */
+    public void transform(Matrix matrix) throws IOException {
+        flushText();
+        delegate.transform(matrix);
+    }
+
+    /**
+     * Salva o estado gráfico atual.
+     */
+    public void saveGraphicsState() throws IOException {
+        flushText();
+        delegate.saveGraphicsState();
+        savedStates.push(state.copy());
+    }
+
+    /**
+     * Restaura o último estado gráfico salvo.
+     */
+    public void restoreGraphicsState() throws IOException {
+        flushText();
+        delegate.restoreGraphicsState();
+        state = savedStates.isEmpty() ? new GraphicsState() : savedStates.pop();
+    }
+
+    /**
+     * Fecha o objeto de texto pendente e o content stream subjacente.
+     */
+    @Override
+    public void close() throws IOException {
+        flushText();
+        delegate.close();
+    }
+
+    private void requireText(String operation) {
+        if (!inText) {
+            throw new IllegalStateException("beginText() deve ser chamado antes de " + operation + "()");
+        }
+    }
+
+    private void syncTextPosition() throws IOException {
+        if (!logicalAtLineStart) {
+            return;
+        }
+        if (atLineStart && Float.compare(logicalLineX, lineX) == 0 && Float.compare(logicalLineY, lineY) == 0) {
+            return;
+        }
+        delegate.newLineAtOffset(logicalLineX - lineX, logicalLineY - lineY);
+        lineX = logicalLineX;
+        lineY = logicalLineY;
+        atLineStart = true;
+    }
+
+    private void flushText() throws IOException {
+        if (pendingEndText) {
+            delegate.endText();
+            pendingEndText = false;
+        }
+    }
+
+    /**
+     * Parâmetros do estado gráfico acompanhados pelo writer.
+     * Valores nulos ou NaN representam estado desconhecido.
+     */
+    private static final class GraphicsState {
+        private PDFont font;
+        private float fontSize = Float.NaN;
+        private Color nonStrokingColor;
+        private Color strokingColor;
+        private float lineWidth = Float.NaN;
+
+        private GraphicsState copy() {
+            GraphicsState copy = new GraphicsState();
+            copy.font = font;
+            copy.fontSize = fontSize;
+            copy.nonStrokingColor = nonStrokingColor;
+            copy.strokingColor = strokingColor;
+            copy.lineWidth = lineWidth;
+            return copy;
+        }
+    }
+}
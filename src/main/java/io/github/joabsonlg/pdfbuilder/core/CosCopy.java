@@ -0,0 +1,79 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Cópia profunda de objetos COS para objetos independentes de qualquer documento.
+ * <p>
+ * Os streams são copiados com os bytes ainda codificados, de modo que a cópia não
+ * decodifica o conteúdo e continua válida depois que o documento de origem é fechado.
+ */
+final class CosCopy {
+
+    private CosCopy() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Copia o objeto e, recursivamente, os dicionários, arrays e streams que ele contém.
+     *
+     * @param base Objeto a ser copiado
+     * @return Cópia independente do objeto
+     * @throws IOException se houver erro ao copiar os dados de algum stream
+     */
+    static COSBase copy(COSBase base) throws IOException {
+        if (base instanceof COSObject object) {
+            return copy(object.getObject());
+        }
+        if (base instanceof COSStream stream) {
+            COSStream copy = new COSStream();
+            copyStream(stream, copy);
+            return copy;
+        }
+        if (base instanceof COSDictionary dictionary) {
+            COSDictionary copy = new COSDictionary();
+            copyEntries(dictionary, copy);
+            return copy;
+        }
+        if (base instanceof COSArray array) {
+            COSArray copy = new COSArray();
+            for (int i = 0; i < array.size(); i++) {
+                copy.add(copy(array.get(i)));
+            }
+            return copy;
+        }
+        return base;
+    }
+
+    /**
+     * Copia o dicionário e os bytes codificados do stream para outro stream já existente.
+     *
+     * @param source Stream de origem
+     * @param target Stream de destino
+     * @throws IOException se houver erro ao copiar os dados
+     */
+    static void copyStream(COSStream source, COSStream target) throws IOException {
+        copyEntries(source, target);
+        try (InputStream in = source.createRawInputStream(); OutputStream out = target.createRawOutputStream()) {
+            in.transferTo(out);
+        }
+    }
+
+    private static void copyEntries(COSDictionary source, COSDictionary target) throws IOException {
+        for (Map.Entry<COSName, COSBase> entry : source.entrySet()) {
+            if (!COSName.LENGTH.equals(entry.getKey())) {
+                target.setItem(entry.getKey(), copy(entry.getValue()));
+            }
+        }
+    }
+}
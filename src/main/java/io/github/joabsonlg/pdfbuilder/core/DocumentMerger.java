@@ -0,0 +1,361 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageTree;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Concatena muitos documentos PDF em um único arquivo.
+ * <p>
+ * Os documentos são anexados um a um: cada documento de entrada é aberto, suas páginas são
+ * copiadas e ele é fechado antes do próximo. Os dados dos streams copiados são guardados em
+ * arquivo temporário, de modo que a memória usada não cresce com o conteúdo das entradas,
+ * apenas com a estrutura das páginas. Os streams são copiados ainda codificados, sem
+ * decodificar nem recomprimir o conteúdo.
+ * <p>
+ * Imagens e programas de fonte com o mesmo conteúdo, como o logo e as fontes repetidos em
+ * cada documento gerado, são gravados uma única vez e compartilhados pelas páginas. Os
+ * candidatos são encontrados pelo hash do conteúdo codificado e confirmados pela
+ * comparação dos bytes e do dicionário do stream.
+ *
+ * <pre>{@code
+ * try (DocumentMerger merger = DocumentMerger.create()) {
+ *     for (Path file : files) {
+ *         merger.append(file);
+ *     }
+ *     merger.save(output);
+ * }
+ * }</pre>
+ */
+public final class DocumentMerger implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentMerger.class);
+
+    /** Chaves do descritor de fonte que apontam para o programa da fonte. */
+    private static final Set<COSName> FONT_PROGRAMS = Set.of(COSName.FONT_FILE, COSName.FONT_FILE2, COSName.FONT_FILE3);
+
+    private final PDDocument output;
+    /** Streams compartilháveis já gravados, por hash do conteúdo codificado. */
+    private final Map<Long, List<COSStream>> sharedStreams = new HashMap<>();
+    private int documentCount;
+    private int reusedStreams;
+    private long reusedBytes;
+
+    private DocumentMerger(PDDocument output) {
+        this.output = output;
+    }
+
+    /**
+     * Cria um merger com o documento de saída vazio.
+     */
+    public static DocumentMerger create() {
+        return new DocumentMerger(new PDDocument(IOUtils.createTempFileOnlyStreamCache()));
+    }
+
+    /**
+     * Anexa as páginas de um documento PDF em memória.
+     *
+     * @param pdf Bytes do documento
+     * @return this para chamadas encadeadas
+     * @throws IOException se houver erro ao ler ou copiar o documento
+     */
+    public DocumentMerger append(byte[] pdf) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            return append(document);
+        }
+    }
+
+    /**
+     * Anexa as páginas de um arquivo PDF. Os streams do arquivo são lidos sob demanda,
+     * sem carregar o arquivo inteiro em memória.
+     *
+     * @param pdf Caminho do documento
+     * @return this para chamadas encadeadas
+     * @throws IOException se houver erro ao ler ou copiar o documento
+     */
+    public DocumentMerger append(Path pdf) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            return append(document);
+        }
+    }
+
+    /**
+     * Finaliza o documento do builder, como ao salvar, anexa suas páginas e fecha o builder.
+     *
+     * @param builder Builder do documento
+     * @return this para chamadas encadeadas
+     * @throws IOException se houver erro ao finalizar ou copiar o documento
+     */
+    public DocumentMerger append(PDFBuilder builder) throws IOException {
+        try {
+            builder.finish();
+            return append(builder.getDocument());
+        } finally {
+            builder.close();
+        }
+    }
+
+    /**
+     * Anexa as páginas de um documento aberto. O documento não é fechado.
+     *
+     * @param document Documento de origem
+     * @return this para chamadas encadeadas
+     * @throws IOException se houver erro ao copiar o documento
+     */
+    public DocumentMerger append(PDDocument document) throws IOException {
+        if (document == null) {
+            throw new IllegalArgumentException("Documento não pode ser nulo");
+        }
+        int reusedBefore = reusedStreams;
+        // Objetos já copiados deste documento, para preservar o compartilhamento entre páginas.
+        // As cópias das páginas são registradas antes de qualquer cópia, de modo que links e
+        // anotações que apontam para outra página apontem para a página copiada
+        Map<COSBase, COSBase> copies = new IdentityHashMap<>();
+        List<PDPage> pages = new ArrayList<>();
+        for (PDPage page : document.getPages()) {
+            copies.put(page.getCOSObject(), new COSDictionary());
+            pages.add(page);
+        }
+        for (PDPage page : pages) {
+            COSDictionary copy = (COSDictionary) copies.get(page.getCOSObject());
+            copyPage(page, copy, copies);
+            output.addPage(new PDPage(copy));
+        }
+        documentCount++;
+        LOGGER.debug("Documento com {} páginas anexado, {} streams reaproveitados",
+                document.getNumberOfPages(), reusedStreams - reusedBefore);
+        return this;
+    }
+
+    /**
+     * Retorna o número de páginas do documento de saída.
+     */
+    public int getPageCount() {
+        return output.getNumberOfPages();
+    }
+
+    /**
+     * Retorna quantas vezes um stream anexado foi substituído por um idêntico já gravado.
+     */
+    public int getReusedStreamCount() {
+        return reusedStreams;
+    }
+
+    /**
+     * Retorna o total de bytes codificados que deixaram de ser gravados por reaproveitamento.
+     */
+    public long getReusedBytes() {
+        return reusedBytes;
+    }
+
+    /**
+     * Salva o documento de saída no stream informado e fecha o merger. O stream não é fechado.
+     *
+     * @param outputStream Stream onde o PDF será salvo
+     * @throws IOException se houver erro ao salvar o documento
+     */
+    public void save(OutputStream outputStream) throws IOException {
+        try {
+            output.save(outputStream);
+            LOGGER.debug("{} documentos concatenados em {} páginas, {} bytes reaproveitados",
+                    documentCount, output.getNumberOfPages(), reusedBytes);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Fecha o documento de saída e remove os dados temporários.
+     */
+    @Override
+    public void close() throws IOException {
+        sharedStreams.clear();
+        output.close();
+    }
+
+    /**
+     * Copia o dicionário da página, sem a referência à árvore de páginas de origem e com
+     * os atributos herdados dela resolvidos.
+     */
+    private void copyPage(PDPage page, COSDictionary copy, Map<COSBase, COSBase> copies) throws IOException {
+        COSDictionary source = page.getCOSObject();
+        copyEntries(source, copy, copies);
+        if (!copy.containsKey(COSName.RESOURCES)) {
+            // Páginas sem recursos próprios nem herdados recebem um dicionário vazio
+            PDResources resources = page.getResources();
+            copy.setItem(COSName.RESOURCES, resources != null
+                    ? copy(resources.getCOSObject(), COSName.RESOURCES, copies)
+                    : new COSDictionary());
+        }
+        if (!copy.containsKey(COSName.MEDIA_BOX)) {
+            copy.setItem(COSName.MEDIA_BOX, copy(page.getMediaBox().getCOSArray(), COSName.MEDIA_BOX, copies));
+        }
+        if (!copy.containsKey(COSName.CROP_BOX)
+                && PDPageTree.getInheritableAttribute(source, COSName.CROP_BOX) instanceof COSArray cropBox) {
+            copy.setItem(COSName.CROP_BOX, copy(cropBox, COSName.CROP_BOX, copies));
+        }
+        if (!copy.containsKey(COSName.ROTATE) && page.getRotation() != 0) {
+            copy.setInt(COSName.ROTATE, page.getRotation());
+        }
+    }
+
+    /**
+     * Copia o objeto para o documento de saída.
+     *
+     * @param key Chave sob a qual o objeto está no dicionário de origem, ou null
+     */
+    private COSBase copy(COSBase base, COSName key, Map<COSBase, COSBase> copies) throws IOException {
+        COSBase source = base instanceof COSObject object ? object.getObject() : base;
+        if (!(source instanceof COSDictionary) && !(source instanceof COSArray)) {
+            return source;
+        }
+        COSBase existing = copies.get(source);
+        if (existing != null) {
+            return existing;
+        }
+        if (source instanceof COSStream stream) {
+            boolean shareable = FONT_PROGRAMS.contains(key) || COSName.IMAGE.equals(stream.getCOSName(COSName.SUBTYPE));
+            COSStream copy = shareable ? copySharedStream(stream, copies) : copyStream(stream, copies);
+            copies.put(source, copy);
+            return copy;
+        }
+        if (source instanceof COSDictionary dictionary) {
+            COSDictionary copy = new COSDictionary();
+            copies.put(source, copy);
+            copyEntries(dictionary, copy, copies);
+            return copy;
+        }
+        COSArray array = (COSArray) source;
+        COSArray copy = new COSArray();
+        copies.put(source, copy);
+        for (int i = 0; i < array.size(); i++) {
+            copy.add(copy(array.get(i), null, copies));
+        }
+        return copy;
+    }
+
+    /**
+     * Copia as entradas do dicionário. A referência de uma página à árvore de páginas de
+     * origem é omitida, pois levaria consigo a árvore inteira.
+     */
+    private void copyEntries(COSDictionary source, COSDictionary target, Map<COSBase, COSBase> copies)
+            throws IOException {
+        boolean page = COSName.PAGE.equals(source.getCOSName(COSName.TYPE));
+        for (Map.Entry<COSName, COSBase> entry : source.entrySet()) {
+            if (!COSName.LENGTH.equals(entry.getKey()) && !(page && COSName.PARENT.equals(entry.getKey()))) {
+                target.setItem(entry.getKey(), copy(entry.getValue(), entry.getKey(), copies));
+            }
+        }
+    }
+
+    private COSStream copyStream(COSStream source, Map<COSBase, COSBase> copies) throws IOException {
+        COSStream target = output.getDocument().createCOSStream();
+        copies.put(source, target);
+        copyEntries(source, target, copies);
+        try (InputStream in = source.createRawInputStream(); OutputStream out = target.createRawOutputStream()) {
+            in.transferTo(out);
+        }
+        return target;
+    }
+
+    /**
+     * Copia um stream compartilhável, reaproveitando um stream já gravado com os mesmos
+     * bytes codificados e o mesmo dicionário.
+     */
+    private COSStream copySharedStream(COSStream source, Map<COSBase, COSBase> copies) throws IOException {
+        byte[] content;
+        try (InputStream in = source.createRawInputStream()) {
+            content = in.readAllBytes();
+        }
+        COSDictionary entries = new COSDictionary();
+        copyEntries(source, entries, copies);
+
+        List<COSStream> candidates = sharedStreams.computeIfAbsent(ContentHash.of(content), hash -> new ArrayList<>(1));
+        for (COSStream candidate : candidates) {
+            if (candidate.getLength() == content.length && sameEntries(candidate, entries)
+                    && Arrays.equals(readRaw(candidate), content)) {
+                reusedStreams++;
+                reusedBytes += content.length;
+                return candidate;
+            }
+        }
+        COSStream target = output.getDocument().createCOSStream();
+        target.addAll(entries);
+        try (OutputStream out = target.createRawOutputStream()) {
+            out.write(content);
+        }
+        candidates.add(target);
+        return target;
+    }
+
+    private static byte[] readRaw(COSStream stream) throws IOException {
+        try (InputStream in = stream.createRawInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Compara os dicionários de dois streams já copiados, ignorando o tamanho. Streams
+     * aninhados só são iguais se forem o mesmo objeto, o que vale para os já reaproveitados.
+     */
+    private static boolean sameEntries(COSDictionary a, COSDictionary b) {
+        int size = a.size() - (a.containsKey(COSName.LENGTH) ? 1 : 0);
+        if (size != b.size() - (b.containsKey(COSName.LENGTH) ? 1 : 0)) {
+            return false;
+        }
+        for (Map.Entry<COSName, COSBase> entry : b.entrySet()) {
+            if (!COSName.LENGTH.equals(entry.getKey())
+                    && !sameValue(a.getItem(entry.getKey()), entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameValue(COSBase a, COSBase b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null || a instanceof COSStream || b instanceof COSStream) {
+            return false;
+        }
+        if (a instanceof COSDictionary first && b instanceof COSDictionary second) {
+            return sameEntries(first, second);
+        }
+        if (a instanceof COSArray first && b instanceof COSArray second) {
+            if (first.size() != second.size()) {
+                return false;
+            }
+            for (int i = 0; i < first.size(); i++) {
+                if (!sameValue(first.get(i), second.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return a.equals(b);
+    }
+}
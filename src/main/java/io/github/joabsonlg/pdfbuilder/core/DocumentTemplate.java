@@ -0,0 +1,355 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import io.github.joabsonlg.pdfbuilder.components.logo.Logo;
+import io.github.joabsonlg.pdfbuilder.components.page.PageNumbering;
+import io.github.joabsonlg.pdfbuilder.components.page.PageSection;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Modelo de documento pré-renderizado, com campos variáveis.
+ * <p>
+ * O conteúdo fixo da primeira página (logo, cabeçalho, rodapé, textos padrão, cabeçalho de
+ * tabela) é gerado uma única vez ao criar o modelo: o content stream já comprimido e os
+ * recursos da página, com imagens convertidas e fontes reduzidas ao subconjunto usado, são
+ * guardados independentes de qualquer documento. Cada documento criado a partir do modelo
+ * recebe uma cópia desses bytes, sem repetir o layout, e apenas os campos e o conteúdo
+ * variável são gerados. O conteúdo variável continua da posição em que o conteúdo do modelo
+ * terminou.
+ * <p>
+ * O logo, o cabeçalho, o rodapé e a numeração de páginas definidos no conteúdo valem para
+ * todas as páginas de cada documento, inclusive as criadas quando o conteúdo variável não
+ * cabe na primeira. O rodapé e a numeração não fazem parte do conteúdo pré-renderizado:
+ * são desenhados em cada documento, com a numeração das páginas do próprio documento. Esses
+ * elementos devem usar fontes padrão, que não são embutidas no documento.
+ * <p>
+ * O modelo é imutável e pode ser usado por várias threads ao mesmo tempo.
+ *
+ * <pre>{@code
+ * DocumentTemplate template = DocumentTemplate.builder()
+ *         .withContent(builder -> builder.setLogo("Empresa").addParagraph(...))
+ *         .withSlot("cliente", 120, 700, 12)
+ *         .withSlot("vencimento", 420, 700, 12)
+ *         .build();
+ *
+ * PDFBuilder builder = template.newDocument(Map.of("cliente", "Ana", "vencimento", "10/11"));
+ * builder.addTable(itens);
+ * }</pre>
+ */
+public final class DocumentTemplate {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentTemplate.class);
+
+    private final PDFConfiguration configuration;
+    private final Map<String, Slot> slots;
+    private final COSBase contents;
+    private final COSBase resources;
+    private final float flowX;
+    private final float flowY;
+    private final Logo logo;
+    private final COSName leftLogoImage;
+    private final COSName rightLogoImage;
+    private final PageSection header;
+    private final PageSection footer;
+    private final PageNumbering pageNumbering;
+
+    private DocumentTemplate(Builder builder, PDFBuilder scratch, Coordinates flow) throws IOException {
+        COSDictionary page = scratch.getCurrentPage().getCOSObject();
+        this.configuration = builder.configuration;
+        this.slots = Collections.unmodifiableMap(new LinkedHashMap<>(builder.slots));
+        this.contents = CosCopy.copy(page.getDictionaryObject(COSName.CONTENTS));
+        this.resources = CosCopy.copy(page.getDictionaryObject(COSName.RESOURCES));
+        this.flowX = flow.getX();
+        this.flowY = flow.getY();
+        Logo scratchLogo = scratch.getLogo();
+        if (scratchLogo != null) {
+            // As imagens do logo pertencem ao documento de rascunho; cada documento usa as
+            // cópias presentes nos recursos copiados da primeira página
+            PDResources pageResources = scratch.getCurrentPage().getResources();
+            this.logo = Logo.builder().withTitle(scratchLogo.getTitle()).withStyle(scratchLogo.getStyle()).build();
+            this.leftLogoImage = findImage(pageResources, scratchLogo.getLeftImage());
+            this.rightLogoImage = findImage(pageResources, scratchLogo.getRightImage());
+        } else {
+            this.logo = null;
+            this.leftLogoImage = null;
+            this.rightLogoImage = null;
+        }
+        this.header = scratch.getHeader();
+        this.footer = scratch.getFooter();
+        this.pageNumbering = scratch.getPageNumbering();
+    }
+
+    private static COSName findImage(PDResources resources, PDImageXObject image) throws IOException {
+        if (image == null) {
+            return null;
+        }
+        for (COSName name : resources.getXObjectNames()) {
+            if (resources.getXObject(name).getCOSObject() == image.getCOSObject()) {
+                return name;
+            }
+        }
+        throw new IllegalStateException("Imagem do logo ausente da primeira página do modelo");
+    }
+
+    /**
+     * Cria um builder para o modelo.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Cria um documento a partir do modelo, sem preencher campos.
+     *
+     * @return Builder do novo documento, posicionado ao fim do conteúdo do modelo
+     */
+    public PDFBuilder newDocument() {
+        return newDocument(Map.of());
+    }
+
+    /**
+     * Cria um documento a partir do modelo e preenche os campos informados. Campos sem
+     * valor ficam em branco.
+     *
+     * @param values Valores dos campos, por nome
+     * @return Builder do novo documento, posicionado ao fim do conteúdo do modelo
+     * @throws IllegalArgumentException se algum campo não estiver definido no modelo
+     */
+    public PDFBuilder newDocument(Map<String, String> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Valores dos campos não podem ser nulos");
+        }
+        for (String name : values.keySet()) {
+            if (!slots.containsKey(name)) {
+                throw new IllegalArgumentException("Campo não definido no modelo: " + name);
+            }
+        }
+        PDFBuilder builder = new PDFBuilder(configuration);
+        try {
+            builder.applyTemplate(this);
+        } catch (IOException e) {
+            builder.close();
+            throw new RuntimeException("Erro ao aplicar o modelo do documento", e);
+        }
+        Coordinates flow = builder.getCurrentPosition();
+        float fontSize = builder.getFontSize();
+        for (Slot slot : slots.values()) {
+            String value = values.get(slot.name);
+            if (value != null && !value.isEmpty()) {
+                builder.moveTo(slot.x, slot.y).setFontSize(slot.fontSize).addText(value);
+            }
+        }
+        return builder.setFontSize(fontSize).moveTo(flow.getX(), flow.getY());
+    }
+
+    /**
+     * Retorna os nomes dos campos do modelo, na ordem em que foram definidos.
+     */
+    public Set<String> getSlotNames() {
+        return slots.keySet();
+    }
+
+    /**
+     * Retorna a configuração dos documentos criados a partir do modelo.
+     */
+    public PDFConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Copia o conteúdo e os recursos do modelo para a página. A cópia é sincronizada porque
+     * a leitura dos streams guardados não pode ser feita por várias threads ao mesmo tempo.
+     * Os recursos são definidos por {@link PDPage#setResources}, que substitui também os
+     * recursos já lidos e guardados pela página.
+     */
+    synchronized void copyTo(PDPage page) throws IOException {
+        page.getCOSObject().setItem(COSName.CONTENTS, CosCopy.copy(contents));
+        page.setResources(new PDResources((COSDictionary) CosCopy.copy(resources)));
+    }
+
+    /**
+     * Retorna o logo do modelo com as imagens dos recursos já copiados para a página.
+     */
+    Logo logoFor(PDPage page) throws IOException {
+        if (logo == null || (leftLogoImage == null && rightLogoImage == null)) {
+            return logo;
+        }
+        PDResources pageResources = page.getResources();
+        return Logo.builder()
+                .withTitle(logo.getTitle())
+                .withStyle(logo.getStyle())
+                .withLeftImage(leftLogoImage != null ? (PDImageXObject) pageResources.getXObject(leftLogoImage) : null)
+                .withRightImage(rightLogoImage != null ? (PDImageXObject) pageResources.getXObject(rightLogoImage) : null)
+                .build();
+    }
+
+    PageSection getHeader() {
+        return header;
+    }
+
+    PageSection getFooter() {
+        return footer;
+    }
+
+    PageNumbering getPageNumbering() {
+        return pageNumbering;
+    }
+
+    float getFlowX() {
+        return flowX;
+    }
+
+    float getFlowY() {
+        return flowY;
+    }
+
+    /**
+     * Gera o conteúdo do modelo.
+     */
+    @FunctionalInterface
+    public interface Content {
+        /**
+         * Adiciona ao builder o conteúdo fixo do modelo, que deve caber na primeira página.
+         *
+         * @param builder Builder usado apenas para gerar o modelo
+         * @throws IOException se houver erro ao gerar o conteúdo
+         */
+        void render(PDFBuilder builder) throws IOException;
+    }
+
+    /**
+     * Campo variável, escrito com a fonte padrão a partir de uma posição da página.
+     */
+    private static final class Slot {
+        private final String name;
+        private final float x;
+        private final float y;
+        private final float fontSize;
+
+        private Slot(String name, float x, float y, float fontSize) {
+            this.name = name;
+            this.x = x;
+            this.y = y;
+            this.fontSize = fontSize;
+        }
+    }
+
+    public static final class Builder {
+        private final Map<String, Slot> slots = new LinkedHashMap<>();
+        private PDFConfiguration configuration = PDFConfiguration.create().build();
+        private Content content;
+
+        private Builder() {
+        }
+
+        /**
+         * Define a configuração do modelo e dos documentos criados a partir dele.
+         */
+        public Builder withConfiguration(PDFConfiguration configuration) {
+            if (configuration == null) {
+                throw new IllegalArgumentException("Configuração não pode ser nula");
+            }
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * Define a função que gera o conteúdo fixo do modelo.
+         */
+        public Builder withContent(Content content) {
+            this.content = content;
+            return this;
+        }
+
+        /**
+         * Define um campo variável.
+         *
+         * @param name Nome do campo
+         * @param x Coordenada X da linha de base do texto, em pontos a partir da borda esquerda
+         * @param y Coordenada Y da linha de base do texto, em pontos a partir da borda inferior
+         * @param fontSize Tamanho da fonte do campo
+         * @throws IllegalArgumentException se o nome for vazio ou repetido, ou se o tamanho não for positivo
+         */
+        public Builder withSlot(String name, float x, float y, float fontSize) {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("Nome do campo não pode ser vazio");
+            }
+            if (slots.containsKey(name)) {
+                throw new IllegalArgumentException("Campo já definido: " + name);
+            }
+            if (fontSize <= 0) {
+                throw new IllegalArgumentException("Tamanho da fonte deve ser maior que zero");
+            }
+            slots.put(name, new Slot(name, x, y, fontSize));
+            return this;
+        }
+
+        /**
+         * Gera o conteúdo fixo e cria o modelo.
+         *
+         * @throws IOException se houver erro ao gerar o conteúdo
+         * @throws IllegalStateException se o conteúdo não for definido, ocupar mais de uma página
+         *         ou usar fontes embutidas no logo, no cabeçalho, no rodapé ou na numeração
+         */
+        public DocumentTemplate build() throws IOException {
+            if (content == null) {
+                throw new IllegalStateException("Conteúdo do modelo não definido");
+            }
+            long start = System.nanoTime();
+            PDFBuilder builder = new PDFBuilder(configuration);
+            try {
+                content.render(builder);
+                if (builder.getDocument().getNumberOfPages() != 1) {
+                    throw new IllegalStateException("O conteúdo do modelo deve ocupar uma única página");
+                }
+                checkFurnitureFonts(builder);
+                Coordinates flow = builder.getCurrentPosition();
+                // O rodapé e a numeração são desenhados em cada documento, com as suas páginas
+                PageSection footer = builder.getFooter();
+                PageNumbering pageNumbering = builder.getPageNumbering();
+                builder.setFooter(null).setPageNumbering(null);
+                builder.finish();
+                builder.setFooter(footer).setPageNumbering(pageNumbering);
+                DocumentTemplate template = new DocumentTemplate(this, builder, flow);
+                LOGGER.debug("Modelo com {} campos gerado em {} ms", slots.size(),
+                        (System.nanoTime() - start) / 1_000_000);
+                return template;
+            } finally {
+                builder.close();
+            }
+        }
+
+        /**
+         * Verifica se o logo, o cabeçalho, o rodapé e a numeração, compartilhados pelos
+         * documentos do modelo, usam apenas fontes que não pertencem ao documento de rascunho.
+         */
+        private static void checkFurnitureFonts(PDFBuilder builder) {
+            Logo logo = builder.getLogo();
+            PageSection header = builder.getHeader();
+            PageSection footer = builder.getFooter();
+            PageNumbering pageNumbering = builder.getPageNumbering();
+            for (PDFont font : new PDFont[]{
+                    logo != null ? logo.getStyle().getFont() : null,
+                    header != null ? header.getFont() : null,
+                    footer != null ? footer.getFont() : null,
+                    pageNumbering != null ? pageNumbering.getFont() : null}) {
+                if (font != null && font.isEmbedded()) {
+                    throw new IllegalStateException(
+                            "Logo, cabeçalho, rodapé e numeração do modelo devem usar fontes padrão: " + font.getName());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Avanço comum dos caracteres de uma fonte de largura fixa.
+ * <p>
+ * Guarda o avanço predominante da fonte e o bitset dos caracteres que o possuem. Um texto
+ * formado apenas por esses caracteres tem largura igual à contagem de caracteres vezes o
+ * avanço, o que permite quebrar linhas por aritmética de índices, sem codificar o texto.
+ */
+final class FixedPitch {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FixedPitch.class);
+
+    static final FixedPitch PROPORTIONAL = new FixedPitch(-1, new BitSet());
+
+    private static final Map<PDFont, FixedPitch> FIXED_PITCH = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final float advance;
+    private final BitSet characters;
+
+    FixedPitch(float advance, BitSet characters) {
+        this.advance = advance;
+        this.characters = characters;
+    }
+
+    /**
+     * Retorna o avanço fixo da fonte, calculado uma única vez por fonte.
+     *
+     * @param font Fonte consultada
+     * @return Avanço fixo ou {@link #PROPORTIONAL} se a fonte for proporcional
+     */
+    static FixedPitch of(PDFont font) {
+        Standard14Metrics metrics = TextMeasurer.metricsFor(font);
+        if (metrics != null) {
+            return metrics.getFixedPitch();
+        }
+        FixedPitch fixedPitch = FIXED_PITCH.get(font);
+        if (fixedPitch == null) {
+            fixedPitch = compute(font);
+            FIXED_PITCH.put(font, fixedPitch);
+        }
+        return fixedPitch;
+    }
+
+    /**
+     * Retorna o avanço fixo em unidades de glifo, ou -1 se a fonte for proporcional.
+     */
+    float getAdvance() {
+        return advance;
+    }
+
+    /**
+     * Verifica se todos os caracteres do intervalo têm o avanço fixo da fonte.
+     *
+     * @param text Texto consultado
+     * @param start Índice inicial (inclusivo)
+     * @param end Índice final (exclusivo)
+     * @return true se a largura do intervalo for a contagem de caracteres vezes o avanço
+     */
+    boolean covers(CharSequence text, int start, int end) {
+        if (advance < 0) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!characters.get(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static FixedPitch compute(PDFont font) {
+        PDFontDescriptor descriptor = font.getFontDescriptor();
+        if (descriptor == null || !descriptor.isFixedPitch()) {
+            return PROPORTIONAL;
+        }
+        BitSet coverage = FontCoverage.of(font);
+        Map<Float, BitSet> charactersByWidth = new HashMap<>();
+        synchronized (font) {
+            for (int codePoint = coverage.nextSetBit(0); codePoint >= 0 && codePoint <= Character.MAX_VALUE;
+                 codePoint = coverage.nextSetBit(codePoint + 1)) {
+                float width = widthOf(font, codePoint);
+                if (width > 0) {
+                    charactersByWidth.computeIfAbsent(width, k -> new BitSet()).set(codePoint);
+                }
+            }
+        }
+        Map.Entry<Float, BitSet> predominant = null;
+        for (Map.Entry<Float, BitSet> entry : charactersByWidth.entrySet()) {
+            if (predominant == null || entry.getValue().cardinality() > predominant.getValue().cardinality()) {
+                predominant = entry;
+            }
+        }
+        if (predominant == null) {
+            return PROPORTIONAL;
+        }
+        LOGGER.debug("Fonte {} com largura fixa de {} ({} caracteres)",
+                font.getName(), predominant.getKey(), predominant.getValue().cardinality());
+        return new FixedPitch(predominant.getKey(), predominant.getValue());
+    }
+
+    private static float widthOf(PDFont font, int codePoint) {
+        try {
+            return font.getStringWidth(String.valueOf((char) codePoint));
+        } catch (IllegalArgumentException | IOException e) {
+            return -1;
+        }
+    }
+}
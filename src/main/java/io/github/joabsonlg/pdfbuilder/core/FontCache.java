@@ -0,0 +1,71 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.fontbox.ttf.OTFParser;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache global de programas de fonte TrueType/OpenType já analisados.
+ * <p>
+ * Cada arquivo é lido e analisado uma única vez por processo. O {@link TrueTypeFont}
+ * resultante é compartilhado entre documentos: cada documento cria o seu próprio
+ * {@code PDType0Font} a partir dele, com embutimento e subconjunto de glifos próprios.
+ * As fontes em cache nunca são fechadas pelos documentos.
+ */
+final class FontCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FontCache.class);
+
+    private static final Map<Path, TrueTypeFont> FONTS = new ConcurrentHashMap<>();
+
+    private FontCache() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Retorna o programa de fonte analisado para o arquivo, analisando-o no primeiro acesso.
+     *
+     * @param fontPath Caminho do arquivo .ttf ou .otf
+     * @return Fonte analisada e compartilhada
+     * @throws IOException se o arquivo não puder ser lido ou não for uma fonte válida
+     */
+    static TrueTypeFont get(Path fontPath) throws IOException {
+        Path key = fontPath.toRealPath();
+        try {
+            return FONTS.computeIfAbsent(key, FontCache::parse);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Retorna o número de fontes analisadas em cache.
+     */
+    static int size() {
+        return FONTS.size();
+    }
+
+    private static TrueTypeFont parse(Path fontPath) {
+        long start = System.nanoTime();
+        try {
+            byte[] data = Files.readAllBytes(fontPath);
+            boolean openType = fontPath.toString().toLowerCase(Locale.ROOT).endsWith(".otf");
+            TTFParser parser = openType ? new OTFParser() : new TTFParser();
+            TrueTypeFont font = parser.parse(new RandomAccessReadBuffer(data));
+            LOGGER.debug("Fonte {} analisada em {} ms", fontPath, (System.nanoTime() - start) / 1_000_000);
+            return font;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
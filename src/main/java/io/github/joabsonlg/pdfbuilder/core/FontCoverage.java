@@ -0,0 +1,113 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.font.PDCIDFontType2;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Cobertura de code points das fontes, pré-calculada em bitsets.
+ * <p>
+ * A cobertura é calculada uma única vez por programa de fonte: para as fontes padrão a
+ * partir das métricas pré-compiladas, para fontes TrueType a partir da tabela cmap, e
+ * para as demais por tentativa de codificação do plano multilíngue básico. Depois disso,
+ * verificar se a fonte possui um caractere é um teste de bit.
+ */
+final class FontCoverage {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FontCoverage.class);
+
+    private static final Map<Object, BitSet> COVERAGE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private FontCoverage() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Retorna os code points que a fonte consegue codificar. O bitset retornado não deve ser alterado.
+     *
+     * @param font Fonte consultada
+     * @return Bitset indexado por code point
+     */
+    static BitSet of(PDFont font) {
+        Standard14Metrics metrics = TextMeasurer.metricsFor(font);
+        if (metrics != null) {
+            return metrics.getCoverage();
+        }
+        Object key = programOf(font);
+        BitSet coverage = COVERAGE.get(key);
+        if (coverage == null) {
+            synchronized (key) {
+                coverage = COVERAGE.get(key);
+                if (coverage == null) {
+                    coverage = compute(font, key);
+                    COVERAGE.put(key, coverage);
+                }
+            }
+        }
+        return coverage;
+    }
+
+    private static Object programOf(PDFont font) {
+        if (font instanceof PDType0Font type0Font && type0Font.getDescendantFont() instanceof PDCIDFontType2 cidFont) {
+            TrueTypeFont trueTypeFont = cidFont.getTrueTypeFont();
+            if (trueTypeFont != null) {
+                return trueTypeFont;
+            }
+        }
+        return font;
+    }
+
+    private static BitSet compute(PDFont font, Object program) {
+        long start = System.nanoTime();
+        BitSet coverage = new BitSet();
+        CmapLookup cmap = font instanceof PDType0Font type0Font ? type0Font.getCmapLookup() : null;
+        if (program instanceof TrueTypeFont trueTypeFont && cmap != null) {
+            int glyphCount = numberOfGlyphs(trueTypeFont);
+            for (int glyphId = 1; glyphId < glyphCount; glyphId++) {
+                List<Integer> codePoints = cmap.getCharCodes(glyphId);
+                if (codePoints != null) {
+                    codePoints.forEach(coverage::set);
+                }
+            }
+        } else {
+            synchronized (font) {
+                for (int codePoint = 0; codePoint <= Character.MAX_VALUE; codePoint++) {
+                    if (!Character.isSurrogate((char) codePoint) && canEncode(font, codePoint)) {
+                        coverage.set(codePoint);
+                    }
+                }
+            }
+        }
+        LOGGER.debug("Cobertura da fonte {} calculada em {} ms ({} caracteres)",
+                font.getName(), (System.nanoTime() - start) / 1_000_000, coverage.cardinality());
+        return coverage;
+    }
+
+    private static int numberOfGlyphs(TrueTypeFont trueTypeFont) {
+        try {
+            return trueTypeFont.getNumberOfGlyphs();
+        } catch (IOException e) {
+            LOGGER.warn("Não foi possível ler o número de glifos da fonte: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private static boolean canEncode(PDFont font, int codePoint) {
+        try {
+            font.encode(String.valueOf((char) codePoint));
+            return true;
+        } catch (IllegalArgumentException | IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Divisão de texto em trechos conforme uma cadeia de fontes alternativas.
+ * <p>
+ * Cada caractere é atribuído à primeira fonte da cadeia (fonte principal seguida das
+ * alternativas) que o possui, consultando a cobertura pré-calculada de cada fonte.
+ * Caracteres que nenhuma fonte possui permanecem na fonte principal.
+ */
+public final class FontFallback {
+
+    private FontFallback() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Trecho contínuo de texto renderizado com uma única fonte.
+     */
+    public static final class TextRun {
+        private final String text;
+        private final PDFont font;
+
+        TextRun(String text, PDFont font) {
+            this.text = text;
+            this.font = font;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public PDFont getFont() {
+            return font;
+        }
+    }
+
+    /**
+     * Divide o texto em trechos nos pontos em que a fonte escolhida muda.
+     *
+     * @param font Fonte principal
+     * @param fallbacks Fontes alternativas, em ordem de preferência
+     * @param text Texto a ser dividido
+     * @return Trechos do texto com as respectivas fontes
+     */
+    public static List<TextRun> split(PDFont font, List<PDFont> fallbacks, String text) {
+        if (fallbacks.isEmpty() || covers(FontCoverage.of(font), text)) {
+            return List.of(new TextRun(text, font));
+        }
+        BitSet[] coverages = new BitSet[fallbacks.size() + 1];
+        coverages[0] = FontCoverage.of(font);
+        for (int i = 0; i < fallbacks.size(); i++) {
+            coverages[i + 1] = FontCoverage.of(fallbacks.get(i));
+        }
+
+        List<TextRun> runs = new ArrayList<>();
+        int runStart = 0;
+        int runFont = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            int chosen = choose(coverages, codePoint);
+            if (chosen != runFont) {
+                if (runFont >= 0) {
+                    runs.add(new TextRun(text.substring(runStart, i), fontAt(font, fallbacks, runFont)));
+                }
+                runStart = i;
+                runFont = chosen;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (runFont >= 0) {
+            runs.add(new TextRun(text.substring(runStart), fontAt(font, fallbacks, runFont)));
+        }
+        return runs;
+    }
+
+    /**
+     * Calcula a largura do texto em pontos, medindo cada trecho com a sua fonte.
+     *
+     * @param font Fonte principal
+     * @param fallbacks Fontes alternativas, em ordem de preferência
+     * @param text Texto a ser medido
+     * @param fontSize Tamanho da fonte
+     * @return Largura do texto em pontos
+     * @throws IOException se houver erro ao ler as métricas das fontes
+     */
+    public static float getStringWidth(PDFont font, List<PDFont> fallbacks, String text, float fontSize) throws IOException {
+        return getStringWidth(font, fallbacks, text, fontSize, false);
+    }
+
+    /**
+     * Calcula a largura do texto em pontos, medindo cada trecho com a sua fonte e,
+     * opcionalmente, com kerning dentro de cada trecho.
+     *
+     * @param font Fonte principal
+     * @param fallbacks Fontes alternativas, em ordem de preferência
+     * @param text Texto a ser medido
+     * @param fontSize Tamanho da fonte
+     * @param kerning Se os ajustes de kerning devem ser considerados
+     * @return Largura do texto em pontos
+     * @throws IOException se houver erro ao ler as métricas das fontes
+     */
+    public static float getStringWidth(PDFont font, List<PDFont> fallbacks, String text, float fontSize,
+                                       boolean kerning) throws IOException {
+        if (fallbacks.isEmpty()) {
+            return TextMeasurer.getStringWidth(font, text, fontSize, kerning);
+        }
+        float width = 0;
+        for (TextRun run : split(font, fallbacks, text)) {
+            width += TextMeasurer.getStringWidth(run.getFont(), run.getText(), fontSize, kerning);
+        }
+        return width;
+    }
+
+    /**
+     * Escreve o texto trocando de fonte nos limites de cada trecho.
+     * Deve ser chamado entre {@code beginText()} e {@code endText()}; ao final, a fonte
+     * ativa é a do último trecho.
+     *
+     * @param contentStream Destino do texto
+     * @param font Fonte principal
+     * @param fallbacks Fontes alternativas, em ordem de preferência
+     * @param text Texto a ser escrito
+     * @param fontSize Tamanho da fonte
+     * @throws IOException se houver erro ao escrever o texto
+     */
+    public static void showText(ContentStreamWriter contentStream, PDFont font, List<PDFont> fallbacks,
+                                String text, float fontSize) throws IOException {
+        showText(contentStream, font, fallbacks, text, fontSize, false);
+    }
+
+    /**
+     * Escreve o texto trocando de fonte nos limites de cada trecho e, opcionalmente,
+     * aplicando o kerning de cada fonte com o operador TJ.
+     *
+     * @param contentStream Destino do texto
+     * @param font Fonte principal
+     * @param fallbacks Fontes alternativas, em ordem de preferência
+     * @param text Texto a ser escrito
+     * @param fontSize Tamanho da fonte
+     * @param kerning Se os ajustes de kerning devem ser aplicados
+     * @throws IOException se houver erro ao escrever o texto
+     */
+    public static void showText(ContentStreamWriter contentStream, PDFont font, List<PDFont> fallbacks,
+                                String text, float fontSize, boolean kerning) throws IOException {
+        for (TextRun run : split(font, fallbacks, text)) {
+            contentStream.setFont(run.getFont(), fontSize);
+            if (kerning) {
+                contentStream.showKernedText(run.getText());
+            } else {
+                contentStream.showText(run.getText());
+            }
+        }
+    }
+
+    private static boolean covers(BitSet coverage, String text) {
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (!coverage.get(codePoint)) {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return true;
+    }
+
+    private static int choose(BitSet[] coverages, int codePoint) {
+        for (int i = 0; i < coverages.length; i++) {
+            if (coverages[i].get(codePoint)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static PDFont fontAt(PDFont font, List<PDFont> fallbacks, int index) {
+        return index == 0 ? font : fallbacks.get(index - 1);
+    }
+}
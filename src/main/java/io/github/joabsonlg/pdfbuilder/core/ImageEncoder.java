@@ -0,0 +1,217 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.image.CCITTFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escolha da codificação de uma imagem pela análise do seu conteúdo.
+ * <p>
+ * A imagem é percorrida uma vez para verificar se todos os pixels são cinza ou apenas preto
+ * e branco, condições que permitem emitir um único canal sem perdas. Em uma amostra de até
+ * {@value #SAMPLED_ROWS} linhas, conta-se quantos pixels repetem o vizinho à esquerda e
+ * quantas cores distintas aparecem: gráficos e capturas de tela têm áreas planas e poucas
+ * cores, enquanto fotografias variam de pixel a pixel.
+ */
+final class ImageEncoder {
+    private static final int SAMPLED_ROWS = 256;
+    /** Fração mínima de pixels iguais ao vizinho para tratar a imagem como gráfico. */
+    private static final double FLAT_FRACTION = 0.5;
+    /** Número mínimo de cores distintas na amostra para tratar a imagem como fotografia. */
+    private static final int PHOTO_COLORS = 1024;
+    /** Número mínimo de tons distintos na amostra para tratar uma imagem cinza como fotografia. */
+    private static final int PHOTO_GRAY_LEVELS = 128;
+    private static final int COLOR_TABLE_SIZE = 4096;
+
+    private ImageEncoder() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Escolhe a codificação adequada ao conteúdo da imagem.
+     *
+     * @param image Imagem decodificada
+     * @return Codificação escolhida
+     */
+    static ImageEncoding select(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean alpha = image.getColorModel().hasAlpha();
+        boolean gray = true;
+        boolean bilevel = !alpha;
+        int rowStep = Math.max(1, height / SAMPLED_ROWS);
+        long sampled = 0;
+        long flat = 0;
+        int[] colors = new int[COLOR_TABLE_SIZE];
+        int distinct = 0;
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            if (gray) {
+                for (int x = 0; x < width; x++) {
+                    int rgb = row[x] & 0xFFFFFF;
+                    int blue = rgb & 0xFF;
+                    if (rgb != blue * 0x010101) {
+                        gray = false;
+                        bilevel = false;
+                        break;
+                    }
+                    if (bilevel && blue != 0 && blue != 0xFF) {
+                        bilevel = false;
+                    }
+                }
+            }
+            if (y % rowStep != 0) {
+                continue;
+            }
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x] & 0xFFFFFF;
+                if (x > 0 && rgb == (row[x - 1] & 0xFFFFFF)) {
+                    flat++;
+                }
+                if (distinct < PHOTO_COLORS && addColor(colors, rgb)) {
+                    distinct++;
+                }
+            }
+            sampled += width;
+        }
+        if (bilevel) {
+            return ImageEncoding.CCITT_G4;
+        }
+        boolean photo = !alpha && distinct >= (gray ? PHOTO_GRAY_LEVELS : PHOTO_COLORS)
+                && flat < sampled * FLAT_FRACTION;
+        if (photo) {
+            return gray ? ImageEncoding.DCT_GRAY : ImageEncoding.DCT_RGB;
+        }
+        return gray && !alpha ? ImageEncoding.FLATE_GRAY : ImageEncoding.FLATE_RGB;
+    }
+
+    /**
+     * Codifica a imagem com a codificação informada.
+     *
+     * @param document Documento que receberá a imagem
+     * @param image Imagem decodificada
+     * @param encoding Codificação escolhida por {@link #select(BufferedImage)}
+     * @param quality Qualidade da compressão JPEG (0.0 - 1.0)
+     * @return Imagem codificada
+     * @throws IOException se houver erro ao codificar a imagem
+     */
+    static PDImageXObject encode(PDDocument document, BufferedImage image, ImageEncoding encoding, float quality)
+            throws IOException {
+        return switch (encoding) {
+            case DCT_RGB -> JPEGFactory.createFromImage(document, image, quality);
+            case DCT_GRAY -> JPEGFactory.createFromImage(document, singleChannel(image, BufferedImage.TYPE_BYTE_GRAY), quality);
+            case FLATE_GRAY -> createFlateGray(document, image);
+            case CCITT_G4 -> CCITTFactory.createFromImage(document, singleChannel(image, BufferedImage.TYPE_BYTE_BINARY));
+            default -> LosslessFactory.createFromImage(document, image);
+        };
+    }
+
+    /**
+     * Comprime as amostras de cinza com Flate e preditor PNG, escolhendo para cada linha o
+     * filtro (nenhum, Sub ou Up) com a menor soma dos resíduos, como faz o próprio PNG. As
+     * amostras são gravadas diretamente, pois o LosslessFactory leria a imagem cinza do Java
+     * pela conversão linear de cor, que alteraria os tons.
+     */
+    private static PDImageXObject createFlateGray(PDDocument document, BufferedImage image) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] rgb = new int[width];
+        byte[] previous = new byte[width];
+        byte[] current = new byte[width];
+        byte[] sub = new byte[1 + width];
+        byte[] up = new byte[1 + width];
+        byte[] none = new byte[1 + width];
+        sub[0] = 1;
+        up[0] = 2;
+        COSStream stream = document.getDocument().createCOSStream();
+        try (OutputStream out = stream.createOutputStream(COSName.FLATE_DECODE)) {
+            for (int y = 0; y < height; y++) {
+                image.getRGB(0, y, width, 1, rgb, 0, width);
+                long noneSum = 0;
+                long subSum = 0;
+                long upSum = 0;
+                for (int x = 0; x < width; x++) {
+                    current[x] = (byte) rgb[x];
+                    byte left = x > 0 ? current[x - 1] : 0;
+                    none[x + 1] = current[x];
+                    sub[x + 1] = (byte) (current[x] - left);
+                    up[x + 1] = (byte) (current[x] - previous[x]);
+                    noneSum += Math.abs(none[x + 1]);
+                    subSum += Math.abs(sub[x + 1]);
+                    upSum += Math.abs(up[x + 1]);
+                }
+                out.write(subSum <= upSum ? (subSum <= noneSum ? sub : none) : (upSum <= noneSum ? up : none));
+                byte[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+        }
+        PDImageXObject result = new PDImageXObject(new PDStream(stream), null);
+        result.setWidth(width);
+        result.setHeight(height);
+        result.setBitsPerComponent(8);
+        result.setColorSpace(PDDeviceGray.INSTANCE);
+        COSDictionary parameters = new COSDictionary();
+        parameters.setInt(COSName.PREDICTOR, 15);
+        parameters.setInt(COSName.COLORS, 1);
+        parameters.setInt(COSName.BITS_PER_COMPONENT, 8);
+        parameters.setInt(COSName.COLUMNS, width);
+        result.getCOSObject().setItem(COSName.DECODE_PARMS, parameters);
+        return result;
+    }
+
+    /**
+     * Copia as amostras de uma imagem cinza para uma imagem de um único canal. As amostras
+     * são copiadas diretamente, sem a conversão de cor do Java, que trata o tipo cinza como
+     * linear e alteraria os tons.
+     */
+    private static BufferedImage singleChannel(BufferedImage image, int type) {
+        int width = image.getWidth();
+        BufferedImage channel = new BufferedImage(width, image.getHeight(), type);
+        WritableRaster raster = channel.getRaster();
+        int[] row = new int[width];
+        int[] samples = new int[width];
+        int shift = type == BufferedImage.TYPE_BYTE_BINARY ? 7 : 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                samples[x] = (row[x] & 0xFF) >> shift;
+            }
+            raster.setSamples(0, y, width, 1, 0, samples);
+        }
+        return channel;
+    }
+
+    /**
+     * Insere a cor na tabela de dispersão com endereçamento aberto.
+     *
+     * @return true se a cor ainda não estava na tabela
+     */
+    private static boolean addColor(int[] colors, int rgb) {
+        // O valor zero marca posições vazias; a cor preta é guardada como 0x1000000
+        int value = rgb == 0 ? 0x1000000 : rgb;
+        int mask = colors.length - 1;
+        for (int i = (value * 0x9E3779B1) >>> 20 & mask; ; i = (i + 1) & mask) {
+            if (colors[i] == value) {
+                return false;
+            }
+            if (colors[i] == 0) {
+                colors[i] = value;
+                return true;
+            }
+        }
+    }
+}
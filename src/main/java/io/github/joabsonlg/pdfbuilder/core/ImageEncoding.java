@@ -0,0 +1,19 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+/**
+ * Codificações escolhidas para as imagens embutidas pelo {@link ResourceManager}.
+ */
+public enum ImageEncoding {
+    /** JPEG colorido, para fotografias. */
+    DCT_RGB,
+    /** JPEG com um único canal, para fotografias em tons de cinza. */
+    DCT_GRAY,
+    /** Flate sem perdas, para gráficos, capturas de tela e imagens com transparência. */
+    FLATE_RGB,
+    /** Flate sem perdas com um único canal, para gráficos em tons de cinza. */
+    FLATE_GRAY,
+    /** CCITT grupo 4, para imagens apenas em preto e branco, como documentos digitalizados. */
+    CCITT_G4,
+    /** Arquivo JPEG embutido com a codificação original. */
+    ORIGINAL
+}
@@ -0,0 +1,81 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Informações do cabeçalho de um arquivo de imagem.
+ * <p>
+ * A leitura usa apenas os metadados do primeiro quadro, sem decodificar os pixels, de modo
+ * que o custo não depende do tamanho da imagem.
+ */
+public final class ImageHeader {
+    private final int width;
+    private final int height;
+
+    private ImageHeader(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Lê o cabeçalho do arquivo de imagem.
+     *
+     * @param imagePath Caminho do arquivo de imagem
+     * @return Cabeçalho da imagem, ou null se nenhum leitor reconhecer o formato
+     * @throws IOException se houver erro ao ler o arquivo
+     */
+    public static ImageHeader read(Path imagePath) throws IOException {
+        try (ImageInputStream input = new FileImageInputStream(imagePath.toFile())) {
+            return read(input);
+        }
+    }
+
+    /**
+     * Lê o cabeçalho do conteúdo de um arquivo de imagem.
+     *
+     * @param content Bytes do arquivo de imagem
+     * @return Cabeçalho da imagem, ou null se nenhum leitor reconhecer o formato
+     * @throws IOException se houver erro ao ler o conteúdo
+     */
+    static ImageHeader read(byte[] content) throws IOException {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(content))) {
+            return read(input);
+        }
+    }
+
+    private static ImageHeader read(ImageInputStream input) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            return new ImageHeader(reader.getWidth(0), reader.getHeight(0));
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Retorna a largura da imagem em pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Retorna a altura da imagem em pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Reamostragem de imagens para a resolução de exibição.
+ * <p>
+ * A imagem é reduzida em etapas sucessivas de no máximo metade do tamanho, com
+ * interpolação bilinear, o que preserva detalhes sem o custo da média por área. A
+ * codificação do resultado é escolhida pelo {@link ImageEncoder} conforme o conteúdo,
+ * com a qualidade configurada para o JPEG. A codificação acontece em um documento temporário e é copiada para um
+ * stream independente, de modo que pode ser executada fora da thread do documento.
+ */
+final class ImageResampler {
+
+    private ImageResampler() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Cria uma imagem vazia a ser preenchida por {@link #resample}. Ela pode ser desenhada
+     * imediatamente; o conteúdo só é lido ao salvar o documento.
+     */
+    static PDImageXObject placeholder() {
+        try {
+            return new PDImageXObject(new PDStream(new COSStream()), null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao criar imagem", e);
+        }
+    }
+
+    /**
+     * Reduz a imagem para as dimensões informadas e grava o resultado no destino.
+     *
+     * @param source Imagem original
+     * @param width Largura desejada em pixels
+     * @param height Altura desejada em pixels
+     * @param quality Qualidade da compressão JPEG (0.0 - 1.0)
+     * @param target Imagem criada por {@link #placeholder()}
+     * @return Codificação escolhida para o resultado
+     * @throws IOException se houver erro ao decodificar ou codificar a imagem
+     */
+    static ImageEncoding resample(PDImageXObject source, int width, int height, float quality,
+                         PDImageXObject target) throws IOException {
+        BufferedImage scaled = scale(source.getImage(), width, height);
+        ImageEncoding encoding = ImageEncoder.select(scaled);
+        try (PDDocument scratch = new PDDocument()) {
+            PDImageXObject encoded = ImageEncoder.encode(scratch, scaled, encoding, quality);
+            CosCopy.copyStream(encoded.getCOSObject(), target.getCOSObject());
+        }
+        return encoding;
+    }
+
+    static BufferedImage scale(BufferedImage image, int width, int height) {
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+}
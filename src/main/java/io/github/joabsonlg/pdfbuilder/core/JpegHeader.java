@@ -0,0 +1,102 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+/**
+ * Cabeçalho de um arquivo JPEG, lido do marcador SOF.
+ * <p>
+ * Os segmentos anteriores ao quadro são percorridos apenas pelos seus comprimentos, sem
+ * interpretar tabelas nem metadados, de modo que a leitura não depende do tamanho da imagem.
+ * Apenas os processos DCT aceitos pelo filtro DCTDecode do PDF são reconhecidos: baseline,
+ * sequencial estendido e progressivo com Huffman, 8 bits por componente e 1, 3 ou 4 componentes.
+ */
+final class JpegHeader {
+    private static final int SOI = 0xD8;
+    private static final int EOI = 0xD9;
+    private static final int SOS = 0xDA;
+    private static final int TEM = 0x01;
+    private static final int RST0 = 0xD0;
+    private static final int RST7 = 0xD7;
+    private static final int SOF0 = 0xC0;
+    private static final int SOF2 = 0xC2;
+
+    private final int width;
+    private final int height;
+    private final int components;
+
+    private JpegHeader(int width, int height, int components) {
+        this.width = width;
+        this.height = height;
+        this.components = components;
+    }
+
+    /**
+     * Lê o cabeçalho do conteúdo de um arquivo JPEG.
+     *
+     * @param content Bytes do arquivo
+     * @return Cabeçalho da imagem, ou null se o conteúdo não for um JPEG que possa ser
+     *         embutido sem recodificação
+     */
+    static JpegHeader read(byte[] content) {
+        if (content.length < 4 || (content[0] & 0xFF) != 0xFF || (content[1] & 0xFF) != SOI) {
+            return null;
+        }
+        int offset = 2;
+        while (offset + 4 <= content.length) {
+            if ((content[offset] & 0xFF) != 0xFF) {
+                return null;
+            }
+            int marker = content[offset + 1] & 0xFF;
+            if (marker == 0xFF) {
+                // Byte de preenchimento antes do marcador
+                offset++;
+                continue;
+            }
+            if (marker == TEM || (marker >= RST0 && marker <= RST7)) {
+                offset += 2;
+                continue;
+            }
+            if (marker == SOS || marker == EOI) {
+                return null;
+            }
+            int length = (content[offset + 2] & 0xFF) << 8 | content[offset + 3] & 0xFF;
+            if (length < 2) {
+                return null;
+            }
+            if (marker >= SOF0 && marker <= SOF2) {
+                return readFrame(content, offset + 4, length - 2);
+            }
+            offset += 2 + length;
+        }
+        return null;
+    }
+
+    private static JpegHeader readFrame(byte[] content, int offset, int length) {
+        if (length < 6 || offset + 6 > content.length) {
+            return null;
+        }
+        int precision = content[offset] & 0xFF;
+        int height = (content[offset + 1] & 0xFF) << 8 | content[offset + 2] & 0xFF;
+        int width = (content[offset + 3] & 0xFF) << 8 | content[offset + 4] & 0xFF;
+        int components = content[offset + 5] & 0xFF;
+        // Altura zero é definida depois, no marcador DNL, que não é lido aqui
+        if (precision != 8 || width == 0 || height == 0
+                || (components != 1 && components != 3 && components != 4)) {
+            return null;
+        }
+        return new JpegHeader(width, height, components);
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * Retorna o número de componentes de cor: 1 (cinza), 3 (RGB) ou 4 (CMYK).
+     */
+    int getComponents() {
+        return components;
+    }
+}
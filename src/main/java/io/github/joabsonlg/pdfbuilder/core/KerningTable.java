@@ -0,0 +1,79 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de pares de kerning com endereçamento aberto sobre arrays primitivos.
+ * <p>
+ * Cada par de code points do plano multilíngue básico é codificado em um {@code int}
+ * e localizado por sondagem linear, sem alocação nem boxing por consulta. A tabela
+ * é montada uma única vez por fonte e só é lida depois disso.
+ */
+final class KerningTable {
+    /** Chave do par (U+FFFF, U+FFFF); U+FFFF é um não caractere e nunca aparece em fontes. */
+    private static final int EMPTY = -1;
+
+    private final int[] keys;
+    private final short[] values;
+    private final int mask;
+    private final int size;
+
+    /**
+     * Monta a tabela a partir de chaves e ajustes correspondentes.
+     *
+     * @param pairKeys Chaves dos pares, geradas por {@link #key(int, int)}
+     * @param adjustments Ajustes em unidades de glifo
+     */
+    KerningTable(int[] pairKeys, short[] adjustments) {
+        int capacity = Integer.highestOneBit(Math.max(4, pairKeys.length * 2 - 1)) << 1;
+        this.keys = new int[capacity];
+        this.values = new short[capacity];
+        this.mask = capacity - 1;
+        this.size = pairKeys.length;
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < pairKeys.length; i++) {
+            int slot = slot(pairKeys[i]);
+            while (keys[slot] != EMPTY && keys[slot] != pairKeys[i]) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = pairKeys[i];
+            values[slot] = adjustments[i];
+        }
+    }
+
+    static int key(int first, int second) {
+        return first << 16 | second;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retorna o ajuste entre dois caracteres em unidades de glifo.
+     *
+     * @param first Code point do primeiro caractere
+     * @param second Code point do segundo caractere
+     * @return Ajuste horizontal (negativo aproxima os glifos) ou 0 se não houver par
+     */
+    int get(int first, int second) {
+        if ((first | second) > Character.MAX_VALUE) {
+            return 0;
+        }
+        int key = key(first, second);
+        int slot = slot(key);
+        int current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    private int slot(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -21,7 +21,15 @@ import org.slf4j.LoggerFactory;
 
 import java.awt.*;
 import java.io.ByteArrayOutputStream;
+import java.nio.file.Paths;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Classe principal para construção de documentos PDF.
@@ -34,8 +42,11 @@ public class PDFBuilder {
     private final PDDocument document;
     private final PDFConfiguration config;
     private final ResourceManager resourceManager;
+    // Estado de layout do documento; a configuração é imutável e pode ser compartilhada
+    private final PDRectangle pageSize;
+    private SafeArea safeArea;
     private PDPage currentPage;
-    private PDPageContentStream contentStream;
+    private ContentStreamWriter contentStream;
     private Coordinates currentPosition;
     private float currentFontSize;
     private float lineSpacing;
@@ -43,6 +54,7 @@ public class PDFBuilder {
     private PageSection header;
     private PageSection footer;
     private Logo logo;
+    private Executor pageExecutor;
 
     /**
      * Cria uma nova instância do PDFBuilder com a configuração fornecida.
@@ -51,25 +63,53 @@ public class PDFBuilder {
      */
     public PDFBuilder(PDFConfiguration config) {
         this.config = config;
+        this.pageSize = config.getPageSize();
+        this.safeArea = config.getSafeArea();
         this.document = new PDDocument();
-        this.currentPage = new PDPage(config.getPageSize());
+        this.currentPage = new PDPage(pageSize);
         this.document.addPage(currentPage);
         this.lineSpacing = 1.5f;
         this.currentFontSize = DEFAULT_FONT_SIZE;
         this.resourceManager = new ResourceManager(document);
+        this.resourceManager.setImageResolution(config.getDpi(), config.getCompressionQuality());
+        this.resourceManager.setBackgroundConversion(true);
 
         try {
-            this.contentStream = new PDPageContentStream(document, currentPage);
-            this.currentPosition = Coordinates.origin(config.getPageSize(), config.getSafeArea())
+            this.contentStream = new ContentStreamWriter(new PDPageContentStream(document, currentPage));
+            this.currentPosition = Coordinates.origin(pageSize, safeArea)
                     .moveTo(
-                            config.getSafeArea().getMarginLeft(),
-                            config.getPageSize().getHeight() - config.getSafeArea().getMarginTop()
+                            safeArea.getMarginLeft(),
+                            pageSize.getHeight() - safeArea.getMarginTop()
                     );
         } catch (IOException e) {
             LOGGER.error("Erro ao gerar o PDF: {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * Substitui a primeira página, ainda vazia, por uma cópia do conteúdo e dos recursos do
+     * modelo. O conteúdo adicionado em seguida é gravado em um stream acrescentado à página,
+     * a partir da posição em que o modelo terminou. O logo, o cabeçalho, o rodapé e a
+     * numeração do modelo passam a valer para o documento, como se definidos neste builder.
+     *
+     * @param template Modelo pré-renderizado
+     * @throws IOException se houver erro ao copiar o modelo
+     */
+    void applyTemplate(DocumentTemplate template) throws IOException {
+        // O stream vazio da página deixa de ser referenciado e não é gravado
+        contentStream.close();
+        template.copyTo(currentPage);
+        // O conteúdo do modelo é isolado em q/Q para não alterar o estado gráfico do builder
+        contentStream = new ContentStreamWriter(new PDPageContentStream(
+                document, currentPage, PDPageContentStream.AppendMode.APPEND, true, true));
+        currentPosition = Coordinates.origin(pageSize, safeArea)
+                .moveTo(template.getFlowX(), template.getFlowY());
+        logo = template.logoFor(currentPage);
+        header = template.getHeader();
+        footer = template.getFooter();
+        pageNumbering = template.getPageNumbering();
+    }
+
     /**
      * Cria uma nova instância do PDFBuilder com configuração padrão.
      *
@@ -108,6 +148,14 @@ public class PDFBuilder {
     }
 
     private void addNewPageInternal() throws IOException {
+        finishPage();
+        startPage();
+    }
+
+    /**
+     * Adiciona o rodapé e fecha o content stream da página atual.
+     */
+    private void finishPage() throws IOException {
         if (contentStream != null) {
             // Adiciona o rodapé antes de fechar a página atual
             if (footer != null) {
@@ -115,22 +163,27 @@ public class PDFBuilder {
             }
             contentStream.close();
         }
+    }
 
+    /**
+     * Cria uma nova página e posiciona o cursor no topo da área segura, abaixo do logo.
+     */
+    private void startPage() throws IOException {
         // Cria nova página
-        currentPage = new PDPage(config.getPageSize());
+        currentPage = new PDPage(pageSize);
         document.addPage(currentPage);
 
-        // Reseta a SafeArea para os valores padrão
-        config.getSafeArea().reset();
+        // Restaura a área segura da configuração
+        safeArea = config.getSafeArea();
 
         // Cria novo content stream
-        contentStream = new PDPageContentStream(document, currentPage);
+        contentStream = new ContentStreamWriter(new PDPageContentStream(document, currentPage));
 
         // Reseta a posição para o topo da nova página
-        currentPosition = Coordinates.origin(config.getPageSize(), config.getSafeArea())
+        currentPosition = Coordinates.origin(pageSize, safeArea)
                 .moveTo(
-                        config.getSafeArea().getMarginLeft(),
-                        config.getPageSize().getHeight() - config.getSafeArea().getMarginTop()
+                        safeArea.getMarginLeft(),
+                        pageSize.getHeight() - safeArea.getMarginTop()
                 );
 
         // Adiciona logo à nova página
@@ -139,6 +192,127 @@ public class PDFBuilder {
         }
     }
 
+    /**
+     * Adiciona páginas cujo conteúdo já está paginado, como tabelas com altura de linha fixa
+     * ou conteúdo distribuído previamente entre as páginas.
+     * <p>
+     * A primeira página do lote é a página atual, a partir da posição atual; cada página
+     * seguinte é criada como em {@link #addNewPage()}, com o logo e o rodapé, e a última
+     * permanece como página atual. Com um executor definido por
+     * {@link #setPageExecutor(Executor)}, as páginas intermediárias, que não dependem umas
+     * das outras, são criadas na ordem e renderizadas concorrentemente, cada uma no próprio
+     * content stream. O documento gerado é idêntico ao da renderização sequencial.
+     *
+     * @param pageCount Número de páginas do lote
+     * @param renderer Função que renderiza cada página; com executor, é chamada por várias threads
+     * @return this para chamadas encadeadas
+     */
+    public PDFBuilder addPages(int pageCount, PageRenderer renderer) {
+        if (pageCount < 1) {
+            throw new IllegalArgumentException("Número de páginas deve ser positivo");
+        }
+        if (renderer == null) {
+            throw new IllegalArgumentException("Função de renderização não pode ser nula");
+        }
+        try {
+            renderPage(renderer, 0);
+            if (pageExecutor == null || pageCount < 3) {
+                for (int i = 1; i < pageCount; i++) {
+                    addNewPageInternal();
+                    renderPage(renderer, i);
+                }
+            } else {
+                renderPagesConcurrently(pageCount, renderer);
+            }
+            LOGGER.debug("Lote de {} páginas adicionado", pageCount);
+            return this;
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao adicionar páginas", e);
+        }
+    }
+
+    /**
+     * Define o executor que renderiza concorrentemente as páginas intermediárias de
+     * {@link #addPages(int, PageRenderer)}. Sem executor, o padrão, as páginas são
+     * renderizadas em sequência.
+     *
+     * @param executor Executor das páginas, ou null para renderizar em sequência
+     * @return this para chamadas encadeadas
+     */
+    public PDFBuilder setPageExecutor(Executor executor) {
+        this.pageExecutor = executor;
+        return this;
+    }
+
+    private void renderPage(PageRenderer renderer, int index) throws IOException {
+        float safeWidth = safeArea.getContentArea(pageSize).getWidth();
+        float newY = renderer.render(index, contentStream, currentPosition.getX(), currentPosition.getY(), safeWidth);
+        currentPosition = currentPosition.moveTo(currentPosition.getX(), newY);
+    }
+
+    /**
+     * Renderiza as páginas intermediárias do lote no executor. A primeira e a última página
+     * usam o content stream do builder.
+     */
+    private void renderPagesConcurrently(int pageCount, PageRenderer renderer) throws IOException {
+        finishPage();
+        // Número da primeira página intermediária no documento
+        int firstNumber = document.getNumberOfPages() + 1;
+        ArrayList<CompletableFuture<Void>> rendered = new ArrayList<>(pageCount - 2);
+        for (int i = 1; i < pageCount - 1; i++) {
+            // As páginas e os streams são criados nesta thread, na ordem do documento, pois a
+            // árvore de páginas e o registro de streams não são sincronizados; as threads do
+            // executor apenas escrevem no stream de cada página
+            PDPage page = new PDPage(pageSize);
+            document.addPage(page);
+            ContentStreamWriter writer = new ContentStreamWriter(new PDPageContentStream(document, page), document);
+            int index = i;
+            int pageNumber = firstNumber + i - 1;
+            rendered.add(CompletableFuture.runAsync(() -> renderDetached(writer, renderer, index, pageNumber),
+                    pageExecutor));
+        }
+        for (CompletableFuture<Void> page : rendered) {
+            try {
+                page.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+                throw e;
+            }
+        }
+        startPage();
+        renderPage(renderer, pageCount - 1);
+    }
+
+    /**
+     * Renderiza uma página intermediária com o logo, o conteúdo e o rodapé, na mesma
+     * sequência de {@link #startPage()} e {@link #finishPage()}.
+     */
+    private void renderDetached(ContentStreamWriter writer, PageRenderer renderer, int index, int pageNumber) {
+        try (writer) {
+            SafeArea pageSafeArea = config.getSafeArea();
+            Coordinates position = Coordinates.origin(pageSize, pageSafeArea)
+                    .moveTo(
+                            pageSafeArea.getMarginLeft(),
+                            pageSize.getHeight() - pageSafeArea.getMarginTop()
+                    );
+            if (logo != null) {
+                logo.render(writer, pageSize.getWidth(), position.getY(),
+                        pageSafeArea.getMarginLeft(), pageSafeArea.getMarginRight());
+                position = position.moveBy(0, -logo.getTotalHeight());
+            }
+            float safeWidth = pageSafeArea.getContentArea(pageSize).getWidth();
+            renderer.render(index, writer, position.getX(), position.getY(), safeWidth);
+            if (footer != null) {
+                // O rodapé de cada página é desenhado quando ela é a última do documento
+                renderFooter(writer, pageSafeArea, pageNumber, pageNumber);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao renderizar a página " + pageNumber, e);
+        }
+    }
+
     /**
      * Move para uma posição específica na página.
      *
@@ -205,7 +379,7 @@ public class PDFBuilder {
      * @return this para chamadas encadeadas
      */
     public PDFBuilder moveToTop() {
-        PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+        PDRectangle contentArea = safeArea.getContentArea(pageSize);
         float y = contentArea.getUpperRightY();
         currentPosition = currentPosition.moveTo(currentPosition.getX(), y);
         return this;
@@ -217,7 +391,7 @@ public class PDFBuilder {
      * @return this para chamadas encadeadas
      */
     public PDFBuilder moveToStart() {
-        PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+        PDRectangle contentArea = safeArea.getContentArea(pageSize);
         float x = contentArea.getLowerLeftX();
         currentPosition = currentPosition.moveTo(x, currentPosition.getY());
         return this;
@@ -229,7 +403,7 @@ public class PDFBuilder {
      * @return this para chamadas encadeadas
      */
     public PDFBuilder moveToBottom() {
-        PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+        PDRectangle contentArea = safeArea.getContentArea(pageSize);
         float y = contentArea.getLowerLeftY();
         currentPosition = currentPosition.moveTo(currentPosition.getX(), y);
         return this;
@@ -269,7 +443,7 @@ public class PDFBuilder {
             contentStream.beginText();
             contentStream.setFont(font, currentFontSize);
             contentStream.newLineAtOffset(currentPosition.getX(), currentPosition.getY());
-            contentStream.showText(text);
+            FontFallback.showText(contentStream, font, resourceManager.getFallbackFonts(), text, currentFontSize);
             contentStream.endText();
 
             LOGGER.debug("Texto adicionado: {}", text);
@@ -291,11 +465,11 @@ public class PDFBuilder {
             contentStream.beginText();
             contentStream.setFont(font, currentFontSize);
             contentStream.newLineAtOffset(currentPosition.getX(), currentPosition.getY());
-            contentStream.showText(text);
+            FontFallback.showText(contentStream, font, resourceManager.getFallbackFonts(), text, currentFontSize);
             contentStream.endText();
 
             // Move para a próxima linha
-            float lineHeight = font.getBoundingBox().getHeight() / 1000 * currentFontSize * lineSpacing;
+            float lineHeight = TextMeasurer.getBoundingBoxHeight(font, currentFontSize) * lineSpacing;
             moveDown(lineHeight);
             moveToStart();
 
@@ -313,10 +487,22 @@ public class PDFBuilder {
      * @return this para chamadas encadeadas
      */
     public PDFBuilder addSimpleText(SimpleText simpleText) {
+        return addSimpleText(simpleText, Map.of());
+    }
+
+    /**
+     * Adiciona um componente de texto simples, substituindo os campos {@code {{nome}}} do
+     * texto pelos valores informados.
+     *
+     * @param simpleText Componente de texto
+     * @param values Valores dos campos, por nome
+     * @return this para chamadas encadeadas
+     */
+    public PDFBuilder addSimpleText(SimpleText simpleText, Map<String, String> values) {
         try {
-            PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+            PDRectangle contentArea = safeArea.getContentArea(pageSize);
             float safeWidth = contentArea.getWidth();
-            float newY = simpleText.render(contentStream, currentPosition.getX(), currentPosition.getY(), safeWidth);
+            float newY = simpleText.render(contentStream, currentPosition.getX(), currentPosition.getY(), safeWidth, values);
             currentPosition = currentPosition.moveTo(currentPosition.getX(), newY);
             LOGGER.debug("SimpleText adicionado com quebra de linha automática");
             return this;
@@ -332,14 +518,26 @@ public class PDFBuilder {
      * @return this para chamadas encadeadas
      */
     public PDFBuilder addParagraph(Paragraph paragraph) {
+        return addParagraph(paragraph, Map.of());
+    }
+
+    /**
+     * Adiciona um parágrafo com alinhamento, substituindo os campos {@code {{nome}}} do
+     * texto pelos valores informados.
+     *
+     * @param paragraph Componente de parágrafo
+     * @param values Valores dos campos, por nome
+     * @return this para chamadas encadeadas
+     */
+    public PDFBuilder addParagraph(Paragraph paragraph, Map<String, String> values) {
         try {
-            PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+            PDRectangle contentArea = safeArea.getContentArea(pageSize);
             float safeWidth = contentArea.getWidth();
 
             // Verifica se precisa de nova página
-            checkNewPage(paragraph.calculateHeight());
+            checkNewPage(paragraph.calculateHeight(values));
 
-            float newY = paragraph.render(contentStream, currentPosition.getX(), currentPosition.getY(), safeWidth);
+            float newY = paragraph.render(contentStream, currentPosition.getX(), currentPosition.getY(), safeWidth, values);
             currentPosition = currentPosition.moveTo(currentPosition.getX(), newY);
             LOGGER.debug("Parágrafo adicionado com alinhamento");
             return this;
@@ -356,7 +554,7 @@ public class PDFBuilder {
      */
     public PDFBuilder addHeading(Heading heading) {
         try {
-            PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+            PDRectangle contentArea = safeArea.getContentArea(pageSize);
             float safeWidth = contentArea.getWidth();
             float newY = heading.render(contentStream, currentPosition.getX(), currentPosition.getY(), safeWidth);
             currentPosition = currentPosition.moveTo(currentPosition.getX(), newY);
@@ -373,7 +571,7 @@ public class PDFBuilder {
      * @param heightNeeded Altura necessária para o próximo elemento
      */
     private void checkNewPage(float heightNeeded) throws IOException {
-        PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+        PDRectangle contentArea = safeArea.getContentArea(pageSize);
         float bottomLimit = contentArea.getLowerLeftY();
 
         if (currentPosition.getY() - heightNeeded < bottomLimit) {
@@ -386,18 +584,18 @@ public class PDFBuilder {
             }
 
             // Cria nova página
-            PDPage newPage = new PDPage(config.getPageSize());
+            PDPage newPage = new PDPage(pageSize);
             document.addPage(newPage);
             currentPage = newPage;
 
             // Cria novo content stream
-            contentStream = new PDPageContentStream(document, currentPage);
+            contentStream = new ContentStreamWriter(new PDPageContentStream(document, currentPage));
 
             // Reseta a posição para o topo da nova página
-            currentPosition = Coordinates.origin(config.getPageSize(), config.getSafeArea())
+            currentPosition = Coordinates.origin(pageSize, safeArea)
                     .moveTo(
-                            config.getSafeArea().getMarginLeft(),
-                            config.getPageSize().getHeight() - config.getSafeArea().getMarginTop()
+                            safeArea.getMarginLeft(),
+                            pageSize.getHeight() - safeArea.getMarginTop()
                     );
 
             // Adiciona o cabeçalho e logo após criar o contentStream
@@ -414,7 +612,7 @@ public class PDFBuilder {
      */
     public PDFBuilder addImage(Image image) {
         try {
-            PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+            PDRectangle contentArea = safeArea.getContentArea(pageSize);
             float safeWidth = contentArea.getWidth();
             Dimension dimensions = image.getDimensions();
             float aspectRatio = dimensions.height / (float) dimensions.width;
@@ -439,22 +637,31 @@ public class PDFBuilder {
     }
 
     /**
-     * Adiciona uma tabela ao documento.
+     * Adiciona uma tabela ao documento. O texto das células é quebrado e medido uma única
+     * vez. Uma tabela que não cabe no espaço restante da página passa inteira para a página
+     * seguinte; apenas as tabelas mais altas que uma página são divididas entre páginas, pelas
+     * alturas medidas das linhas, com o cabeçalho repetido no topo de cada continuação.
      *
      * @param table Componente de tabela
      * @return this para chamadas encadeadas
      */
     public PDFBuilder addTable(Table table) {
         try {
-            PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+            PDRectangle contentArea = safeArea.getContentArea(pageSize);
             float safeWidth = contentArea.getWidth();
 
-            float tableHeight = table.calculateHeight();
-
-            checkNewPage(tableHeight);
+            Table.Layout layout = table.layout(safeWidth);
+            float tableHeight = 0;
+            for (float rowHeight : layout.getRowHeights()) {
+                tableHeight += rowHeight;
+            }
 
-            float newY = table.render(contentStream, currentPosition.getX(), currentPosition.getY(), safeWidth);
-            currentPosition = currentPosition.moveTo(currentPosition.getX(), newY);
+            if (tableHeight <= getPageContentHeight()) {
+                checkNewPage(tableHeight);
+                addTableRows(table, layout, 0, layout.getRowCount());
+            } else {
+                addTableAcrossPages(table, layout);
+            }
 
             // Adiciona espaço após a tabela
             moveDown(20); // 20 pontos de espaço após a tabela
@@ -466,6 +673,53 @@ public class PDFBuilder {
         }
     }
 
+    /**
+     * Divide entre páginas uma tabela mais alta que uma página, emitindo as linhas enquanto
+     * couberem e repetindo o cabeçalho no topo de cada página de continuação.
+     */
+    private void addTableAcrossPages(Table table, Table.Layout layout) throws IOException {
+        int rowCount = layout.getRowCount();
+        int headerRows = table.hasHeader() && rowCount > 1 ? 1 : 0;
+        // O cabeçalho não fica sozinho no pé da página: começa com ao menos uma linha de dados
+        float firstRows = 0;
+        for (int row = 0; row < Math.min(headerRows + 1, rowCount); row++) {
+            firstRows += layout.getRowHeight(row);
+        }
+        checkNewPage(firstRows);
+
+        float bottomLimit = safeArea.getContentArea(pageSize).getLowerLeftY();
+        int fromRow = 0;
+        float y = currentPosition.getY();
+        for (int row = 0; row < rowCount; row++) {
+            float rowHeight = layout.getRowHeight(row);
+            if (row > fromRow && row > headerRows && y - rowHeight < bottomLimit) {
+                // Emite as linhas que couberam e continua na página seguinte
+                addTableRows(table, layout, fromRow, row);
+                checkNewPage(rowHeight);
+                addTableRows(table, layout, 0, headerRows);
+                fromRow = row;
+                y = currentPosition.getY();
+            }
+            y -= rowHeight;
+        }
+        addTableRows(table, layout, fromRow, rowCount);
+    }
+
+    /**
+     * Retorna a altura disponível para o conteúdo em uma página nova, abaixo do logo.
+     */
+    private float getPageContentHeight() {
+        float top = pageSize.getHeight() - safeArea.getMarginTop() - (logo != null ? logo.getTotalHeight() : 0);
+        return top - safeArea.getContentArea(pageSize).getLowerLeftY();
+    }
+
+    private void addTableRows(Table table, Table.Layout layout, int fromRow, int toRow) throws IOException {
+        if (fromRow < toRow) {
+            float newY = table.render(contentStream, currentPosition.getX(), currentPosition.getY(), layout, fromRow, toRow);
+            currentPosition = currentPosition.moveTo(currentPosition.getX(), newY);
+        }
+    }
+
     /**
      * Adiciona uma lista ao documento.
      *
@@ -474,7 +728,7 @@ public class PDFBuilder {
      */
     public PDFBuilder addList(List list) {
         try {
-            PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+            PDRectangle contentArea = safeArea.getContentArea(pageSize);
             float safeWidth = contentArea.getWidth();
             float newY = list.render(contentStream, currentPosition.getX(), currentPosition.getY(), safeWidth, this);
             currentPosition = currentPosition.moveTo(currentPosition.getX(), newY);
@@ -637,10 +891,10 @@ public class PDFBuilder {
         PDImageXObject rightImage = null;
 
         if (leftImagePath != null) {
-            leftImage = PDImageXObject.createFromFile(leftImagePath, document);
+            leftImage = resourceManager.ingestImage(Paths.get(leftImagePath));
         }
         if (rightImagePath != null) {
-            rightImage = PDImageXObject.createFromFile(rightImagePath, document);
+            rightImage = resourceManager.ingestImage(Paths.get(rightImagePath));
         }
 
         this.logo = Logo.builder()
@@ -652,10 +906,10 @@ public class PDFBuilder {
 
         try {
             // Reseta a posição e adiciona o logo
-            currentPosition = Coordinates.origin(config.getPageSize(), config.getSafeArea())
+            currentPosition = Coordinates.origin(pageSize, safeArea)
                     .moveTo(
-                            config.getSafeArea().getMarginLeft(),
-                            config.getPageSize().getHeight() - config.getSafeArea().getMarginTop()
+                            safeArea.getMarginLeft(),
+                            pageSize.getHeight() - safeArea.getMarginTop()
                     );
             addLogo();
         } catch (IOException e) {
@@ -670,8 +924,8 @@ public class PDFBuilder {
     private void addHeader() throws IOException {
         if (header != null) {
             // Posiciona o header na margem superior
-            float y = config.getPageSize().getHeight() - config.getMarginTop() - 5;
-            header.render(contentStream, config.getPageSize().getWidth(), y, config.getMarginLeft(), config.getMarginRight());
+            float y = pageSize.getHeight() - config.getMarginTop() - 5;
+            header.render(contentStream, pageSize.getWidth(), y, config.getMarginLeft(), config.getMarginRight());
         }
     }
 
@@ -680,17 +934,26 @@ public class PDFBuilder {
      */
     private void addFooter() throws IOException {
         if (footer != null) {
-            float footerY = config.getSafeArea().getMarginBottom();
-            footer.render(contentStream, config.getPageSize().getWidth(), footerY,
-                    config.getSafeArea().getMarginLeft(), config.getSafeArea().getMarginRight());
-
-            // Adiciona numeração de página se configurada
+            int pageNumber = 0;
+            int totalPages = 0;
             if (pageNumbering != null) {
-                int pageNumber = document.getPages().indexOf(currentPage) + 1;
-                int totalPages = document.getNumberOfPages();
-                pageNumbering.render(contentStream, config.getPageSize().getWidth(),
-                        config.getPageSize().getHeight(), pageNumber, totalPages);
+                pageNumber = document.getPages().indexOf(currentPage) + 1;
+                totalPages = document.getNumberOfPages();
             }
+            renderFooter(contentStream, safeArea, pageNumber, totalPages);
+        }
+    }
+
+    private void renderFooter(ContentStreamWriter writer, SafeArea area, int pageNumber, int totalPages)
+            throws IOException {
+        float footerY = area.getMarginBottom();
+        footer.render(writer, pageSize.getWidth(), footerY,
+                area.getMarginLeft(), area.getMarginRight());
+
+        // Adiciona numeração de página se configurada
+        if (pageNumbering != null) {
+            pageNumbering.render(writer, pageSize.getWidth(),
+                    pageSize.getHeight(), pageNumber, totalPages);
         }
     }
 
@@ -702,8 +965,8 @@ public class PDFBuilder {
             float y = currentPosition.getY();
 
             // Renderiza o logo
-            logo.render(contentStream, config.getPageSize().getWidth(), y,
-                    config.getSafeArea().getMarginLeft(), config.getSafeArea().getMarginRight());
+            logo.render(contentStream, pageSize.getWidth(), y,
+                    safeArea.getMarginLeft(), safeArea.getMarginRight());
 
             // Atualiza a posição atual para logo abaixo do logo
             float logoHeight = logo.getTotalHeight();
@@ -711,6 +974,20 @@ public class PDFBuilder {
         }
     }
 
+    /**
+     * Conclui a página atual, com o rodapé, e prepara os recursos do documento para a
+     * serialização.
+     */
+    void finish() throws IOException {
+        if (contentStream != null) {
+            addFooter();
+            contentStream.close();
+            contentStream = null;
+        }
+        resourceManager.completeImages();
+        resourceManager.subsetFonts();
+    }
+
     /**
      * Salva o documento no caminho especificado.
      *
@@ -719,11 +996,7 @@ public class PDFBuilder {
     public void save(String path) {
         try {
             // Add footer to the last page before saving
-            if (contentStream != null) {
-                addFooter();
-                contentStream.close();
-                contentStream = null;
-            }
+            finish();
             document.save(path);
             LOGGER.debug("Documento salvo em: {}", path);
         } catch (IOException e) {
@@ -738,12 +1011,18 @@ public class PDFBuilder {
      * @throws IOException Se ocorrer um erro ao salvar o documento
      */
     public void saveToOutputStream(ByteArrayOutputStream outputStream) throws IOException {
+        saveToOutputStream((OutputStream) outputStream);
+    }
+
+    /**
+     * Salva o documento PDF no stream informado e fecha o documento. O stream não é fechado.
+     *
+     * @param outputStream Stream onde o PDF será salvo
+     * @throws IOException Se ocorrer um erro ao salvar o documento
+     */
+    public void saveToOutputStream(OutputStream outputStream) throws IOException {
         try {
-            if (contentStream != null) {
-                addFooter();
-                contentStream.close();
-                contentStream = null;
-            }
+            finish();
             document.save(outputStream);
         } finally {
             if (document != null) {
@@ -777,7 +1056,7 @@ public class PDFBuilder {
      */
     public PDFBuilder addHorizontalRule(Color color) {
         try {
-            PDRectangle contentArea = config.getSafeArea().getContentArea(config.getPageSize());
+            PDRectangle contentArea = safeArea.getContentArea(pageSize);
             float safeWidth = contentArea.getWidth();
 
             // Verifica se precisa de nova página
@@ -836,4 +1115,43 @@ public class PDFBuilder {
     public Coordinates getCurrentPosition() {
         return currentPosition;
     }
+
+    public float getFontSize() {
+        return currentFontSize;
+    }
+
+    Logo getLogo() {
+        return logo;
+    }
+
+    PageSection getHeader() {
+        return header;
+    }
+
+    PageSection getFooter() {
+        return footer;
+    }
+
+    PageNumbering getPageNumbering() {
+        return pageNumbering;
+    }
+
+    /**
+     * Renderiza o conteúdo de uma página de {@link #addPages(int, PageRenderer)}.
+     */
+    @FunctionalInterface
+    public interface PageRenderer {
+        /**
+         * Renderiza o conteúdo da página a partir da posição informada.
+         *
+         * @param page Índice da página no lote, a partir de zero
+         * @param contentStream Writer exclusivo da página
+         * @param x Posição X inicial
+         * @param y Posição Y inicial, abaixo do logo
+         * @param maxWidth Largura da área de conteúdo
+         * @return Posição Y final após renderizar o conteúdo
+         * @throws IOException se houver erro ao renderizar
+         */
+        float render(int page, ContentStreamWriter contentStream, float x, float y, float maxWidth) throws IOException;
+    }
 }
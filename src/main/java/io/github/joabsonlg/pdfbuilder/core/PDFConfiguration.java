@@ -7,6 +7,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Configurações globais para documentos PDF.
  * Esta classe usa o padrão Builder para uma configuração fluente.
+ * <p>
+ * Instâncias são imutáveis: os métodos {@code with} criam uma nova configuração e o tamanho
+ * da página, que no PDFBox é mutável, é copiado na entrada e na saída. Uma mesma configuração
+ * pode ser compartilhada por documentos gerados simultaneamente.
  */
 public final class PDFConfiguration {
     private static final Logger LOGGER = LoggerFactory.getLogger(PDFConfiguration.class);
@@ -33,7 +37,7 @@ public final class PDFConfiguration {
     private final SafeArea safeArea;
 
     private PDFConfiguration(Builder builder) {
-        this.pageSize = builder.pageSize;
+        this.pageSize = copyOf(builder.pageSize);
         this.dpi = builder.dpi;
         this.compressionQuality = builder.compressionQuality;
         this.fontSize = builder.fontSize;
@@ -151,8 +155,12 @@ public final class PDFConfiguration {
     }
 
     // Getters
+
+    /**
+     * Retorna uma cópia do tamanho da página.
+     */
     public PDRectangle getPageSize() {
-        return pageSize;
+        return copyOf(pageSize);
     }
 
     public SafeArea getSafeArea() {
@@ -203,6 +211,11 @@ public final class PDFConfiguration {
         return new PDRectangle(width, height);
     }
 
+    private static PDRectangle copyOf(PDRectangle rectangle) {
+        return new PDRectangle(rectangle.getLowerLeftX(), rectangle.getLowerLeftY(),
+                rectangle.getWidth(), rectangle.getHeight());
+    }
+
     public static class Builder {
         private PDRectangle pageSize = DEFAULT_PAGE_SIZE;
         private SafeArea safeArea = SafeArea.builder().build();
@@ -0,0 +1,198 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Conversão de arquivos PNG em imagens do PDF reaproveitando os dados comprimidos.
+ * <p>
+ * O filtro FlateDecode com preditor PNG (Predictor 15) do PDF decodifica os mesmos dados
+ * do chunk IDAT. Imagens em tons de cinza são embutidas com esses bytes sem alteração. Nas
+ * imagens com canal alfa, os dados são descomprimidos e cada linha, ainda filtrada, é
+ * separada em cor e máscara: os filtros PNG operam byte a byte sobre o mesmo canal do pixel
+ * anterior e da linha anterior, de modo que a separação preserva o filtro de cada linha e
+ * dispensa desfazer a predição.
+ * <p>
+ * Imagens RGB e indexadas já são reaproveitadas pelo PDFBox e não são tratadas aqui, assim
+ * como imagens entrelaçadas, com 16 bits, com transparência por tRNS ou com perfil ICC.
+ */
+final class PngImage {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private static final int GRAY = 0;
+    private static final int GRAY_ALPHA = 4;
+    private static final int RGB_ALPHA = 6;
+
+    private PngImage() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Cria a imagem do PDF a partir do conteúdo de um arquivo PNG.
+     *
+     * @param document Documento que receberá a imagem
+     * @param content Bytes do arquivo
+     * @return Imagem do documento, ou null se o conteúdo não puder ser convertido sem decodificação
+     * @throws IOException se os dados comprimidos da imagem estiverem corrompidos
+     */
+    static PDImageXObject create(PDDocument document, byte[] content) throws IOException {
+        if (content.length < SIGNATURE.length || !startsWithSignature(content)) {
+            return null;
+        }
+        int width = 0;
+        int height = 0;
+        int bitDepth = 0;
+        int colorType = -1;
+        List<InputStream> data = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        int offset = SIGNATURE.length;
+        while (offset + 12 <= content.length) {
+            int length = readInt(content, offset);
+            if (length < 0 || length > content.length - offset - 12) {
+                return null;
+            }
+            String type = new String(content, offset + 4, 4, StandardCharsets.ISO_8859_1);
+            crc.reset();
+            crc.update(content, offset + 4, length + 4);
+            if ((int) crc.getValue() != readInt(content, offset + 8 + length)) {
+                return null;
+            }
+            int start = offset + 8;
+            switch (type) {
+                case "IHDR" -> {
+                    if (length != 13) {
+                        return null;
+                    }
+                    width = readInt(content, start);
+                    height = readInt(content, start + 4);
+                    bitDepth = content[start + 8];
+                    colorType = content[start + 9];
+                    // Compressão e filtro têm apenas o método 0; o entrelaçamento Adam7 não é suportado
+                    if (content[start + 10] != 0 || content[start + 11] != 0 || content[start + 12] != 0) {
+                        return null;
+                    }
+                }
+                case "IDAT" -> data.add(new ByteArrayInputStream(content, start, length));
+                case "tRNS", "iCCP" -> {
+                    return null;
+                }
+                case "IEND" -> {
+                    return build(document, width, height, bitDepth, colorType, data);
+                }
+                default -> {
+                    // Chunks auxiliares, como gAMA e texto, também são ignorados pela decodificação completa
+                }
+            }
+            offset = start + length + 4;
+        }
+        return null;
+    }
+
+    private static PDImageXObject build(PDDocument document, int width, int height, int bitDepth, int colorType,
+                                        List<InputStream> data) throws IOException {
+        if (width <= 0 || height <= 0 || data.isEmpty()) {
+            return null;
+        }
+        InputStream compressed = new SequenceInputStream(Collections.enumeration(data));
+        if (colorType == GRAY && (bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8)) {
+            PDImageXObject image = new PDImageXObject(document, compressed, COSName.FLATE_DECODE,
+                    width, height, bitDepth, PDDeviceGray.INSTANCE);
+            image.getCOSObject().setItem(COSName.DECODE_PARMS, predictor(width, 1, bitDepth));
+            return image;
+        }
+        if ((colorType == GRAY_ALPHA || colorType == RGB_ALPHA) && bitDepth == 8) {
+            int colors = colorType == GRAY_ALPHA ? 1 : 3;
+            return split(document, width, height, colors, compressed);
+        }
+        return null;
+    }
+
+    /**
+     * Separa as linhas filtradas em cor e alfa, gerando a imagem e a sua máscara suave.
+     */
+    private static PDImageXObject split(PDDocument document, int width, int height, int colors,
+                                        InputStream compressed) throws IOException {
+        int pixelBytes = colors + 1;
+        byte[] row = new byte[1 + width * pixelBytes];
+        byte[] colorRow = new byte[1 + width * colors];
+        byte[] alphaRow = new byte[1 + width];
+        COSStream colorStream = document.getDocument().createCOSStream();
+        COSStream alphaStream = document.getDocument().createCOSStream();
+        try (InputStream in = new InflaterInputStream(compressed);
+             OutputStream colorOut = colorStream.createOutputStream(COSName.FLATE_DECODE);
+             OutputStream alphaOut = alphaStream.createOutputStream(COSName.FLATE_DECODE)) {
+            for (int y = 0; y < height; y++) {
+                if (in.readNBytes(row, 0, row.length) != row.length || row[0] < 0 || row[0] > 4) {
+                    throw new IOException("Dados da imagem PNG corrompidos");
+                }
+                colorRow[0] = row[0];
+                alphaRow[0] = row[0];
+                for (int x = 0, source = 1, target = 1; x < width; x++, target += colors) {
+                    System.arraycopy(row, source, colorRow, target, colors);
+                    source += colors;
+                    alphaRow[x + 1] = row[source++];
+                }
+                colorOut.write(colorRow);
+                alphaOut.write(alphaRow);
+            }
+        }
+        PDImageXObject image = image(colorStream, width, height, colors == 1 ? PDDeviceGray.INSTANCE : PDDeviceRGB.INSTANCE);
+        PDImageXObject mask = image(alphaStream, width, height, PDDeviceGray.INSTANCE);
+        image.getCOSObject().setItem(COSName.DECODE_PARMS, predictor(width, colors, 8));
+        mask.getCOSObject().setItem(COSName.DECODE_PARMS, predictor(width, 1, 8));
+        image.getCOSObject().setItem(COSName.SMASK, mask);
+        return image;
+    }
+
+    private static PDImageXObject image(COSStream stream, int width, int height, PDColorSpace colorSpace)
+            throws IOException {
+        PDImageXObject image = new PDImageXObject(new PDStream(stream), null);
+        image.setWidth(width);
+        image.setHeight(height);
+        image.setBitsPerComponent(8);
+        image.setColorSpace(colorSpace);
+        return image;
+    }
+
+    private static COSDictionary predictor(int width, int colors, int bitsPerComponent) {
+        COSDictionary parameters = new COSDictionary();
+        parameters.setInt(COSName.PREDICTOR, 15);
+        parameters.setInt(COSName.COLORS, colors);
+        parameters.setInt(COSName.BITS_PER_COMPONENT, bitsPerComponent);
+        parameters.setInt(COSName.COLUMNS, width);
+        return parameters;
+    }
+
+    private static boolean startsWithSignature(byte[] content) {
+        for (int i = 0; i < SIGNATURE.length; i++) {
+            if (content[i] != SIGNATURE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readInt(byte[] content, int offset) {
+        return (content[offset] & 0xFF) << 24 | (content[offset + 1] & 0xFF) << 16
+                | (content[offset + 2] & 0xFF) << 8 | content[offset + 3] & 0xFF;
+    }
+}
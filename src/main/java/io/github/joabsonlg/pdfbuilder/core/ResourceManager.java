@@ -1,19 +1,54 @@
 package io.github.joabsonlg.pdfbuilder.core;
 
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.ResourceCache;
+import org.apache.pdfbox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
 import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceCMYK;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDInlineImage;
+import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
+import org.apache.pdfbox.pdmodel.graphics.shading.PDShading;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.imageio.ImageIO;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
 
 /**
  * Gerenciador de recursos para documentos PDF.
@@ -21,11 +56,34 @@ import java.util.Map;
  */
 public class ResourceManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceManager.class);
+    private static final Method FONTS_TO_SUBSET = findFontsToSubset();
+    /** Excesso mínimo de resolução para que a reamostragem compense uma nova versão da imagem. */
+    private static final float RESAMPLE_THRESHOLD = 1.5f;
+    /** Número padrão de imagens convertidas simultaneamente em segundo plano. */
+    public static final int DEFAULT_IMAGE_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+    private static final float DEFAULT_COMPRESSION_QUALITY = 0.7f;
 
     private final PDDocument document;
     private final Map<String, PDFont> fonts;
     private final Map<String, PDImageXObject> images;
+    private final Map<ContentKey, PDImageXObject> imagesByContent;
+    private final Map<PDImageXObject, Map<Long, PDImageXObject>> resampledImages;
+    private final Map<String, PDImageXObject> stripedImages;
+    private final Set<ContentKey> inlinedImages;
+    private final Map<ContentKey, Integer> imageUses;
+    private final Map<PDImageXObject, CompletableFuture<Void>> ingestingImages;
+    private final List<CompletableFuture<Void>> pendingImages;
+    private final Map<ImageEncoding, Integer> imageEncodings;
     private PDFont defaultFont;
+    private List<PDFont> fallbackFonts = List.of();
+    private Executor subsetExecutor = ForkJoinPool.commonPool();
+    private Executor imageExecutor = ForkJoinPool.commonPool();
+    private Semaphore imagePermits = new Semaphore(DEFAULT_IMAGE_CONCURRENCY);
+    private int imageDpi;
+    private volatile float imageCompressionQuality = DEFAULT_COMPRESSION_QUALITY;
+    private volatile boolean imageEncodingSelection;
+    private boolean backgroundConversion;
+    private int inlineImageThreshold;
 
     /**
      * Cria um novo gerenciador de recursos.
@@ -35,29 +93,44 @@ public class ResourceManager {
         this.document = document;
         this.fonts = new HashMap<>();
         this.images = new HashMap<>();
-        this.defaultFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
-        registerStandardFonts();
+        this.imagesByContent = new HashMap<>();
+        this.resampledImages = new IdentityHashMap<>();
+        this.stripedImages = new HashMap<>();
+        this.inlinedImages = new HashSet<>();
+        this.imageUses = new HashMap<>();
+        this.ingestingImages = new IdentityHashMap<>();
+        this.pendingImages = new ArrayList<>();
+        this.imageEncodings = new EnumMap<>(ImageEncoding.class);
+        this.defaultFont = StandardFonts.get(Standard14Fonts.FontName.HELVETICA);
+        synchronized (document) {
+            ResourceCache cache = document.getResourceCache();
+            document.setResourceCache(new ManagedResourceCache(
+                    cache instanceof ManagedResourceCache managed ? managed.delegate : cache, this));
+        }
         LOGGER.debug("ResourceManager inicializado");
     }
 
     /**
-     * Registra as fontes padrão do PDFBox.
+     * Retorna o gerenciador de recursos em uso para o documento, criando um novo se
+     * nenhum estiver associado a ele. Componentes que recebem apenas o documento usam
+     * este método para compartilhar os recursos do {@link PDFBuilder} que o criou.
+     * <p>
+     * O gerenciador fica associado ao documento pelo cache de recursos do PDFBox, que passa
+     * a delegar ao cache anterior. Assim ele permanece alcançável enquanto o documento
+     * existir, mesmo sem outra referência a ele, e é coletado junto com o documento.
+     * Substituir o cache com {@link PDDocument#setResourceCache} desfaz a associação.
+     * @param document Documento PDF
+     * @return Gerenciador de recursos do documento
+     * @throws IllegalArgumentException se o documento for nulo
      */
-    private void registerStandardFonts() {
-        fonts.put("Helvetica", new PDType1Font(Standard14Fonts.FontName.HELVETICA));
-        fonts.put("Helvetica-Bold", new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD));
-        fonts.put("Helvetica-Oblique", new PDType1Font(Standard14Fonts.FontName.HELVETICA_OBLIQUE));
-        fonts.put("Helvetica-BoldOblique", new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD_OBLIQUE));
-        fonts.put("Times-Roman", new PDType1Font(Standard14Fonts.FontName.TIMES_ROMAN));
-        fonts.put("Times-Bold", new PDType1Font(Standard14Fonts.FontName.TIMES_BOLD));
-        fonts.put("Times-Italic", new PDType1Font(Standard14Fonts.FontName.TIMES_ITALIC));
-        fonts.put("Times-BoldItalic", new PDType1Font(Standard14Fonts.FontName.TIMES_BOLD_ITALIC));
-        fonts.put("Courier", new PDType1Font(Standard14Fonts.FontName.COURIER));
-        fonts.put("Courier-Bold", new PDType1Font(Standard14Fonts.FontName.COURIER_BOLD));
-        fonts.put("Courier-Oblique", new PDType1Font(Standard14Fonts.FontName.COURIER_OBLIQUE));
-        fonts.put("Courier-BoldOblique", new PDType1Font(Standard14Fonts.FontName.COURIER_BOLD_OBLIQUE));
-        
-        LOGGER.debug("Fontes padrão registradas");
+    public static ResourceManager of(PDDocument document) {
+        if (document == null) {
+            throw new IllegalArgumentException("Documento não pode ser nulo");
+        }
+        synchronized (document) {
+            return document.getResourceCache() instanceof ManagedResourceCache managed
+                    ? managed.manager : new ResourceManager(document);
+        }
     }
 
     /**
@@ -66,7 +139,7 @@ public class ResourceManager {
      * @throws IllegalArgumentException se a fonte não estiver registrada
      */
     public void setDefaultFont(String fontName) {
-        PDFont font = fonts.get(fontName);
+        PDFont font = getFont(fontName);
         if (font == null) {
             throw new IllegalArgumentException("Fonte não registrada: " + fontName);
         }
@@ -82,13 +155,156 @@ public class ResourceManager {
         return defaultFont;
     }
 
+    /**
+     * Define a cadeia de fontes alternativas usada com a fonte padrão para
+     * caracteres que ela não possui.
+     * @param fontNames Nomes das fontes, em ordem de preferência (devem estar registradas)
+     * @throws IllegalArgumentException se alguma fonte não estiver registrada
+     */
+    public void setFallbackFonts(String... fontNames) {
+        List<PDFont> chain = new ArrayList<>();
+        for (String fontName : fontNames) {
+            PDFont font = getFont(fontName);
+            if (font == null) {
+                throw new IllegalArgumentException("Fonte não registrada: " + fontName);
+            }
+            chain.add(font);
+        }
+        this.fallbackFonts = List.copyOf(chain);
+        LOGGER.debug("Fontes alternativas definidas: {}", String.join(", ", fontNames));
+    }
+
+    /**
+     * Retorna a cadeia de fontes alternativas da fonte padrão.
+     * @return Fontes alternativas, em ordem de preferência
+     */
+    public List<PDFont> getFallbackFonts() {
+        return fallbackFonts;
+    }
+
     /**
      * Retorna uma fonte registrada pelo nome.
+     * As fontes padrão são resolvidas sob demanda a partir do registro global compartilhado.
      * @param name Nome da fonte
      * @return A fonte ou null se não encontrada
      */
     public PDFont getFont(String name) {
-        return fonts.get(name);
+        PDFont font = fonts.get(name);
+        return font != null ? font : StandardFonts.get(name);
+    }
+
+    /**
+     * Carrega uma fonte TrueType/OpenType de um arquivo.
+     * O arquivo é analisado uma única vez por processo; cada documento embute
+     * apenas o subconjunto dos glifos efetivamente usados.
+     * @param name Nome para referenciar a fonte
+     * @param fontPath Caminho do arquivo .ttf ou .otf
+     * @return A fonte carregada para este documento
+     * @throws IOException se houver erro ao carregar a fonte
+     */
+    public PDFont loadFont(String name, Path fontPath) throws IOException {
+        try {
+            PDFont font = PDType0Font.load(document, FontCache.get(fontPath), true);
+            fonts.put(name, font);
+            LOGGER.debug("Fonte carregada: {} de {}", name, fontPath);
+            return font;
+        } catch (IOException e) {
+            LOGGER.error("Erro ao carregar fonte {}: {}", fontPath, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Define o executor usado para gerar os subconjuntos das fontes embutidas.
+     * @param executor Executor das tarefas de subconjunto
+     * @throws IllegalArgumentException se o executor for nulo
+     */
+    public void setSubsetExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor não pode ser nulo");
+        }
+        this.subsetExecutor = executor;
+    }
+
+    /**
+     * Gera concorrentemente os subconjuntos de todas as fontes do documento que aguardam
+     * subconjunto, antes da serialização. O resultado é idêntico ao do processamento
+     * sequencial feito pelo PDFBox em {@link PDDocument#save}, que deixa de repeti-lo.
+     * Uma única fonte pendente é processada na própria thread.
+     * <p>
+     * Cada fonte deixa de estar pendente assim que o seu subconjunto é gerado. Se algum
+     * falhar, a exceção é propagada após o término das demais tarefas e apenas as fontes
+     * que falharam continuam pendentes, sem que nenhum subconjunto seja gerado duas vezes
+     * numa nova chamada ou em {@link PDDocument#save}.
+     * @throws IOException se houver erro ao gerar algum subconjunto
+     */
+    public void subsetFonts() throws IOException {
+        Set<PDFont> pending = fontsToSubset();
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        if (pending.size() == 1) {
+            pending.iterator().next().subset();
+            pending.clear();
+            return;
+        }
+        long start = System.nanoTime();
+        Map<PDFont, CompletableFuture<Void>> tasks = new IdentityHashMap<>();
+        for (PDFont font : pending) {
+            tasks.put(font, CompletableFuture.runAsync(() -> subset(font), subsetExecutor));
+        }
+        try {
+            CompletableFuture.allOf(tasks.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        } finally {
+            // O conjunto do documento não é sincronizado: as fontes concluídas saem dele nesta thread
+            tasks.forEach((font, task) -> {
+                if (!task.isCompletedExceptionally()) {
+                    pending.remove(font);
+                }
+            });
+        }
+        LOGGER.debug("Subconjuntos de {} fontes gerados em {} ms", tasks.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void subset(PDFont font) {
+        try {
+            font.subset();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gerar subconjunto da fonte " + font.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<PDFont> fontsToSubset() {
+        if (FONTS_TO_SUBSET == null) {
+            return null;
+        }
+        try {
+            return (Set<PDFont>) FONTS_TO_SUBSET.invoke(document);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn("Fontes pendentes de subconjunto indisponíveis: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Localiza o acesso às fontes pendentes de subconjunto do documento, que o PDFBox
+     * não expõe publicamente. Sem ele, o subconjunto fica a cargo de {@link PDDocument#save}.
+     */
+    private static Method findFontsToSubset() {
+        try {
+            Method method = PDDocument.class.getDeclaredMethod("getFontsToSubset");
+            method.setAccessible(true);
+            return method;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.warn("Subconjunto paralelo de fontes indisponível: {}", e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -99,8 +315,7 @@ public class ResourceManager {
      */
     public void loadImage(String name, Path imagePath) throws IOException {
         try {
-            PDImageXObject image = PDImageXObject.createFromFile(imagePath.toString(), document);
-            images.put(name, image);
+            images.put(name, createImage(imagePath));
             LOGGER.debug("Imagem carregada: {} de {}", name, imagePath);
         } catch (IOException e) {
             LOGGER.error("Erro ao carregar imagem {}: {}", imagePath, e.getMessage());
@@ -116,8 +331,7 @@ public class ResourceManager {
      */
     public void loadImage(String name, InputStream inputStream) throws IOException {
         try {
-            PDImageXObject image = PDImageXObject.createFromByteArray(document, inputStream.readAllBytes(), name);
-            images.put(name, image);
+            images.put(name, createImage(inputStream.readAllBytes(), name));
             LOGGER.debug("Imagem carregada: {} do InputStream", name);
         } catch (IOException e) {
             LOGGER.error("Erro ao carregar imagem do InputStream: {}", e.getMessage());
@@ -125,6 +339,537 @@ public class ResourceManager {
         }
     }
 
+    /**
+     * Cria a imagem de um arquivo, identificando o formato pelo conteúdo.
+     * Arquivos com o mesmo conteúdo compartilham um único XObject no documento.
+     * @param imagePath Caminho do arquivo de imagem
+     * @return Imagem do documento
+     * @throws IOException se houver erro ao ler ou decodificar a imagem
+     */
+    public PDImageXObject createImage(Path imagePath) throws IOException {
+        return createImage(Files.readAllBytes(imagePath), imagePath.toString());
+    }
+
+    /**
+     * Cria a imagem a partir dos bytes de um arquivo de imagem, identificando o formato
+     * pelo conteúdo. Arquivos JPEG e PNG são embutidos sem decodificação sempre que
+     * possível. Conteúdos idênticos, localizados por um hash de 64 bits e confirmados
+     * byte a byte, compartilham um único XObject no documento. Imagens já codificadas por
+     * outro documento são importadas do {@link AssetCache} sem nova decodificação, exceto
+     * com a seleção de codificação ativa, cujo resultado depende da análise e da qualidade
+     * configurada neste gerenciador.
+     * @param content Bytes do arquivo de imagem
+     * @param name Nome usado nas mensagens de erro
+     * @return Imagem do documento
+     * @throws IOException se houver erro ao decodificar a imagem
+     */
+    public PDImageXObject createImage(byte[] content, String name) throws IOException {
+        ContentKey key = new ContentKey(content);
+        PDImageXObject image = imagesByContent.get(key);
+        if (image != null) {
+            LOGGER.debug("Imagem reaproveitada: {}", name);
+            return image;
+        }
+        boolean select = imageEncodingSelection;
+        image = select ? null : AssetCache.get(key);
+        if (image == null) {
+            image = decodeImage(document, content, name, select);
+            if (!select) {
+                AssetCache.put(key, image);
+            }
+        } else {
+            LOGGER.debug("Imagem importada do cache de recursos: {}", name);
+        }
+        imagesByContent.put(key, image);
+        return image;
+    }
+
+    /**
+     * Cria a imagem do arquivo. Com a conversão em segundo plano ativa, inicia a conversão
+     * pelo executor de imagens e retorna imediatamente a imagem do documento, que já tem a
+     * largura e a altura lidas do cabeçalho e pode ser desenhada, mas só estará completa após
+     * {@link #completeImages()}. Sem ela, a imagem é convertida nesta thread, como em
+     * {@link #createImage(Path)}.
+     * <p>
+     * No máximo {@link #setImageConcurrency(int)} conversões ocorrem ao mesmo tempo; acima
+     * disso, a chamada aguarda uma delas terminar, o que limita a memória usada pelas imagens
+     * decodificadas. Conteúdos repetidos e imagens do {@link AssetCache}, que só é usado com a
+     * seleção de codificação desativada, são resolvidos sem nova conversão, e formatos sem cabeçalho reconhecido são convertidos nesta thread.
+     * @param imagePath Caminho do arquivo de imagem
+     * @return Imagem do documento
+     * @throws IOException se houver erro ao ler o arquivo ou se a espera for interrompida
+     */
+    public PDImageXObject ingestImage(Path imagePath) throws IOException {
+        byte[] content = Files.readAllBytes(imagePath);
+        String name = imagePath.toString();
+        ContentKey key = new ContentKey(content);
+        PDImageXObject image = imagesByContent.get(key);
+        if (image != null) {
+            return image;
+        }
+        if (!backgroundConversion) {
+            return createImage(content, name);
+        }
+        boolean select = imageEncodingSelection;
+        image = select ? null : AssetCache.get(key);
+        ImageHeader header = image == null ? ImageHeader.read(content) : null;
+        if (header == null) {
+            if (image == null) {
+                image = decodeImage(document, content, name, select);
+                if (!select) {
+                    AssetCache.put(key, image);
+                }
+            }
+            imagesByContent.put(key, image);
+            return image;
+        }
+        PDImageXObject target = ImageResampler.placeholder();
+        target.setWidth(header.getWidth());
+        target.setHeight(header.getHeight());
+        submitConversion(target, name, () -> {
+            try (PDDocument scratch = new PDDocument()) {
+                CosCopy.copyStream(decodeImage(scratch, content, name, select).getCOSObject(), target.getCOSObject());
+                if (!select) {
+                    AssetCache.put(key, target);
+                }
+            }
+        });
+        imagesByContent.put(key, target);
+        return target;
+    }
+
+    /**
+     * Registra um uso da imagem do arquivo no documento, antes de ela ser desenhada. Com as
+     * imagens em linha ativas, {@link #inlineImage(Path)} só emite em linha os conteúdos
+     * registrados uma única vez, pois uma imagem repetida ficaria embutida duas vezes: em
+     * linha no primeiro uso e como XObject nos demais. O
+     * {@link io.github.joabsonlg.pdfbuilder.components.image.Image.Builder} registra
+     * cada imagem criada. Sem imagens em linha, nada é registrado.
+     * @param imagePath Caminho do arquivo de imagem
+     * @throws IOException se houver erro ao ler a imagem
+     */
+    public void registerImageUse(Path imagePath) throws IOException {
+        ContentKey key = inlineCandidate(imagePath);
+        if (key != null) {
+            imageUses.merge(key, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Retorna a imagem do arquivo como imagem em linha, escrita no próprio content stream em
+     * vez de um XObject com entrada nos recursos da página, se os seus dados tiverem até
+     * {@link #setInlineImageThreshold(int)} bytes e o conteúdo não se repetir no documento.
+     * <p>
+     * Um conteúdo registrado mais de uma vez por {@link #registerImageUse(Path)} é sempre
+     * desenhado como um XObject compartilhado, assim como as imagens com transparência, que
+     * uma imagem em linha não pode ter, os JPEG CMYK e as imagens que o ImageIO não consegue
+     * decodificar. Um uso registrado só depois de o conteúdo ter sido emitido em linha também
+     * é desenhado como XObject; nesse caso os dados ficam embutidos duas vezes, limitados ao
+     * tamanho máximo das imagens em linha.
+     * @param imagePath Caminho do arquivo de imagem
+     * @return Imagem em linha, ou null se a imagem deve ser desenhada como XObject
+     * @throws IOException se houver erro ao ler ou decodificar a imagem
+     */
+    public PDInlineImage inlineImage(Path imagePath) throws IOException {
+        ContentKey key = inlineCandidate(imagePath);
+        if (key == null || imagesByContent.containsKey(key) || imageUses.getOrDefault(key, 0) > 1
+                || !inlinedImages.add(key)) {
+            return null;
+        }
+        byte[] content = key.content();
+        // JPEG CMYK ou YCCK não é decodificado pelo ImageIO, mas é embutido sem decodificação
+        JpegHeader jpeg = JpegHeader.read(content);
+        if (jpeg != null && jpeg.getComponents() == 4) {
+            return null;
+        }
+        BufferedImage decoded;
+        try {
+            decoded = ImageIO.read(new MemoryCacheImageInputStream(new ByteArrayInputStream(content)));
+        } catch (IOException e) {
+            LOGGER.debug("Imagem {} não pode ser emitida em linha: {}", imagePath, e.getMessage());
+            return null;
+        }
+        if (decoded == null || decoded.getColorModel().hasAlpha()) {
+            return null;
+        }
+        int width = decoded.getWidth();
+        int height = decoded.getHeight();
+        int[] rgb = decoded.getRGB(0, 0, width, height, null, 0, width);
+        boolean gray = true;
+        for (int pixel : rgb) {
+            if ((pixel & 0xFFFFFF) != (pixel & 0xFF) * 0x010101) {
+                gray = false;
+                break;
+            }
+        }
+        int components = gray ? 1 : 3;
+        if ((long) rgb.length * components > inlineImageThreshold) {
+            return null;
+        }
+        byte[] data = new byte[rgb.length * components];
+        for (int i = 0, offset = 0; i < rgb.length; i++) {
+            if (!gray) {
+                data[offset++] = (byte) (rgb[i] >> 16);
+                data[offset++] = (byte) (rgb[i] >> 8);
+            }
+            data[offset++] = (byte) rgb[i];
+        }
+        COSDictionary parameters = new COSDictionary();
+        parameters.setInt(COSName.W, width);
+        parameters.setInt(COSName.H, height);
+        parameters.setInt(COSName.BPC, 8);
+        parameters.setItem(COSName.CS, gray ? COSName.DEVICEGRAY : COSName.DEVICERGB);
+        LOGGER.debug("Imagem {} emitida em linha com {} bytes", imagePath, data.length);
+        return new PDInlineImage(parameters, data, null);
+    }
+
+    /**
+     * Retorna a chave do conteúdo da imagem se ela for pequena o bastante para ser emitida
+     * em linha, ou null. Apenas o cabeçalho é lido das imagens maiores.
+     */
+    private ContentKey inlineCandidate(Path imagePath) throws IOException {
+        if (inlineImageThreshold <= 0) {
+            return null;
+        }
+        // Uma amostra por pixel é o menor tamanho possível dos dados, sem compressão
+        ImageHeader header = ImageHeader.read(imagePath);
+        if (header == null || (long) header.getWidth() * header.getHeight() > inlineImageThreshold) {
+            return null;
+        }
+        return new ContentKey(Files.readAllBytes(imagePath));
+    }
+
+    /**
+     * Define o tamanho máximo, em bytes de dados sem compressão, das imagens emitidas em
+     * linha por {@link #inlineImage(Path)}. Ícones pequenos e não repetidos deixam de gerar
+     * um objeto e uma entrada de recurso cada. Zero, o padrão, desativa as imagens em linha.
+     * Deve ser definido antes de criar as imagens, para que os usos repetidos sejam
+     * registrados por {@link #registerImageUse(Path)}.
+     * @param bytes Tamanho máximo dos dados da imagem
+     * @throws IllegalArgumentException se o tamanho for negativo
+     */
+    public void setInlineImageThreshold(int bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Tamanho máximo de imagens em linha não pode ser negativo");
+        }
+        this.inlineImageThreshold = bytes;
+    }
+
+    /**
+     * Converte uma imagem grande demais para ser decodificada de uma vez, como um desenho
+     * digitalizado. Com a conversão em segundo plano ativa, ela é feita pelo executor de
+     * imagens e a imagem do documento é retornada imediatamente. O arquivo é lido em faixas horizontais de no máximo {@code stripRows}
+     * linhas, comprimidas no documento à medida que são lidas, de modo que a memória usada
+     * depende do tamanho da faixa e não do tamanho da imagem.
+     * <p>
+     * Se a resolução configurada passar de 1,5 vez a necessária para o tamanho exibido, a
+     * imagem é reduzida durante a leitura por um fator inteiro, com a média de cada bloco
+     * de pixels. O conteúdo do arquivo não é lido por inteiro, portanto não passa pelo
+     * {@link AssetCache}; usos do mesmo arquivo com a mesma redução compartilham a imagem.
+     * @param imagePath Caminho do arquivo de imagem
+     * @param stripRows Número máximo de linhas lidas por faixa
+     * @param width Largura de exibição em pontos
+     * @param height Altura de exibição em pontos
+     * @return Imagem do documento
+     * @throws IllegalArgumentException se o número de linhas da faixa não for positivo
+     * @throws IOException se o formato não for reconhecido ou se a espera for interrompida
+     */
+    public PDImageXObject ingestImageInStrips(Path imagePath, int stripRows, float width, float height)
+            throws IOException {
+        if (stripRows < 1) {
+            throw new IllegalArgumentException("Número de linhas da faixa deve ser positivo");
+        }
+        ImageHeader header = ImageHeader.read(imagePath);
+        if (header == null) {
+            throw new IOException("Formato de imagem não reconhecido: " + imagePath);
+        }
+        int factor = 1;
+        if (imageDpi > 0) {
+            int targetWidth = Math.max(1, Math.round(width / 72f * imageDpi));
+            int targetHeight = Math.max(1, Math.round(height / 72f * imageDpi));
+            if (targetWidth * RESAMPLE_THRESHOLD <= header.getWidth()
+                    && targetHeight * RESAMPLE_THRESHOLD <= header.getHeight()) {
+                factor = Math.min(header.getWidth() / targetWidth, header.getHeight() / targetHeight);
+            }
+        }
+        String key = imagePath.toAbsolutePath().normalize() + "@" + factor;
+        PDImageXObject image = stripedImages.get(key);
+        if (image != null) {
+            return image;
+        }
+        PDImageXObject target = ImageResampler.placeholder();
+        target.setWidth((header.getWidth() + factor - 1) / factor);
+        target.setHeight((header.getHeight() + factor - 1) / factor);
+        int reduction = factor;
+        submitConversion(target, imagePath.toString(), () -> StripedImage.write(imagePath, stripRows, reduction, target));
+        stripedImages.put(key, target);
+        LOGGER.debug("Imagem {} de {}x{} convertida em faixas de {} linhas, redução {}",
+                imagePath, header.getWidth(), header.getHeight(), stripRows, factor);
+        return target;
+    }
+
+    /**
+     * Agenda a conversão no executor de imagens, aguardando uma das permissões que limitam
+     * o número de conversões simultâneas. Sem a conversão em segundo plano, ela é executada
+     * nesta thread.
+     */
+    private void submitConversion(PDImageXObject target, String name, Conversion conversion)
+            throws IOException {
+        if (!backgroundConversion) {
+            conversion.run();
+            return;
+        }
+        Semaphore permits = imagePermits;
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando a conversão de imagens");
+        }
+        CompletableFuture<Void> task;
+        try {
+            task = CompletableFuture.runAsync(() -> {
+                try {
+                    conversion.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Erro ao converter imagem " + name, e);
+                } finally {
+                    permits.release();
+                }
+            }, imageExecutor);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        ingestingImages.put(target, task);
+        pendingImages.add(task);
+    }
+
+    /** Conversão de imagem executada em segundo plano. */
+    private interface Conversion {
+        void run() throws IOException;
+    }
+
+    /**
+     * Converte o conteúdo em imagem pelo caminho mais barato disponível: JPEG e PNG sem
+     * decodificação dos pixels quando possível e, nos demais casos, pelo PDFBox. Com a
+     * seleção de codificação ativa no momento da chamada, as imagens que não são JPEG são decodificadas e
+     * recodificadas conforme o conteúdo.
+     */
+    private PDImageXObject decodeImage(PDDocument target, byte[] content, String name, boolean select)
+            throws IOException {
+        JpegHeader jpeg = JpegHeader.read(content);
+        if (jpeg != null) {
+            if (select) {
+                recordEncoding(ImageEncoding.ORIGINAL, name);
+            }
+            return createJpegImage(target, content, jpeg);
+        }
+        if (select) {
+            BufferedImage decoded = ImageIO.read(new MemoryCacheImageInputStream(new ByteArrayInputStream(content)));
+            if (decoded != null) {
+                ImageEncoding encoding = ImageEncoder.select(decoded);
+                recordEncoding(encoding, name);
+                return ImageEncoder.encode(target, decoded, encoding, imageCompressionQuality);
+            }
+        }
+        PDImageXObject png = PngImage.create(target, content);
+        return png != null ? png : PDImageXObject.createFromByteArray(target, content, name);
+    }
+
+    /**
+     * Embute o arquivo JPEG como um stream DCTDecode com os bytes originais, sem decodificar
+     * os pixels. O dicionário é o mesmo gerado pelo JPEGFactory do PDFBox, inclusive o Decode
+     * invertido das imagens CMYK.
+     */
+    private static PDImageXObject createJpegImage(PDDocument target, byte[] content, JpegHeader jpeg)
+            throws IOException {
+        PDColorSpace colorSpace = switch (jpeg.getComponents()) {
+            case 1 -> PDDeviceGray.INSTANCE;
+            case 3 -> PDDeviceRGB.INSTANCE;
+            default -> PDDeviceCMYK.INSTANCE;
+        };
+        PDImageXObject image = new PDImageXObject(target, new ByteArrayInputStream(content),
+                COSName.DCT_DECODE, jpeg.getWidth(), jpeg.getHeight(), 8, colorSpace);
+        if (colorSpace == PDDeviceCMYK.INSTANCE) {
+            COSArray decode = new COSArray();
+            for (int i = 0; i < 4; i++) {
+                decode.add(COSInteger.ONE);
+                decode.add(COSInteger.ZERO);
+            }
+            image.setDecode(decode);
+        }
+        return image;
+    }
+
+    /**
+     * Define a resolução e a qualidade usadas para reamostrar as imagens maiores que o
+     * necessário para o tamanho em que são exibidas.
+     * @param dpi Resolução desejada em pontos por polegada
+     * @param compressionQuality Qualidade da compressão JPEG (0.0 - 1.0)
+     * @throws IllegalArgumentException se a resolução ou a qualidade forem inválidas
+     */
+    public void setImageResolution(int dpi, float compressionQuality) {
+        if (dpi <= 0) {
+            throw new IllegalArgumentException("DPI deve ser maior que zero");
+        }
+        if (compressionQuality < 0.0f || compressionQuality > 1.0f) {
+            throw new IllegalArgumentException("Qualidade de compressão deve estar entre 0.0 e 1.0");
+        }
+        this.imageDpi = dpi;
+        this.imageCompressionQuality = compressionQuality;
+        LOGGER.debug("Resolução de imagens definida para {} DPI, qualidade {}", dpi, compressionQuality);
+    }
+
+    /**
+     * Ativa a escolha da codificação das imagens pela análise do conteúdo. Fotografias são
+     * codificadas em JPEG com a qualidade configurada, gráficos sem perdas, imagens em tons
+     * de cinza com um único canal e imagens apenas em preto e branco em CCITT grupo 4.
+     * Arquivos JPEG mantêm a codificação original. Como o JPEG tem perdas, a seleção vem
+     * desativada e só se aplica às imagens convertidas depois de ativada; as imagens
+     * reamostradas sempre passam por ela.
+     * @param enabled true para escolher a codificação pelo conteúdo
+     */
+    public void setImageEncodingSelection(boolean enabled) {
+        this.imageEncodingSelection = enabled;
+    }
+
+    /**
+     * Retorna quantas imagens foram convertidas com cada codificação escolhida pela análise
+     * do conteúdo, incluindo as reamostradas. Com a seleção ativa, o {@link AssetCache} não é
+     * consultado, e toda imagem nova no documento é analisada e contada. Codificações não
+     * usadas são omitidas.
+     * @return Cópia das contagens por codificação
+     */
+    public Map<ImageEncoding, Integer> getImageEncodingCounts() {
+        synchronized (imageEncodings) {
+            return new EnumMap<>(imageEncodings);
+        }
+    }
+
+    private void recordEncoding(ImageEncoding encoding, String name) {
+        synchronized (imageEncodings) {
+            imageEncodings.merge(encoding, 1, Integer::sum);
+        }
+        LOGGER.debug("Codificação {} escolhida para a imagem {}", encoding, name);
+    }
+
+    /**
+     * Ativa a conversão e a reamostragem das imagens em segundo plano, pelo executor de
+     * imagens, enquanto o documento é montado. As imagens retornadas só ficam completas após
+     * {@link #completeImages()}, que deve ser chamado antes de salvar o documento; o
+     * {@link PDFBuilder} ativa a conversão em segundo plano e faz essa chamada ao salvar.
+     * Desativada, o padrão para os documentos montados sem um {@link PDFBuilder}, as imagens
+     * são convertidas na thread que as solicita e podem ser salvas a qualquer momento.
+     * @param enabled true para converter as imagens em segundo plano
+     */
+    public void setBackgroundConversion(boolean enabled) {
+        this.backgroundConversion = enabled;
+    }
+
+    /**
+     * Define o número máximo de imagens convertidas simultaneamente por {@link #ingestImage(Path)}
+     * e {@link #ingestImageInStrips(Path, int, float, float)}.
+     * @param concurrency Número máximo de conversões simultâneas
+     * @throws IllegalArgumentException se o número for menor que 1
+     */
+    public void setImageConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Número de conversões simultâneas deve ser positivo");
+        }
+        this.imagePermits = new Semaphore(concurrency);
+    }
+
+    /**
+     * Define o executor usado para converter e reamostrar as imagens.
+     * @param executor Executor das tarefas de conversão e reamostragem
+     * @throws IllegalArgumentException se o executor for nulo
+     */
+    public void setImageExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor não pode ser nulo");
+        }
+        this.imageExecutor = executor;
+    }
+
+    /**
+     * Retorna a imagem adequada para exibição no tamanho informado.
+     * <p>
+     * Se a resolução da imagem no tamanho exibido passar de 1,5 vez a configurada, retorna
+     * uma versão reduzida e recodificada. Com a conversão em segundo plano ativa, ela é
+     * preparada pelo executor de imagens e pode ser desenhada imediatamente, mas só estará
+     * completa após {@link #completeImages()}. Usos com o mesmo tamanho compartilham a mesma
+     * versão. Sem resolução configurada, a imagem original é retornada.
+     * @param image Imagem original
+     * @param width Largura de exibição em pontos
+     * @param height Altura de exibição em pontos
+     * @return Imagem a ser desenhada
+     * @throws UncheckedIOException se houver erro ao reamostrar a imagem nesta thread
+     */
+    public PDImageXObject resampleImage(PDImageXObject image, float width, float height) {
+        if (imageDpi <= 0) {
+            return image;
+        }
+        int targetWidth = Math.max(1, Math.round(width / 72f * imageDpi));
+        int targetHeight = Math.max(1, Math.round(height / 72f * imageDpi));
+        if (targetWidth * RESAMPLE_THRESHOLD > image.getWidth() || targetHeight * RESAMPLE_THRESHOLD > image.getHeight()) {
+            return image;
+        }
+        Map<Long, PDImageXObject> versions = resampledImages.computeIfAbsent(image, k -> new HashMap<>());
+        long size = (long) targetWidth << 32 | targetHeight;
+        PDImageXObject resampled = versions.get(size);
+        if (resampled == null) {
+            resampled = ImageResampler.placeholder();
+            PDImageXObject target = resampled;
+            float quality = imageCompressionQuality;
+            Runnable task = () -> resample(image, targetWidth, targetHeight, quality, target);
+            CompletableFuture<Void> source = ingestingImages.get(image);
+            if (source != null) {
+                pendingImages.add(source.thenRunAsync(task, imageExecutor));
+            } else if (backgroundConversion) {
+                pendingImages.add(CompletableFuture.runAsync(task, imageExecutor));
+            } else {
+                task.run();
+            }
+            versions.put(size, resampled);
+            LOGGER.debug("Imagem de {}x{} reamostrada para {}x{}",
+                    image.getWidth(), image.getHeight(), targetWidth, targetHeight);
+        }
+        return resampled;
+    }
+
+    /**
+     * Aguarda a conclusão das imagens convertidas e reamostradas em segundo plano.
+     * Deve ser chamado antes de salvar o documento.
+     * @throws IOException se houver erro ao converter ou reamostrar alguma imagem
+     */
+    public void completeImages() throws IOException {
+        if (pendingImages.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        CompletableFuture<?>[] tasks = pendingImages.toArray(CompletableFuture[]::new);
+        pendingImages.clear();
+        ingestingImages.clear();
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+        LOGGER.debug("{} tarefas de imagem concluídas em {} ms", tasks.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void resample(PDImageXObject image, int width, int height, float quality, PDImageXObject target) {
+        try {
+            recordEncoding(ImageResampler.resample(image, width, height, quality, target), "reamostrada");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao reamostrar imagem", e);
+        }
+    }
+
     /**
      * Retorna uma imagem registrada pelo nome.
      * @param name Nome da imagem
@@ -157,4 +902,102 @@ public class ResourceManager {
         // Aqui podemos adicionar recursos específicos para a página
         return resources;
     }
+
+    /**
+     * Cache de recursos do documento que o associa ao seu gerenciador. As consultas são
+     * delegadas ao cache anterior do documento, que pode ser nulo.
+     */
+    private static final class ManagedResourceCache implements ResourceCache {
+        private final ResourceCache delegate;
+        private final ResourceManager manager;
+
+        ManagedResourceCache(ResourceCache delegate, ResourceManager manager) {
+            this.delegate = delegate;
+            this.manager = manager;
+        }
+
+        @Override
+        public PDFont getFont(COSObject indirect) {
+            return delegate != null ? delegate.getFont(indirect) : null;
+        }
+
+        @Override
+        public PDColorSpace getColorSpace(COSObject indirect) {
+            return delegate != null ? delegate.getColorSpace(indirect) : null;
+        }
+
+        @Override
+        public PDExtendedGraphicsState getExtGState(COSObject indirect) {
+            return delegate != null ? delegate.getExtGState(indirect) : null;
+        }
+
+        @Override
+        public PDShading getShading(COSObject indirect) {
+            return delegate != null ? delegate.getShading(indirect) : null;
+        }
+
+        @Override
+        public PDAbstractPattern getPattern(COSObject indirect) {
+            return delegate != null ? delegate.getPattern(indirect) : null;
+        }
+
+        @Override
+        public PDPropertyList getProperties(COSObject indirect) {
+            return delegate != null ? delegate.getProperties(indirect) : null;
+        }
+
+        @Override
+        public PDXObject getXObject(COSObject indirect) {
+            return delegate != null ? delegate.getXObject(indirect) : null;
+        }
+
+        @Override
+        public void put(COSObject indirect, PDFont font) {
+            if (delegate != null) {
+                delegate.put(indirect, font);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDColorSpace colorSpace) {
+            if (delegate != null) {
+                delegate.put(indirect, colorSpace);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDExtendedGraphicsState extGState) {
+            if (delegate != null) {
+                delegate.put(indirect, extGState);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDShading shading) {
+            if (delegate != null) {
+                delegate.put(indirect, shading);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDAbstractPattern pattern) {
+            if (delegate != null) {
+                delegate.put(indirect, pattern);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDPropertyList propertyList) {
+            if (delegate != null) {
+                delegate.put(indirect, propertyList);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDXObject xobject) {
+            if (delegate != null) {
+                delegate.put(indirect, xobject);
+            }
+        }
+    }
 }
@@ -4,27 +4,23 @@ import org.apache.pdfbox.pdmodel.common.PDRectangle;
 
 /**
  * Define a área segura para renderização de conteúdo no PDF.
+ * <p>
+ * Instâncias são imutáveis e podem ser compartilhadas entre documentos gerados em threads
+ * diferentes; margens diferentes são obtidas com {@link #withMargins(float, float, float, float)},
+ * que cria uma nova área.
  */
 public final class SafeArea {
     private static final float HEADER_HEIGHT = 40f;
     private static final float FOOTER_HEIGHT = 40f;
 
-    private final float originalMarginLeft;
-    private final float originalMarginRight;
-    private final float originalMarginTop;
-    private final float originalMarginBottom;
-    private float marginLeft;
-    private float marginRight;
-    private float marginTop;
-    private float marginBottom;
+    private final float marginLeft;
+    private final float marginRight;
+    private final float marginTop;
+    private final float marginBottom;
     private final boolean hasHeader;
     private final boolean hasFooter;
 
     private SafeArea(Builder builder) {
-        this.originalMarginLeft = builder.marginLeft;
-        this.originalMarginRight = builder.marginRight;
-        this.originalMarginTop = builder.marginTop;
-        this.originalMarginBottom = builder.marginBottom;
         this.marginLeft = builder.marginLeft;
         this.marginRight = builder.marginRight;
         this.marginTop = builder.marginTop;
@@ -117,45 +113,35 @@ public final class SafeArea {
                 y <= contentArea.getUpperRightY();
     }
 
-    public void reset() {
-        this.marginTop = this.originalMarginTop;
-        this.marginRight = this.originalMarginRight;
-        this.marginBottom = this.originalMarginBottom;
-        this.marginLeft = this.originalMarginLeft;
+    /**
+     * Cria uma área segura com as margens informadas, mantendo cabeçalho e rodapé.
+     *
+     * @return Nova instância de SafeArea
+     */
+    public SafeArea withMargins(float left, float right, float top, float bottom) {
+        return builder()
+                .withMargins(left, right, top, bottom)
+                .withHeader(hasHeader)
+                .withFooter(hasFooter)
+                .build();
     }
 
     public float getMarginTop() {
         return marginTop;
     }
 
-    public void setMarginTop(float marginTop) {
-        this.marginTop = marginTop;
-    }
-
     public float getMarginRight() {
         return marginRight;
     }
 
-    public void setMarginRight(float marginRight) {
-        this.marginRight = marginRight;
-    }
-
     public float getMarginBottom() {
         return marginBottom;
     }
 
-    public void setMarginBottom(float marginBottom) {
-        this.marginBottom = marginBottom;
-    }
-
     public float getMarginLeft() {
         return marginLeft;
     }
 
-    public void setMarginLeft(float marginLeft) {
-        this.marginLeft = marginLeft;
-    }
-
     public boolean hasHeader() {
         return hasHeader;
     }
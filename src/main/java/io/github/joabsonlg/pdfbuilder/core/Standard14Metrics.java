@@ -0,0 +1,174 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Métricas pré-compiladas das 14 fontes padrão.
+ * <p>
+ * As larguras e pares de kerning são lidos do recurso {@code standard14.metrics},
+ * gerado a partir dos arquivos AFM do PDFBox, e mantidos em arrays primitivos
+ * compactos. Isso evita o parse dos AFM e das listas de glifos no primeiro documento.
+ */
+final class Standard14Metrics {
+    static final int MAGIC = 0x53313446;
+    static final int VERSION = 1;
+
+    private static final String RESOURCE = "standard14.metrics";
+    private static final int LATIN_SIZE = 256;
+    private static final short MISSING = -1;
+
+    private static final Map<String, Standard14Metrics> METRICS = load();
+
+    private final String fontName;
+    private final float spaceWidth;
+    private final float boundingBoxHeight;
+    private final short[] latinWidths;
+    private final char[] codePoints;
+    private final short[] widths;
+    private final KerningTable kerning;
+    private final BitSet coverage;
+    private final FixedPitch fixedPitch;
+
+    private Standard14Metrics(String fontName, float spaceWidth, float boundingBoxHeight,
+                              char[] codePoints, short[] widths, int[] kernKeys, short[] kernValues) {
+        this.fontName = fontName;
+        this.spaceWidth = spaceWidth;
+        this.boundingBoxHeight = boundingBoxHeight;
+        this.codePoints = codePoints;
+        this.widths = widths;
+        this.kerning = new KerningTable(kernKeys, kernValues);
+        this.coverage = new BitSet(codePoints.length > 0 ? codePoints[codePoints.length - 1] + 1 : 0);
+        for (char codePoint : codePoints) {
+            coverage.set(codePoint);
+        }
+        this.latinWidths = new short[LATIN_SIZE];
+        Arrays.fill(latinWidths, MISSING);
+        for (int i = 0; i < codePoints.length && codePoints[i] < LATIN_SIZE; i++) {
+            latinWidths[codePoints[i]] = widths[i];
+        }
+        this.fixedPitch = isFixedPitch(widths) ? new FixedPitch(widths[0], coverage) : FixedPitch.PROPORTIONAL;
+    }
+
+    /**
+     * Retorna as métricas de uma fonte padrão pelo nome PostScript.
+     *
+     * @param fontName Nome PostScript da fonte
+     * @return Métricas da fonte ou null se não for uma fonte padrão
+     */
+    static Standard14Metrics forName(String fontName) {
+        return METRICS.get(fontName);
+    }
+
+    String getFontName() {
+        return fontName;
+    }
+
+    float getSpaceWidth() {
+        return spaceWidth;
+    }
+
+    float getBoundingBoxHeight() {
+        return boundingBoxHeight;
+    }
+
+    /**
+     * Retorna os code points disponíveis na fonte. O bitset retornado não deve ser alterado.
+     */
+    BitSet getCoverage() {
+        return coverage;
+    }
+
+    /**
+     * Retorna a largura de um caractere em unidades de glifo (1/1000 do tamanho da fonte).
+     *
+     * @param codePoint Code point Unicode
+     * @return Largura do caractere ou -1 se não estiver disponível na fonte
+     */
+    int getWidth(int codePoint) {
+        if (codePoint < LATIN_SIZE) {
+            return latinWidths[codePoint];
+        }
+        if (codePoint > Character.MAX_VALUE) {
+            return MISSING;
+        }
+        int index = Arrays.binarySearch(codePoints, (char) codePoint);
+        return index >= 0 ? widths[index] : MISSING;
+    }
+
+    /**
+     * Retorna o avanço fixo da fonte, ou {@link FixedPitch#PROPORTIONAL} se as larguras variarem.
+     */
+    FixedPitch getFixedPitch() {
+        return fixedPitch;
+    }
+
+    /**
+     * Retorna a tabela de pares de kerning da fonte.
+     */
+    KerningTable getKerning() {
+        return kerning;
+    }
+
+    private static boolean isFixedPitch(short[] widths) {
+        for (short width : widths) {
+            if (width != widths[0] || width <= 0) {
+                return false;
+            }
+        }
+        return widths.length > 0;
+    }
+
+    private static Map<String, Standard14Metrics> load() {
+        InputStream resource = Standard14Metrics.class.getResourceAsStream(RESOURCE);
+        if (resource == null) {
+            throw new IllegalStateException("Recurso de métricas não encontrado: " + RESOURCE);
+        }
+        try (DataInputStream in = new DataInputStream(resource)) {
+            if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION) {
+                throw new IllegalStateException("Formato de métricas inválido: " + RESOURCE);
+            }
+            int fontCount = in.readUnsignedShort();
+            Map<String, Standard14Metrics> metrics = new HashMap<>();
+            for (int i = 0; i < fontCount; i++) {
+                Standard14Metrics fontMetrics = read(in);
+                metrics.put(fontMetrics.fontName, fontMetrics);
+            }
+            return Collections.unmodifiableMap(metrics);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao carregar métricas das fontes padrão", e);
+        }
+    }
+
+    private static Standard14Metrics read(DataInputStream in) throws IOException {
+        String fontName = in.readUTF();
+        float spaceWidth = in.readFloat();
+        float boundingBoxHeight = in.readFloat();
+        int glyphCount = in.readInt();
+        char[] codePoints = new char[glyphCount];
+        for (int i = 0; i < glyphCount; i++) {
+            codePoints[i] = in.readChar();
+        }
+        short[] widths = new short[glyphCount];
+        for (int i = 0; i < glyphCount; i++) {
+            widths[i] = in.readShort();
+        }
+        int kernCount = in.readInt();
+        int[] kernKeys = new int[kernCount];
+        for (int i = 0; i < kernCount; i++) {
+            kernKeys[i] = in.readInt();
+        }
+        short[] kernValues = new short[kernCount];
+        for (int i = 0; i < kernCount; i++) {
+            kernValues[i] = in.readShort();
+        }
+        return new Standard14Metrics(fontName, spaceWidth, boundingBoxHeight, codePoints, widths, kernKeys, kernValues);
+    }
+}
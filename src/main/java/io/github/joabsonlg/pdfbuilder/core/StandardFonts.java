@@ -0,0 +1,85 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Registro global das 14 fontes padrão do PDF.
+ * <p>
+ * Cada fonte é criada uma única vez por processo, no primeiro uso, e compartilhada por
+ * todos os documentos. A medição de texto dessas fontes é feita por {@link TextMeasurer}
+ * a partir de métricas pré-compiladas, e a codificação durante a escrita é serializada por
+ * {@link ContentStreamWriter}, de modo que os caches internos do PDFBox não são acessados
+ * concorrentemente.
+ */
+public final class StandardFonts {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StandardFonts.class);
+
+    private static final Map<String, Standard14Fonts.FontName> NAMES;
+    private static final AtomicReferenceArray<PDType1Font> FONTS =
+            new AtomicReferenceArray<>(Standard14Fonts.FontName.values().length);
+
+    static {
+        Map<String, Standard14Fonts.FontName> names = new HashMap<>();
+        for (Standard14Fonts.FontName fontName : Standard14Fonts.FontName.values()) {
+            names.put(fontName.getName(), fontName);
+        }
+        NAMES = Collections.unmodifiableMap(names);
+    }
+
+    private StandardFonts() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Retorna a instância compartilhada de uma fonte padrão.
+     *
+     * @param fontName Nome da fonte padrão
+     * @return Instância compartilhada da fonte
+     */
+    public static PDType1Font get(Standard14Fonts.FontName fontName) {
+        if (fontName == null) {
+            throw new IllegalArgumentException("Nome da fonte não pode ser nulo");
+        }
+        PDType1Font font = FONTS.get(fontName.ordinal());
+        return font != null ? font : create(fontName);
+    }
+
+    /**
+     * Retorna a instância compartilhada de uma fonte padrão pelo nome PostScript
+     * (por exemplo, "Helvetica-Bold").
+     *
+     * @param name Nome PostScript da fonte
+     * @return Instância compartilhada da fonte ou null se não for uma fonte padrão
+     */
+    public static PDType1Font get(String name) {
+        Standard14Fonts.FontName fontName = NAMES.get(name);
+        return fontName != null ? get(fontName) : null;
+    }
+
+    /**
+     * Verifica se a fonte é uma das instâncias compartilhadas deste registro.
+     */
+    static boolean isShared(PDFont font) {
+        Standard14Fonts.FontName fontName = NAMES.get(font.getName());
+        return fontName != null && FONTS.get(fontName.ordinal()) == font;
+    }
+
+    private static synchronized PDType1Font create(Standard14Fonts.FontName fontName) {
+        PDType1Font font = FONTS.get(fontName.ordinal());
+        if (font == null) {
+            font = new PDType1Font(fontName);
+            FONTS.set(fontName.ordinal(), font);
+            LOGGER.debug("Fonte padrão carregada: {}", fontName.getName());
+        }
+        return font;
+    }
+}
@@ -0,0 +1,209 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Rectangle;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.IndexColorModel;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Conversão de imagens muito grandes lidas em faixas horizontais.
+ * <p>
+ * Cada faixa é lida do arquivo com uma região de origem do leitor do ImageIO e as suas
+ * linhas são comprimidas com Flate diretamente no stream da imagem, de modo que a memória
+ * usada depende da altura da faixa e não da altura da imagem. A leitura é eficiente em
+ * formatos organizados em faixas ou blocos, como o TIFF de documentos digitalizados.
+ * <p>
+ * A imagem pode ser reduzida por um fator inteiro durante a leitura, com a média de cada
+ * bloco de pixels. Imagens de um bit sem redução são gravadas com um bit por amostra,
+ * imagens cinza com um único canal e o canal alfa, se houver, em uma máscara suave.
+ */
+final class StripedImage {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private StripedImage() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Lê a imagem do arquivo em faixas e grava o resultado no destino.
+     *
+     * @param imagePath Caminho do arquivo de imagem
+     * @param stripRows Número máximo de linhas lidas por faixa
+     * @param factor Fator de redução, 1 para manter a resolução
+     * @param target Imagem criada por {@link ImageResampler#placeholder()}
+     * @throws IOException se houver erro ao ler ou codificar a imagem
+     */
+    static void write(Path imagePath, int stripRows, int factor, PDImageXObject target) throws IOException {
+        try (ImageInputStream input = new FileImageInputStream(imagePath.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Formato de imagem não reconhecido: " + imagePath);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, false, true);
+                write(reader, stripRows, factor, target);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static void write(ImageReader reader, int stripRows, int factor, PDImageXObject target)
+            throws IOException {
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        ImageTypeSpecifier type = reader.getRawImageType(0);
+        ColorModel model = (type != null ? type : reader.getImageTypes(0).next()).getColorModel();
+        boolean alpha = model.hasAlpha();
+        boolean gray = !alpha && isGray(model);
+        boolean bilevel = gray && factor == 1 && model.getPixelSize() == 1;
+        int outWidth = (width + factor - 1) / factor;
+        int outHeight = (height + factor - 1) / factor;
+        // A faixa tem um número inteiro de blocos para que nenhum bloco fique dividido entre duas leituras
+        int rows = Math.max(1, stripRows / factor) * factor;
+
+        byte[] colorRow = new byte[bilevel ? (outWidth + 7) / 8 : outWidth * (gray ? 1 : 3)];
+        byte[] alphaRow = new byte[outWidth];
+        long[] sums = new long[outWidth * 4];
+        int[] argb = new int[width];
+        int[] samples = new int[width];
+        ImageReadParam param = reader.getDefaultReadParam();
+        COSStream mask = alpha ? new COSStream() : null;
+        try (OutputStream colorOut = deflate(target.getCOSObject());
+             OutputStream alphaOut = mask != null ? deflate(mask) : OutputStream.nullOutputStream()) {
+            for (int y = 0; y < height; y += rows) {
+                int count = Math.min(rows, height - y);
+                param.setSourceRegion(new Rectangle(0, y, width, count));
+                BufferedImage strip = reader.read(0, param);
+                // Amostras cinza são lidas do raster: getRGB aplicaria a conversão de cinza
+                // linear para sRGB e clarearia a imagem
+                ColorModel stripModel = strip.getColorModel();
+                boolean graySamples = gray && !(stripModel instanceof IndexColorModel)
+                        && strip.getRaster().getNumBands() == 1;
+                int maxSample = graySamples ? (1 << stripModel.getComponentSize(0)) - 1 : 0;
+                for (int row = 0; row < count; row += factor) {
+                    int blockRows = Math.min(factor, count - row);
+                    Arrays.fill(sums, 0);
+                    for (int r = 0; r < blockRows; r++) {
+                        if (graySamples) {
+                            strip.getRaster().getSamples(0, row + r, width, 1, 0, samples);
+                            for (int x = 0; x < width; x++) {
+                                sums[x / factor * 4 + 3] += maxSample == 255 ? samples[x]
+                                        : (samples[x] * 255L + maxSample / 2) / maxSample;
+                            }
+                            continue;
+                        }
+                        strip.getRGB(0, row + r, width, 1, argb, 0, width);
+                        for (int x = 0; x < width; x++) {
+                            int pixel = argb[x];
+                            int column = x / factor * 4;
+                            sums[column] += pixel >>> 24;
+                            sums[column + 1] += pixel >> 16 & 0xFF;
+                            sums[column + 2] += pixel >> 8 & 0xFF;
+                            sums[column + 3] += pixel & 0xFF;
+                        }
+                    }
+                    if (bilevel) {
+                        Arrays.fill(colorRow, (byte) 0);
+                    }
+                    for (int x = 0; x < outWidth; x++) {
+                        long pixels = (long) blockRows * Math.min(factor, width - x * factor);
+                        int column = x * 4;
+                        if (bilevel) {
+                            // Com um bit por amostra, o valor 1 é branco no DeviceGray
+                            if (sums[column + 3] >= 128) {
+                                colorRow[x >> 3] |= (byte) (0x80 >>> (x & 7));
+                            }
+                        } else if (gray) {
+                            colorRow[x] = average(sums[column + 3], pixels);
+                        } else {
+                            colorRow[x * 3] = average(sums[column + 1], pixels);
+                            colorRow[x * 3 + 1] = average(sums[column + 2], pixels);
+                            colorRow[x * 3 + 2] = average(sums[column + 3], pixels);
+                        }
+                        alphaRow[x] = average(sums[column], pixels);
+                    }
+                    colorOut.write(colorRow);
+                    if (mask != null) {
+                        alphaOut.write(alphaRow);
+                    }
+                }
+            }
+        }
+        target.setWidth(outWidth);
+        target.setHeight(outHeight);
+        target.setBitsPerComponent(bilevel ? 1 : 8);
+        target.setColorSpace(gray ? PDDeviceGray.INSTANCE : PDDeviceRGB.INSTANCE);
+        if (mask != null) {
+            PDImageXObject softMask = new PDImageXObject(new PDStream(mask), null);
+            softMask.setWidth(outWidth);
+            softMask.setHeight(outHeight);
+            softMask.setBitsPerComponent(8);
+            softMask.setColorSpace(PDDeviceGray.INSTANCE);
+            target.getCOSObject().setItem(COSName.SMASK, softMask);
+        }
+    }
+
+    /**
+     * Abre o stream para gravação já comprimida. O stream criado com filtro pelo PDFBox
+     * guarda os dados sem compressão até ser fechado, o que manteria a imagem inteira em
+     * memória.
+     */
+    private static OutputStream deflate(COSStream stream) throws IOException {
+        OutputStream raw = stream.createRawOutputStream();
+        stream.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+        return new DeflaterOutputStream(raw, new Deflater(), BUFFER_SIZE, false) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    def.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * Indica se o modelo de cor só produz tons de cinza: espaço de cor cinza ou paleta com
+     * entradas cinza, como nas imagens de um bit.
+     */
+    private static boolean isGray(ColorModel model) {
+        if (model instanceof IndexColorModel palette) {
+            for (int i = 0; i < palette.getMapSize(); i++) {
+                int rgb = palette.getRGB(i) & 0xFFFFFF;
+                if (rgb != (rgb & 0xFF) * 0x010101) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return model.getColorSpace().getType() == ColorSpace.TYPE_GRAY;
+    }
+
+    private static byte average(long sum, long pixels) {
+        return (byte) ((sum + pixels / 2) / pixels);
+    }
+}
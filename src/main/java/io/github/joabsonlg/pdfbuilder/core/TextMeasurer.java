@@ -0,0 +1,250 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Medição de texto usada pelos componentes durante o layout.
+ * <p>
+ * Para as 14 fontes padrão com codificação padrão, as larguras vêm das métricas
+ * pré-compiladas em {@link Standard14Metrics}, sem tocar nos caches internos do PDFBox.
+ * Os resultados são idênticos aos de {@link PDFont#getStringWidth(String)}.
+ * Demais fontes são medidas pelo próprio PDFBox, com a fonte bloqueada durante a medição,
+ * pois os caches de larguras do PDFBox não são sincronizados. O bloqueio é o mesmo usado
+ * por {@link ContentStreamWriter} ao escrever texto, de modo que páginas renderizadas em
+ * paralelo podem medir e escrever com qualquer fonte.
+ */
+public final class TextMeasurer {
+
+    private TextMeasurer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Calcula a largura de um texto em pontos.
+     *
+     * @param font Fonte do texto
+     * @param text Texto a ser medido
+     * @param fontSize Tamanho da fonte
+     * @return Largura do texto em pontos
+     * @throws IOException se houver erro ao ler as métricas da fonte
+     * @throws IllegalArgumentException se algum caractere não estiver disponível na fonte
+     */
+    public static float getStringWidth(PDFont font, String text, float fontSize) throws IOException {
+        return getStringWidth(font, text) / 1000 * fontSize;
+    }
+
+    /**
+     * Calcula a largura de um texto em unidades de glifo (1/1000 do tamanho da fonte).
+     *
+     * @param font Fonte do texto
+     * @param text Texto a ser medido
+     * @return Largura do texto em unidades de glifo
+     * @throws IOException se houver erro ao ler as métricas da fonte
+     * @throws IllegalArgumentException se algum caractere não estiver disponível na fonte
+     */
+    public static float getStringWidth(PDFont font, String text) throws IOException {
+        Standard14Metrics metrics = metricsFor(font);
+        if (metrics == null) {
+            synchronized (font) {
+                return font.getStringWidth(text);
+            }
+        }
+        float width = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            int glyphWidth = metrics.getWidth(codePoint);
+            if (glyphWidth < 0) {
+                throw new IllegalArgumentException(String.format(
+                        "U+%04X não está disponível na fonte %s", codePoint, metrics.getFontName()));
+            }
+            width += glyphWidth;
+            i += Character.charCount(codePoint);
+        }
+        return width;
+    }
+
+    /**
+     * Calcula a largura de um texto em pontos, opcionalmente com kerning.
+     * O kerning é aplicado às fontes padrão a partir dos pares das métricas AFM;
+     * demais fontes são medidas sem kerning.
+     *
+     * @param font Fonte do texto
+     * @param text Texto a ser medido
+     * @param fontSize Tamanho da fonte
+     * @param kerning Se os ajustes de kerning devem ser considerados
+     * @return Largura do texto em pontos
+     * @throws IOException se houver erro ao ler as métricas da fonte
+     * @throws IllegalArgumentException se algum caractere não estiver disponível na fonte
+     */
+    public static float getStringWidth(PDFont font, String text, float fontSize, boolean kerning) throws IOException {
+        Standard14Metrics metrics = kerning ? metricsFor(font) : null;
+        if (metrics == null || metrics.getKerning().isEmpty()) {
+            return getStringWidth(font, text, fontSize);
+        }
+        KerningTable pairs = metrics.getKerning();
+        float width = 0;
+        int previous = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            int glyphWidth = metrics.getWidth(codePoint);
+            if (glyphWidth < 0) {
+                throw new IllegalArgumentException(String.format(
+                        "U+%04X não está disponível na fonte %s", codePoint, metrics.getFontName()));
+            }
+            width += glyphWidth;
+            if (previous >= 0) {
+                width += pairs.get(previous, codePoint);
+            }
+            previous = codePoint;
+            i += Character.charCount(codePoint);
+        }
+        return width / 1000 * fontSize;
+    }
+
+    /**
+     * Divide o texto nos pares com kerning, no formato do operador TJ: trechos de texto
+     * intercalados com ajustes em milésimos de unidade de texto (positivos aproximam os glifos).
+     *
+     * @return Trechos e ajustes, ou array vazio se a fonte não tiver kerning ou o texto não tiver pares
+     */
+    static Object[] getKernedSegments(PDFont font, String text) {
+        Standard14Metrics metrics = metricsFor(font);
+        if (metrics == null || metrics.getKerning().isEmpty()) {
+            return new Object[0];
+        }
+        KerningTable pairs = metrics.getKerning();
+        List<Object> segments = null;
+        int segmentStart = 0;
+        int previous = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            int adjustment = previous >= 0 ? pairs.get(previous, codePoint) : 0;
+            if (adjustment != 0) {
+                if (segments == null) {
+                    segments = new ArrayList<>();
+                }
+                segments.add(text.substring(segmentStart, i));
+                segments.add((float) -adjustment);
+                segmentStart = i;
+            }
+            previous = codePoint;
+            i += Character.charCount(codePoint);
+        }
+        if (segments == null) {
+            return new Object[0];
+        }
+        segments.add(text.substring(segmentStart));
+        return segments.toArray();
+    }
+
+    /**
+     * Retorna o avanço comum dos caracteres quando a fonte tem largura fixa.
+     * <p>
+     * Para um texto aceito por {@link #isFixedPitch(PDFont, CharSequence, int, int)}, a largura
+     * de qualquer trecho com {@code n} caracteres é {@code n * avanço / 1000 * fontSize},
+     * igual à de {@link #getStringWidth(PDFont, String, float)}. Isso permite quebrar linhas
+     * por aritmética de índices, sem codificar nem medir cada linha candidata.
+     *
+     * @param font Fonte do texto
+     * @return Avanço por caractere em unidades de glifo, ou -1 se a fonte for proporcional
+     */
+    public static float getFixedPitchAdvance(PDFont font) {
+        return FixedPitch.of(font).getAdvance();
+    }
+
+    /**
+     * Verifica, sem codificar o texto, se todos os caracteres do intervalo têm o avanço
+     * retornado por {@link #getFixedPitchAdvance(PDFont)}.
+     *
+     * @param font Fonte do texto
+     * @param text Texto a ser verificado
+     * @param start Índice inicial (inclusivo)
+     * @param end Índice final (exclusivo)
+     * @return true se a fonte tiver largura fixa para todo o intervalo
+     */
+    public static boolean isFixedPitch(PDFont font, CharSequence text, int start, int end) {
+        return FixedPitch.of(font).covers(text, start, end);
+    }
+
+    /**
+     * Indica se a fonte é medida pelas métricas pré-compiladas. Essas métricas são somente
+     * leitura e podem ser consultadas por várias threads ao mesmo tempo; as demais fontes
+     * são medidas pelos caches internos do PDFBox, uma thread por vez.
+     *
+     * @param font Fonte do texto
+     * @return true se a largura do texto vier das métricas pré-compiladas
+     */
+    public static boolean hasPrecompiledMetrics(PDFont font) {
+        return metricsFor(font) != null;
+    }
+
+    /**
+     * Retorna a largura do espaço em pontos.
+     *
+     * @param font Fonte do texto
+     * @param fontSize Tamanho da fonte
+     * @return Largura do espaço em pontos
+     */
+    public static float getSpaceWidth(PDFont font, float fontSize) {
+        Standard14Metrics metrics = metricsFor(font);
+        if (metrics != null) {
+            return metrics.getSpaceWidth() / 1000 * fontSize;
+        }
+        synchronized (font) {
+            return font.getSpaceWidth() / 1000 * fontSize;
+        }
+    }
+
+    /**
+     * Retorna a altura da caixa delimitadora da fonte em pontos.
+     *
+     * @param font Fonte do texto
+     * @param fontSize Tamanho da fonte
+     * @return Altura da caixa delimitadora em pontos
+     * @throws IOException se houver erro ao ler as métricas da fonte
+     */
+    public static float getBoundingBoxHeight(PDFont font, float fontSize) throws IOException {
+        Standard14Metrics metrics = metricsFor(font);
+        if (metrics != null) {
+            return metrics.getBoundingBoxHeight() / 1000 * fontSize;
+        }
+        synchronized (font) {
+            return font.getBoundingBox().getHeight() / 1000 * fontSize;
+        }
+    }
+
+    /**
+     * Retorna as métricas pré-compiladas aplicáveis à fonte, ou null se ela precisar
+     * ser medida pelo PDFBox (fonte embutida, com /Widths ou com codificação personalizada).
+     */
+    static Standard14Metrics metricsFor(PDFont font) {
+        if (!(font instanceof PDType1Font type1Font)) {
+            return null;
+        }
+        if (StandardFonts.isShared(type1Font)) {
+            return Standard14Metrics.forName(type1Font.getName());
+        }
+        return hasDefaultMetrics(type1Font) ? Standard14Metrics.forName(type1Font.getName()) : null;
+    }
+
+    private static boolean hasDefaultMetrics(PDType1Font font) {
+        if (font.getClass() != PDType1Font.class || font.isEmbedded() || !font.isStandard14()) {
+            return false;
+        }
+        COSDictionary dictionary = font.getCOSObject();
+        if (dictionary.containsKey(COSName.WIDTHS)) {
+            return false;
+        }
+        COSBase encoding = dictionary.getDictionaryObject(COSName.ENCODING);
+        boolean symbolic = "Symbol".equals(font.getName()) || "ZapfDingbats".equals(font.getName());
+        return symbolic ? encoding == null : COSName.WIN_ANSI_ENCODING.equals(encoding);
+    }
+}
@@ -13,9 +13,9 @@ import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
 import io.github.joabsonlg.pdfbuilder.core.PDFBuilder;
 import io.github.joabsonlg.pdfbuilder.core.PDFConfiguration;
 import io.github.joabsonlg.pdfbuilder.core.SafeArea;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,17 +61,17 @@ public final class CompleteExample {
         PDFont defaultFont = builder.getResourceManager().getDefaultFont();
 
         TextStyle titleStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD))
                 .withFontSize(24)
                 .build();
 
         TextStyle subtitleStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD))
                 .withFontSize(18)
                 .build();
 
         TextStyle boldStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD))
                 .withFontSize(12)
                 .withColor(Color.BLACK)
                 .build();
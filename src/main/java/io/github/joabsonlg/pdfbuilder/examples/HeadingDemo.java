@@ -7,8 +7,8 @@ import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
 import io.github.joabsonlg.pdfbuilder.core.PDFBuilder;
 import io.github.joabsonlg.pdfbuilder.core.PDFConfiguration;
 import io.github.joabsonlg.pdfbuilder.core.SafeArea;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,7 +52,7 @@ public final class HeadingDemo {
 
         // Subtítulo (H2) com cor personalizada
         TextStyle blueStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD))
                 .withFontSize(HeadingLevel.H2.getFontSize())
                 .withColor(new Color(0, 102, 204))
                 .build();
@@ -93,7 +93,7 @@ public final class HeadingDemo {
                                 "Ut enim ad minim veniam, quis nostrud exercitation ullamco laboris " +
                                 "nisi ut aliquip ex ea commodo consequat.",
                         TextStyle.builder()
-                                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                                 .withFontSize(12f)
                                 .build())
                 .build();
@@ -6,9 +6,9 @@ import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
 import io.github.joabsonlg.pdfbuilder.core.PDFBuilder;
 import io.github.joabsonlg.pdfbuilder.core.PDFConfiguration;
 import io.github.joabsonlg.pdfbuilder.core.SafeArea;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
 
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,20 +50,20 @@ public final class ImageDemo {
             Paragraph intro = Paragraph.builder()
                     .addStyledText("Demonstração de Imagens\n\n",
                             TextStyle.builder()
-                                    .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD))
+                                    .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD))
                                     .withFontSize(14f)
                                     .withColor(Color.BLACK)
                                     .build())
                     .addStyledText("Este exemplo demonstra diferentes maneiras de incluir e formatar imagens " +
                                     "em um documento PDF usando o PDF Builder. Abaixo você verá exemplos de:\n\n",
                             TextStyle.builder()
-                                    .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                                    .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                                     .withFontSize(12f)
                                     .build())
                     .addStyledText("1. Imagem em tamanho original (redimensionado se atingir o limite da página)\n" +
                                     "2. Imagem redimensionada mantendo proporção\n\n",
                             TextStyle.builder()
-                                    .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                                    .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                                     .withFontSize(12f)
                                     .build())
                     .build();
@@ -96,7 +96,7 @@ public final class ImageDemo {
                     .addParagraph(Paragraph.builder()
                             .addStyledText("\n\n",
                                     TextStyle.builder()
-                                            .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                                            .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                                             .withFontSize(12f)
                                             .build())
                             .build())
@@ -108,7 +108,7 @@ public final class ImageDemo {
                                             "automaticamente ajustadas para caber dentro da área segura da página, garantindo uma " +
                                             "apresentação profissional do documento.",
                                     TextStyle.builder()
-                                            .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                                            .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                                             .withFontSize(12f)
                                             .withColor(Color.BLACK)
                                             .build())
@@ -10,9 +10,9 @@ import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
 import io.github.joabsonlg.pdfbuilder.core.PDFBuilder;
 import io.github.joabsonlg.pdfbuilder.core.PDFConfiguration;
 import io.github.joabsonlg.pdfbuilder.core.SafeArea;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,7 +50,7 @@ public final class ListDemo {
 
         // Estilos de texto
         TextStyle blueStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD))
                 .withFontSize(HeadingLevel.H1.getFontSize())
                 .withColor(new Color(0, 102, 204))
                 .build();
@@ -62,7 +62,7 @@ public final class ListDemo {
                 .build();
 
         TextStyle boldStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD))
                 .withFontSize(12)
                 .withColor(Color.BLACK)
                 .build();
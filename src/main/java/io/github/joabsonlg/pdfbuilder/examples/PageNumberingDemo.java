@@ -9,8 +9,8 @@ import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
 import io.github.joabsonlg.pdfbuilder.core.PDFBuilder;
 import io.github.joabsonlg.pdfbuilder.core.PDFConfiguration;
 import io.github.joabsonlg.pdfbuilder.core.SafeArea;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,7 +47,7 @@ public final class PageNumberingDemo {
 
         // Configura a numeração de páginas
         PageNumbering pageNumbering = PageNumbering.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                 .withFontSize(10)
                 .withColor(new Color(128, 128, 128))
                 .withFormat(PageNumbering.Format.WITH_TOTAL)
@@ -60,12 +60,12 @@ public final class PageNumberingDemo {
 
         // Estilos de texto
         TextStyle titleStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD))
                 .withFontSize(24f)
                 .build();
 
         TextStyle normalStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                 .withFontSize(12f)
                 .build();
 
@@ -6,8 +6,8 @@ import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
 import io.github.joabsonlg.pdfbuilder.core.PDFBuilder;
 import io.github.joabsonlg.pdfbuilder.core.PDFConfiguration;
 import io.github.joabsonlg.pdfbuilder.core.SafeArea;
+import io.github.joabsonlg.pdfbuilder.core.StandardFonts;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,28 +46,28 @@ public final class ParagraphDemo {
 
         // 2. Estilos de texto
         TextStyle normalStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                 .withFontSize(12f)
                 .build();
 
         TextStyle boldStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_BOLD))
                 .withFontSize(12f)
                 .build();
 
         TextStyle italicStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_OBLIQUE))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA_OBLIQUE))
                 .withFontSize(12f)
                 .build();
 
         TextStyle underlineStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                 .withFontSize(12f)
                 .withUnderline(true)
                 .build();
 
         TextStyle colorStyle = TextStyle.builder()
-                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
                 .withFontSize(12f)
                 .withColor(Color.BLUE)
                 .build();
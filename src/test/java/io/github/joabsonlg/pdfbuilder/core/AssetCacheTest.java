@@ -0,0 +1,179 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AssetCache")
+class AssetCacheTest {
+
+    @BeforeEach
+    void setUp() {
+        AssetCache.clear();
+        AssetCache.setMaxSize(AssetCache.DEFAULT_MAX_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        AssetCache.clear();
+        AssetCache.setMaxSize(AssetCache.DEFAULT_MAX_SIZE);
+    }
+
+    @Test
+    @DisplayName("Deve importar a imagem codificada em outros documentos")
+    void shouldImportEncodedImageIntoOtherDocuments() throws IOException {
+        byte[] logo = createLogo(Color.BLUE, 120);
+
+        byte[] first = renderWithImage(logo);
+        AssetCache.Statistics afterFirst = AssetCache.getStatistics();
+        assertEquals(0, afterFirst.getHits());
+        assertEquals(1, afterFirst.getMisses());
+        assertEquals(1, afterFirst.getEntryCount());
+
+        byte[] second = renderWithImage(logo);
+        AssetCache.Statistics afterSecond = AssetCache.getStatistics();
+        assertEquals(1, afterSecond.getHits());
+        assertEquals(0.5, afterSecond.getHitRate());
+
+        try (PDDocument original = Loader.loadPDF(first); PDDocument imported = Loader.loadPDF(second)) {
+            PDImageXObject originalImage = firstImage(original.getPage(0));
+            PDImageXObject importedImage = firstImage(imported.getPage(0));
+            assertEquals(originalImage.getCOSObject().toString(), importedImage.getCOSObject().toString());
+            assertArrayEquals(readRaw(originalImage), readRaw(importedImage));
+            assertNotNull(importedImage.getSoftMask());
+            assertEquals(originalImage.getImage().getRGB(60, 60), importedImage.getImage().getRGB(60, 60));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar as entradas usadas há mais tempo ao exceder o tamanho máximo")
+    void shouldEvictLeastRecentlyUsedEntries() throws IOException {
+        byte[][] logos = new byte[9][];
+        for (int i = 0; i < logos.length; i++) {
+            logos[i] = createLogo(new Color(i * 20, 0, 255), 64);
+        }
+        for (byte[] logo : logos) {
+            renderWithImage(logo);
+        }
+        renderWithImage(logos[0]);
+        AssetCache.setMaxSize(AssetCache.getStatistics().getSize() - 1);
+
+        AssetCache.Statistics statistics = AssetCache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getEvictions());
+        assertEquals(8, statistics.getEntryCount());
+        assertTrue(statistics.getSize() <= AssetCache.getMaxSize());
+
+        renderWithImage(logos[0]);
+        assertEquals(2, AssetCache.getStatistics().getHits());
+        renderWithImage(logos[1]);
+        assertEquals(2, AssetCache.getStatistics().getHits());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar o cache quando desativado")
+    void shouldBypassCacheWhenDisabled() throws IOException {
+        AssetCache.setMaxSize(0);
+        byte[] logo = createLogo(Color.BLUE, 64);
+        renderWithImage(logo);
+        renderWithImage(logo);
+        assertEquals(0, AssetCache.getStatistics().getHits());
+        assertEquals(0, AssetCache.getStatistics().getEntryCount());
+        assertThrows(IllegalArgumentException.class, () -> AssetCache.setMaxSize(-1));
+    }
+
+    @Test
+    @DisplayName("Não deve compartilhar imagens recodificadas pela seleção de codificação")
+    void shouldNotShareImagesAcrossEncodingSettings() throws IOException {
+        BufferedImage photo = new BufferedImage(200, 150, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(41);
+        for (int y = 0; y < photo.getHeight(); y++) {
+            for (int x = 0; x < photo.getWidth(); x++) {
+                photo.setRGB(x, y, random.nextInt());
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(photo, "PNG", output);
+        byte[] png = output.toByteArray();
+
+        for (int i = 0; i < 2; i++) {
+            try (PDDocument document = new PDDocument()) {
+                ResourceManager manager = new ResourceManager(document);
+                manager.setImageEncodingSelection(true);
+                PDImageXObject image = manager.createImage(png, "foto.png");
+                assertEquals(List.of(COSName.DCT_DECODE), image.getStream().getFilters());
+                assertEquals(Map.of(ImageEncoding.DCT_RGB, 1), manager.getImageEncodingCounts());
+            }
+        }
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject image = new ResourceManager(document).createImage(png, "foto.png");
+            assertEquals(List.of(COSName.FLATE_DECODE), image.getStream().getFilters());
+            assertEquals(photo.getRGB(10, 20), image.getImage().getRGB(10, 20));
+        }
+        assertEquals(0, AssetCache.getStatistics().getHits());
+        assertEquals(1, AssetCache.getStatistics().getEntryCount());
+    }
+
+    private byte[] renderWithImage(byte[] content) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            PDImageXObject image = new ResourceManager(document).createImage(content, "logo.png");
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.drawImage(image, 50, 600, 100, 100);
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            document.save(output);
+            return output.toByteArray();
+        }
+    }
+
+    private PDImageXObject firstImage(PDPage page) throws IOException {
+        COSName name = page.getResources().getXObjectNames().iterator().next();
+        return (PDImageXObject) page.getResources().getXObject(name);
+    }
+
+    private byte[] readRaw(PDImageXObject image) throws IOException {
+        try (InputStream in = image.getCOSObject().createRawInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Cria um logo PNG com transparência.
+     * @param color Cor do logo
+     * @param size Largura e altura em pixels
+     * @return Bytes do arquivo PNG
+     * @throws IOException se houver erro ao codificar a imagem
+     */
+    private byte[] createLogo(Color color, int size) throws IOException {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(color);
+        g2d.fillOval(0, 0, size, size);
+        g2d.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "PNG", output);
+        return output.toByteArray();
+    }
+}
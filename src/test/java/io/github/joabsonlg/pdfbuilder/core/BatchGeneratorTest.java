@@ -0,0 +1,86 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BatchGenerator")
+class BatchGeneratorTest {
+
+    @Test
+    @DisplayName("Deve gerar um documento por registro e registrar os erros")
+    void shouldGenerateOneDocumentPerRecord() throws Exception {
+        List<Integer> records = IntStream.range(0, 12).boxed().collect(Collectors.toList());
+        Map<Integer, ByteArrayOutputStream> outputs = new ConcurrentHashMap<>();
+
+        BatchResult result = BatchGenerator.<Integer>builder()
+                .withRenderer((record, builder) -> {
+                    if (record == 5) {
+                        throw new IOException("Extrato inválido");
+                    }
+                    builder.addText("Extrato " + record);
+                })
+                .withSink(record -> outputs.computeIfAbsent(record, k -> new ByteArrayOutputStream()))
+                .withMaxConcurrency(3)
+                .build()
+                .generate(records);
+
+        assertEquals(12, result.getDocuments().size());
+        assertEquals(1, result.getFailed().size());
+        assertEquals(5, result.getFailed().get(0).getIndex());
+        assertEquals("Extrato inválido", result.getFailed().get(0).getError().getMessage());
+        for (BatchResult.Document document : result.getDocuments()) {
+            assertFalse(document.getElapsed().isNegative());
+            if (document.isSuccessful()) {
+                byte[] pdf = outputs.get((int) document.getIndex()).toByteArray();
+                assertEquals(pdf.length, document.getSize());
+                try (PDDocument loaded = Loader.loadPDF(pdf)) {
+                    assertTrue(new PDFTextStripper().getText(loaded).contains("Extrato " + document.getIndex()));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve limitar a concorrência pelo número de threads e pelo orçamento de memória")
+    void shouldBoundConcurrencyByThreadsAndMemory() throws Exception {
+        for (boolean memoryBound : new boolean[]{false, true}) {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            BatchGenerator.Builder<Integer> builder = BatchGenerator.<Integer>builder()
+                    .withRenderer((record, pdf) -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(20);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                    })
+                    .withSink(record -> new ByteArrayOutputStream())
+                    .withMaxConcurrency(memoryBound ? 8 : 3);
+            if (memoryBound) {
+                builder.withMemoryBudget(64L << 20).withMemoryEstimate(record -> 30L << 20);
+            }
+
+            BatchResult result = builder.build().generate(IntStream.range(0, 16).boxed().collect(Collectors.toList()));
+
+            assertTrue(result.getFailed().isEmpty());
+            assertTrue(maxRunning.get() <= (memoryBound ? 2 : 3), "Documentos simultâneos: " + maxRunning.get());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import io.github.joabsonlg.pdfbuilder.components.table.Table;
+import io.github.joabsonlg.pdfbuilder.components.text.Paragraph;
+import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("ContentStreamWriter")
+class ContentStreamWriterTest {
+
+    private PDDocument document;
+    private PDPage page;
+    private ContentStreamWriter writer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        document = new PDDocument();
+        page = new PDPage();
+        document.addPage(page);
+        writer = new ContentStreamWriter(new PDPageContentStream(document, page));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        document.close();
+    }
+
+    @Test
+    @DisplayName("Deve emitir estado da tabela apenas uma vez")
+    void shouldEmitTableStateOnce() throws IOException {
+        Table table = Table.builder()
+                .withData(Arrays.asList(
+                        Arrays.asList("Nome", "Idade", "Cidade"),
+                        Arrays.asList("João", "25", "São Paulo"),
+                        Arrays.asList("Maria", "30", "Rio de Janeiro")))
+                .withColumnWidths(100f, 100f, 100f)
+                .withHeader(false)
+                .build();
+
+        table.render(writer, 50, 700, 500);
+        writer.close();
+
+        Map<String, Integer> operators = countOperators();
+        assertEquals(9, operators.get("Tj"));
+        assertEquals(9, operators.get("re"));
+        assertEquals(1, operators.get("Tf"));
+        assertEquals(1, operators.get("SC"));
+        assertEquals(1, operators.get("w"));
+        assertEquals(1, operators.get("sc"));
+    }
+
+    @Test
+    @DisplayName("Deve fundir blocos de texto de um parágrafo")
+    void shouldMergeParagraphTextObjects() throws IOException {
+        TextStyle style = TextStyle.builder()
+                .withFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA))
+                .withFontSize(12)
+                .build();
+        Paragraph paragraph = Paragraph.builder()
+                .addStyledText("Um parágrafo com várias palavras para renderizar em uma linha", style)
+                .build();
+
+        paragraph.render(writer, 50, 700, 500);
+        writer.close();
+
+        Map<String, Integer> operators = countOperators();
+        assertEquals(10, operators.get("Tj"));
+        assertEquals(1, operators.get("BT"));
+        assertEquals(1, operators.get("ET"));
+        assertEquals(1, operators.get("Tf"));
+        assertEquals(1, operators.get("sc"));
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o estado acompanhado após Q")
+    void shouldRestoreTrackedStateOnRestore() throws IOException {
+        PDFont helvetica = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        PDFont courier = new PDType1Font(Standard14Fonts.FontName.COURIER);
+
+        writer.setFont(helvetica, 12);
+        writer.saveGraphicsState();
+        writer.setFont(courier, 12);
+        writer.restoreGraphicsState();
+        writer.setFont(helvetica, 12);
+        writer.setFont(courier, 12);
+        writer.close();
+
+        assertEquals(3, countOperators().get("Tf"));
+    }
+
+    @Test
+    @DisplayName("Deve reposicionar texto fundido na mesma origem")
+    void shouldRepositionMergedTextAtSameOrigin() throws IOException {
+        writer.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+        for (int i = 0; i < 2; i++) {
+            writer.beginText();
+            writer.newLineAtOffset(50, 700);
+            writer.showText("Texto");
+            writer.endText();
+        }
+        writer.close();
+
+        Map<String, Integer> operators = countOperators();
+        assertEquals(1, operators.get("BT"));
+        assertEquals(2, operators.get("Td"));
+    }
+
+    @Test
+    @DisplayName("Deve escrever texto com kerning usando TJ")
+    void shouldWriteKernedTextWithPositioning() throws IOException {
+        writer.setFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA), 12);
+        writer.beginText();
+        writer.newLineAtOffset(50, 700);
+        writer.showKernedText("AVATAR");
+        writer.showKernedText("xxx");
+        writer.endText();
+        writer.close();
+
+        Map<String, Integer> operators = countOperators();
+        assertEquals(1, operators.get("TJ"));
+        assertEquals(1, operators.get("Tj"));
+        assertEquals("AVATARxxx", new PDFTextStripper().getText(document).trim());
+    }
+
+    private Map<String, Integer> countOperators() throws IOException {
+        Map<String, Integer> counts = new HashMap<>();
+        List<Object> tokens = new PDFStreamParser(page).parse();
+        for (Object token : tokens) {
+            if (token instanceof Operator operator) {
+                counts.merge(operator.getName(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+}
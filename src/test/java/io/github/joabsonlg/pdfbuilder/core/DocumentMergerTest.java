@@ -0,0 +1,144 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import io.github.joabsonlg.pdfbuilder.components.image.Image;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDPageDestination;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDPageFitDestination;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DocumentMerger")
+class DocumentMergerTest {
+
+    @Test
+    @DisplayName("Deve concatenar os documentos compartilhando fontes e imagens idênticas")
+    void shouldMergeDocumentsSharingIdenticalFontsAndImages(@TempDir Path tempDir) throws IOException {
+        Path fontPath = tempDir.resolve("corporativa.ttf");
+        try (InputStream font = PDDocument.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")) {
+            Files.copy(font, fontPath);
+        }
+        Path imagePath = tempDir.resolve("logo.png");
+        BufferedImage logo = new BufferedImage(200, 120, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < logo.getWidth(); x++) {
+            for (int y = 0; y < logo.getHeight(); y++) {
+                logo.setRGB(x, y, new Color(x, y * 2, 90).getRGB());
+            }
+        }
+        ImageIO.write(logo, "png", imagePath.toFile());
+
+        int documents = 6;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (DocumentMerger merger = DocumentMerger.create()) {
+            for (int i = 0; i < documents; i++) {
+                PDFBuilder builder = PDFBuilder.create();
+                builder.getResourceManager().loadFont("Corporativa", fontPath);
+                builder.getResourceManager().setDefaultFont("Corporativa");
+                builder.addImage(Image.builder(builder.getDocument(), imagePath.toString())
+                                .withWidth(100)
+                                .build())
+                        // Mesmos glifos em todos os documentos, portanto o mesmo subconjunto da fonte
+                        .addText("Fatura 0123456789 número " + i)
+                        .addNewPage()
+                        .addText("Fatura " + i + " continuação");
+                if (i % 2 == 0) {
+                    merger.append(builder);
+                } else {
+                    ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+                    builder.saveToOutputStream(pdf);
+                    merger.append(pdf.toByteArray());
+                }
+            }
+            assertEquals(documents * 2, merger.getPageCount());
+            // Imagem e programa da fonte de cada documento após o primeiro
+            assertEquals((documents - 1) * 2, merger.getReusedStreamCount());
+            assertTrue(merger.getReusedBytes() > 0);
+            merger.save(output);
+        }
+
+        try (PDDocument merged = Loader.loadPDF(output.toByteArray())) {
+            assertEquals(documents * 2, merged.getNumberOfPages());
+            String text = new PDFTextStripper().getText(merged);
+            for (int i = 0; i < documents; i++) {
+                assertTrue(text.contains("Fatura 0123456789 número " + i), text);
+                assertTrue(text.contains("Fatura " + i + " continuação"), text);
+            }
+            PDResources first = merged.getPage(0).getResources();
+            PDResources last = merged.getPage(2 * (documents - 1)).getResources();
+            COSName image = first.getXObjectNames().iterator().next();
+            assertSame(first.getXObject(image).getCOSObject(),
+                    last.getXObject(last.getXObjectNames().iterator().next()).getCOSObject());
+            PDType0Font firstFont = (PDType0Font) first.getFont(first.getFontNames().iterator().next());
+            PDType0Font lastFont = (PDType0Font) last.getFont(last.getFontNames().iterator().next());
+            assertSame(firstFont.getDescendantFont().getFontDescriptor().getFontFile2().getCOSObject(),
+                    lastFont.getDescendantFont().getFontDescriptor().getFontFile2().getCOSObject());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter links internos apontando para as páginas copiadas")
+    void shouldKeepInternalLinksPointingToCopiedPages() throws IOException {
+        ByteArrayOutputStream source = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument()) {
+            PDPage first = new PDPage(PDRectangle.A4);
+            PDPage second = new PDPage(PDRectangle.A4);
+            document.addPage(first);
+            document.addPage(second);
+            // CropBox herdado da árvore de páginas
+            document.getPages().getCOSObject().setItem(COSName.CROP_BOX,
+                    new PDRectangle(20, 20, 500, 700).getCOSArray());
+
+            PDPageFitDestination destination = new PDPageFitDestination();
+            destination.setPage(second);
+            PDAnnotationLink link = new PDAnnotationLink();
+            link.setRectangle(new PDRectangle(50, 700, 100, 20));
+            link.setDestination(destination);
+            first.getAnnotations().add(link);
+            document.save(source);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (DocumentMerger merger = DocumentMerger.create()) {
+            merger.append(source.toByteArray());
+            merger.append(source.toByteArray());
+            merger.save(output);
+        }
+
+        try (PDDocument merged = Loader.loadPDF(output.toByteArray())) {
+            assertEquals(4, merged.getNumberOfPages());
+            for (int i = 0; i < 4; i += 2) {
+                PDPage page = merged.getPage(i);
+                PDAnnotationLink link = (PDAnnotationLink) page.getAnnotations().get(0);
+                PDPageDestination destination = (PDPageDestination) link.getDestination();
+                assertEquals(i + 1, merged.getPages().indexOf(destination.getPage()));
+                assertSame(merged.getPages().getCOSObject(),
+                        destination.getPage().getCOSObject().getCOSDictionary(COSName.PARENT));
+            }
+            for (PDPage page : merged.getPages()) {
+                PDRectangle cropBox = page.getCropBox();
+                assertEquals(20, cropBox.getLowerLeftX());
+                assertEquals(500, cropBox.getWidth());
+                assertEquals(700, cropBox.getHeight());
+            }
+        }
+    }
+}
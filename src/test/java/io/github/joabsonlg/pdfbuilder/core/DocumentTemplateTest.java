@@ -0,0 +1,224 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import io.github.joabsonlg.pdfbuilder.components.logo.LogoStyle;
+import io.github.joabsonlg.pdfbuilder.components.page.PageNumbering;
+import io.github.joabsonlg.pdfbuilder.components.page.PageSection;
+import io.github.joabsonlg.pdfbuilder.components.text.Paragraph;
+import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DocumentTemplate")
+class DocumentTemplateTest {
+
+    @Test
+    @DisplayName("Deve preencher os campos e continuar o conteúdo após o modelo")
+    void shouldFillSlotsAndContinueAfterTemplate() throws IOException {
+        DocumentTemplate template = DocumentTemplate.builder()
+                .withContent(builder -> builder
+                        .setFontSize(18)
+                        .addLine("Fatura")
+                        .addParagraph(Paragraph.builder()
+                                .addStyledText("Pagamento em até 30 dias.", TextStyle.builder()
+                                        .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
+                                        .withFontSize(10)
+                                        .build())
+                                .build()))
+                .withSlot("cliente", 300, 780, 10)
+                .withSlot("numero", 450, 780, 10)
+                .build();
+
+        PDFBuilder builder = template.newDocument(Map.of("cliente", "Ana Souza", "numero", "000123"));
+        assertEquals(12f, builder.getFontSize());
+        builder.addText("Item 1");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.saveToOutputStream(output);
+
+        try (PDDocument document = Loader.loadPDF(output.toByteArray())) {
+            assertEquals(1, document.getNumberOfPages());
+            String text = new PDFTextStripper().getText(document);
+            for (String expected : new String[]{"Fatura", "Pagamento em até 30 dias.", "Ana Souza", "000123", "Item 1"}) {
+                assertTrue(text.contains(expected), "Texto ausente: " + expected);
+            }
+            // Prefixo q, conteúdo do modelo e conteúdo do documento
+            COSArray contents = (COSArray) document.getPage(0).getCOSObject().getDictionaryObject(COSName.CONTENTS);
+            assertEquals(3, contents.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar campos desconhecidos e modelos com mais de uma página")
+    void shouldRejectUnknownSlotsAndMultiPageContent() throws IOException {
+        DocumentTemplate template = DocumentTemplate.builder()
+                .withContent(builder -> builder.addText("Extrato"))
+                .withSlot("conta", 100, 700, 10)
+                .build();
+        assertEquals(Set.of("conta"), template.getSlotNames());
+        assertThrows(IllegalArgumentException.class, () -> template.newDocument(Map.of("agencia", "1")));
+        assertThrows(IllegalArgumentException.class, () -> DocumentTemplate.builder().withSlot("conta", 0, 0, 10)
+                .withSlot("conta", 0, 0, 10));
+
+        DocumentTemplate.Builder multiPage = DocumentTemplate.builder()
+                .withContent(builder -> builder.addText("Página 1").addNewPage().addText("Página 2"));
+        assertThrows(IllegalStateException.class, multiPage::build);
+    }
+
+    @Test
+    @DisplayName("Deve repetir logo, rodapé e numeração nas páginas do conteúdo variável")
+    void shouldApplyPageFurnitureWhenContentOverflows() throws IOException {
+        DocumentTemplate template = invoiceTemplate();
+
+        PDFBuilder builder = template.newDocument(Map.of("cliente", "Ana Souza"));
+        for (int i = 1; i <= 80; i++) {
+            builder.addParagraph(item("Item " + i));
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.saveToOutputStream(output);
+
+        try (PDDocument document = Loader.loadPDF(output.toByteArray())) {
+            int pages = document.getNumberOfPages();
+            assertTrue(pages > 1);
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = 1; page <= pages; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                String text = stripper.getText(document);
+                assertEquals(1, text.split("Empresa", -1).length - 1, "Logo na página " + page);
+                assertEquals(1, text.split("Confidencial", -1).length - 1, "Rodapé na página " + page);
+                assertTrue(text.contains(page + " de "), "Numeração na página " + page);
+            }
+            assertTrue(stripper.getText(document).contains(pages + " de " + pages));
+            assertTrue(stripper.getText(document).contains("Item 80"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve desenhar as imagens do logo a partir da cópia da primeira página")
+    void shouldReuseLogoImagesAcrossPages(@TempDir Path tempDir) throws IOException {
+        Path brand = tempDir.resolve("marca.png");
+        BufferedImage image = new BufferedImage(40, 40, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.BLUE);
+        g2d.fillRect(0, 0, 40, 40);
+        g2d.dispose();
+        ImageIO.write(image, "PNG", brand.toFile());
+        DocumentTemplate template = DocumentTemplate.builder()
+                .withContent(builder -> builder.setLogo("Empresa", LogoStyle.builder().build(), brand.toString(), null))
+                .build();
+
+        PDFBuilder builder = template.newDocument();
+        for (int i = 1; i <= 80; i++) {
+            builder.addParagraph(item("Item " + i));
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.saveToOutputStream(output);
+
+        try (PDDocument document = Loader.loadPDF(output.toByteArray())) {
+            assertTrue(document.getNumberOfPages() > 1);
+            Set<COSBase> images = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (PDPage page : document.getPages()) {
+                PDResources resources = page.getResources();
+                int pageImages = 0;
+                for (COSName name : resources.getXObjectNames()) {
+                    images.add(resources.getXObject(name).getCOSObject());
+                    pageImages++;
+                }
+                assertEquals(1, pageImages, "Imagens na página " + document.getPages().indexOf(page));
+            }
+            assertEquals(1, images.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve criar documentos do mesmo modelo em várias threads")
+    void shouldCreateDocumentsConcurrently() throws Exception {
+        DocumentTemplate template = invoiceTemplate();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> documents = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                String client = "Cliente " + i;
+                documents.add(executor.submit(() -> {
+                    PDFBuilder builder = template.newDocument(Map.of("cliente", client));
+                    for (int item = 1; item <= 60; item++) {
+                        builder.addParagraph(item(client + " item " + item));
+                    }
+                    ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    builder.saveToOutputStream(output);
+                    return output.toByteArray();
+                }));
+            }
+            for (int i = 0; i < documents.size(); i++) {
+                try (PDDocument document = Loader.loadPDF(documents.get(i).get())) {
+                    String text = new PDFTextStripper().getText(document);
+                    assertTrue(text.contains("Fatura"));
+                    assertTrue(text.contains("Cliente " + i + " item 60"));
+                    assertFalse(text.contains("Cliente " + (i + 1) + " "));
+                    int pages = document.getNumberOfPages();
+                    assertEquals(pages, text.split("Confidencial", -1).length - 1);
+                    assertTrue(text.contains(pages + " de " + pages));
+                }
+            }
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Paragraph item(String text) {
+        return Paragraph.builder()
+                .addStyledText(text, TextStyle.builder()
+                        .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
+                        .withFontSize(10)
+                        .build())
+                .build();
+    }
+
+    private DocumentTemplate invoiceTemplate() throws IOException {
+        return DocumentTemplate.builder()
+                .withContent(builder -> builder
+                        .setLogo("Empresa")
+                        .setFooter(PageSection.builder()
+                                .withLeftText("Confidencial")
+                                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
+                                .build())
+                        .setPageNumbering(PageNumbering.builder()
+                                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
+                                .withFormat(PageNumbering.Format.WITH_TOTAL)
+                                .build())
+                        .addLine("Fatura"))
+                .withSlot("cliente", 300, 700, 10)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import io.github.joabsonlg.pdfbuilder.components.text.Paragraph;
+import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FontFallback")
+class FontFallbackTest {
+
+    private PDDocument document;
+    private PDFont helvetica;
+    private PDFont unicodeFont;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws IOException {
+        document = new PDDocument();
+        helvetica = StandardFonts.get(Standard14Fonts.FontName.HELVETICA);
+        Path fontPath = tempDir.resolve("unicode.ttf");
+        try (InputStream font = PDDocument.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")) {
+            Files.copy(font, fontPath);
+        }
+        unicodeFont = new ResourceManager(document).loadFont("Unicode", fontPath);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        document.close();
+    }
+
+    @Test
+    @DisplayName("Deve dividir o texto nos limites de cobertura das fontes")
+    void shouldSplitRunsAtCoverageBoundaries() throws IOException {
+        List<FontFallback.TextRun> runs = FontFallback.split(helvetica, List.of(unicodeFont), "Olá Привет, mundo");
+
+        assertEquals(3, runs.size());
+        assertEquals("Olá ", runs.get(0).getText());
+        assertSame(helvetica, runs.get(0).getFont());
+        assertEquals("Привет", runs.get(1).getText());
+        assertSame(unicodeFont, runs.get(1).getFont());
+        assertEquals(", mundo", runs.get(2).getText());
+        assertSame(helvetica, runs.get(2).getFont());
+
+        float expected = TextMeasurer.getStringWidth(helvetica, "Olá ", 12)
+                + TextMeasurer.getStringWidth(unicodeFont, "Привет", 12)
+                + TextMeasurer.getStringWidth(helvetica, ", mundo", 12);
+        assertEquals(expected, FontFallback.getStringWidth(helvetica, List.of(unicodeFont), "Olá Привет, mundo", 12));
+    }
+
+    @Test
+    @DisplayName("Deve manter um único trecho quando a fonte principal cobre o texto")
+    void shouldKeepSingleRunWhenCovered() {
+        List<FontFallback.TextRun> runs = FontFallback.split(helvetica, List.of(unicodeFont), "Relatório");
+        assertEquals(1, runs.size());
+        assertSame(helvetica, runs.get(0).getFont());
+    }
+
+    @Test
+    @DisplayName("Deve renderizar parágrafo com caracteres fora da fonte principal")
+    void shouldRenderParagraphWithFallbackFont() throws IOException {
+        TextStyle style = TextStyle.builder()
+                .withFont(helvetica)
+                .withFallbackFonts(unicodeFont)
+                .build();
+        Paragraph paragraph = Paragraph.builder()
+                .addStyledText("Relatório Привет final", style)
+                .build();
+        PDPage page = new PDPage();
+        document.addPage(page);
+        try (ContentStreamWriter writer = new ContentStreamWriter(new PDPageContentStream(document, page))) {
+            paragraph.render(writer, 50, 700, 500);
+        }
+
+        String text = new PDFTextStripper().getText(document);
+        assertEquals("Relatório Привет final", text.trim());
+    }
+}
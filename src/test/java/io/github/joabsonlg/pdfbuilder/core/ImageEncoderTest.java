@@ -0,0 +1,98 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ImageEncoder")
+class ImageEncoderTest {
+
+    @Test
+    @DisplayName("Deve escolher JPEG para fotografias")
+    void shouldSelectDctForPhotos() {
+        assertEquals(ImageEncoding.DCT_RGB, ImageEncoder.select(photo(false)));
+        assertEquals(ImageEncoding.DCT_GRAY, ImageEncoder.select(photo(true)));
+    }
+
+    @Test
+    @DisplayName("Deve escolher Flate para gráficos")
+    void shouldSelectFlateForGraphics() {
+        assertEquals(ImageEncoding.FLATE_RGB, ImageEncoder.select(chart(Color.RED, BufferedImage.TYPE_INT_RGB)));
+        assertEquals(ImageEncoding.FLATE_GRAY, ImageEncoder.select(chart(Color.GRAY, BufferedImage.TYPE_INT_RGB)));
+        assertEquals(ImageEncoding.FLATE_RGB, ImageEncoder.select(chart(Color.GRAY, BufferedImage.TYPE_INT_ARGB)));
+    }
+
+    @Test
+    @DisplayName("Deve escolher CCITT para imagens em preto e branco")
+    void shouldSelectCcittForBilevelImages() throws IOException {
+        BufferedImage scan = chart(Color.BLACK, BufferedImage.TYPE_INT_RGB);
+        assertEquals(ImageEncoding.CCITT_G4, ImageEncoder.select(scan));
+
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject image = ImageEncoder.encode(document, scan, ImageEncoding.CCITT_G4, 0.7f);
+            assertEquals(List.of(COSName.CCITTFAX_DECODE), image.getStream().getFilters());
+            BufferedImage decoded = image.getImage();
+            for (int y = 0; y < scan.getHeight(); y++) {
+                for (int x = 0; x < scan.getWidth(); x++) {
+                    assertEquals(scan.getRGB(x, y), decoded.getRGB(x, y), "Pixel " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve emitir um único canal para imagens em tons de cinza")
+    void shouldEncodeGrayImagesWithSingleChannel() throws IOException {
+        BufferedImage graphic = chart(Color.GRAY, BufferedImage.TYPE_INT_RGB);
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject image = ImageEncoder.encode(document, graphic, ImageEncoding.FLATE_GRAY, 0.7f);
+            assertEquals(PDDeviceGray.INSTANCE, image.getColorSpace());
+            BufferedImage decoded = image.getImage();
+            for (int y = 0; y < graphic.getHeight(); y++) {
+                for (int x = 0; x < graphic.getWidth(); x++) {
+                    assertEquals(graphic.getRGB(x, y), decoded.getRGB(x, y), "Pixel " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    private static BufferedImage photo(boolean gray) {
+        BufferedImage image = new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int rgb = random.nextInt() & 0xFFFFFF;
+                image.setRGB(x, y, gray ? (rgb & 0xFF) * 0x010101 : rgb);
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage chart(Color color, int type) {
+        BufferedImage image = new BufferedImage(300, 200, type);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.setColor(color);
+            for (int i = 0; i < 5; i++) {
+                graphics.fillRect(20 + i * 55, 180 - i * 30, 40, i * 30 + 10);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+}
@@ -1,10 +1,23 @@
 package io.github.joabsonlg.pdfbuilder.core;
 
 import io.github.joabsonlg.pdfbuilder.components.logo.LogoStyle;
+import io.github.joabsonlg.pdfbuilder.components.page.PageNumbering;
+import io.github.joabsonlg.pdfbuilder.components.page.PageSection;
+import io.github.joabsonlg.pdfbuilder.components.table.Table;
+import io.github.joabsonlg.pdfbuilder.components.text.Paragraph;
+import io.github.joabsonlg.pdfbuilder.components.text.SimpleText;
+import io.github.joabsonlg.pdfbuilder.components.text.TextAlignment;
+import io.github.joabsonlg.pdfbuilder.components.text.TextStyle;
 
+import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,9 +27,23 @@ import org.junit.jupiter.api.io.TempDir;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("PDFBuilder")
@@ -42,8 +69,8 @@ class PDFBuilderTest {
         // Criar imagens temporárias para teste
         Path leftImagePath = tempDir.resolve("left-logo.png");
         Path rightImagePath = tempDir.resolve("right-logo.png");
-        createTestImage(leftImagePath);
-        createTestImage(rightImagePath);
+        createTestImage(leftImagePath, Color.WHITE);
+        createTestImage(rightImagePath, Color.BLUE);
 
         LogoStyle style = LogoStyle.builder().build();
         pdfBuilder.setLogo("Test Logo", style, leftImagePath.toString(), rightImagePath.toString());
@@ -58,16 +85,343 @@ class PDFBuilderTest {
         assertTrue(numberOfXObjects == 2, "Deveriam existir 2 imagens de logo (esquerda e direita).");
     }
 
+    @Test
+    @DisplayName("Deve compartilhar a imagem do logo quando esquerda e direita forem iguais")
+    void shouldShareLogoImageWithIdenticalContent(@TempDir Path tempDir) throws IOException {
+        Path leftImagePath = tempDir.resolve("left-logo.png");
+        Path rightImagePath = tempDir.resolve("right-logo.png");
+        createTestImage(leftImagePath, Color.WHITE);
+        createTestImage(rightImagePath, Color.WHITE);
+
+        pdfBuilder.setLogo("Test Logo", LogoStyle.builder().build(), leftImagePath.toString(), rightImagePath.toString());
+        PDPage page = pdfBuilder.getDocument().getPage(0);
+
+        long numberOfXObjects = 0;
+        for (COSName ignored : page.getResources().getXObjectNames()) {
+            numberOfXObjects++;
+        }
+        assertEquals(1, numberOfXObjects, "Imagens idênticas deveriam compartilhar um único XObject.");
+    }
+
+    @Test
+    @DisplayName("Deve gerar documentos idênticos em paralelo com uma única configuração")
+    void shouldShareConfigurationBetweenConcurrentBuilders() throws Exception {
+        PDFConfiguration config = PDFConfiguration.create()
+                .withPageSize(PDRectangle.A5)
+                .withSafeArea(SafeArea.builder().withMargins(30, 40, 60, 50).withFooter(true).build())
+                .build();
+        byte[] expected = renderStatement(config);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> renderStatement(config)));
+            }
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(30, config.getMarginLeft());
+        assertEquals(60, config.getMarginTop());
+        assertEquals(PDRectangle.A5.getHeight(), config.getPageSize().getHeight());
+    }
+
+    @Test
+    @DisplayName("Deve substituir campos de texto como se o texto já estivesse preenchido")
+    void shouldBindPlaceholdersLikePrefilledText() throws IOException {
+        String boilerplate = "Este comunicado é enviado a todos os clientes com faturas em aberto no período. ";
+        String text = boilerplate + "Prezado(a) {{nome}}, a fatura {{numero}} no valor de R$ {{valor}} vence em "
+                + "{{vencimento}}. Após o vencimento incidem multa de 2% e juros de 1% ao mês.";
+        TextStyle style = TextStyle.builder()
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
+                .withFontSize(11)
+                .build();
+        Paragraph paragraph = Paragraph.builder()
+                .addStyledText(text, style)
+                .withAlignment(TextAlignment.JUSTIFIED)
+                .build();
+        SimpleText simpleText = SimpleText.builder()
+                .withText(text)
+                .withFont(StandardFonts.get(Standard14Fonts.FontName.TIMES_ROMAN))
+                .build();
+        List<Map<String, String>> records = List.of(
+                Map.of("nome", "Ana", "numero", "1", "valor", "10,00", "vencimento", "01/12"),
+                Map.of("nome", "Maria Aparecida dos Santos Albuquerque de Oliveira", "numero", "2024-000981",
+                        "valor", "12.345,67", "vencimento", "15 de dezembro de 2024"),
+                Map.of("nome", "José"));
+
+        for (Map<String, String> values : records) {
+            String filled = text;
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                filled = filled.replace("{{" + entry.getKey() + "}}", entry.getValue());
+            }
+            PDFBuilder bound = PDFBuilder.create()
+                    .addParagraph(paragraph, values)
+                    .addSimpleText(simpleText, values);
+            PDFBuilder expected = PDFBuilder.create()
+                    .addParagraph(Paragraph.builder().addStyledText(filled, style)
+                            .withAlignment(TextAlignment.JUSTIFIED).build())
+                    .addSimpleText(SimpleText.builder().withText(filled)
+                            .withFont(StandardFonts.get(Standard14Fonts.FontName.TIMES_ROMAN)).build());
+            assertArrayEquals(save(expected), save(bound), "Valores: " + values);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve renderizar páginas em paralelo com o mesmo resultado da renderização sequencial")
+    void shouldRenderPagesConcurrentlyLikeSequentially() throws Exception {
+        byte[] sequential = renderReport(null);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertArrayEquals(sequential, renderReport(executor));
+        } finally {
+            executor.shutdown();
+        }
+        try (PDDocument document = Loader.loadPDF(sequential)) {
+            assertEquals(12, document.getNumberOfPages());
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(7);
+            stripper.setEndPage(7);
+            String page = stripper.getText(document);
+            assertTrue(page.contains("Lançamento 6.0"), page);
+            assertTrue(page.contains("7 de 7"), page);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve renderizar páginas em paralelo com uma fonte TrueType embutida")
+    void shouldRenderPagesConcurrentlyWithEmbeddedFont(@TempDir Path tempDir) throws Exception {
+        Path fontPath = tempDir.resolve("corporativa.ttf");
+        try (InputStream font = PDDocument.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")) {
+            Files.copy(font, fontPath);
+        }
+        byte[] sequential = renderEmbeddedFontReport(fontPath, null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertArrayEquals(sequential, renderEmbeddedFontReport(fontPath, executor));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        try (PDDocument document = Loader.loadPDF(sequential)) {
+            assertEquals(24, document.getNumberOfPages());
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(10);
+            stripper.setEndPage(10);
+            assertTrue(stripper.getText(document).contains("Página 9"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve medir as linhas de tabelas grandes em paralelo e paginar pelas alturas medidas")
+    void shouldMeasureLargeTableRowsAndPaginateByHeight() throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        rows.add(List.of("Linha", "Descrição"));
+        for (int row = 1; row < 2000; row++) {
+            rows.add(List.of("Linha " + row, "Descrição do lançamento " + "com detalhes ".repeat(row % 5)));
+        }
+        Table table = Table.builder().withData(rows).withColumnWidths(100, 150).withFontSize(10).build();
+        float width = 500;
+        Table.Layout layout = table.layout(width);
+        float[] heights = layout.getRowHeights();
+        assertEquals(rows.size(), heights.length);
+        assertArrayEquals(heights, table.measureRowHeights(width));
+
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (ContentStreamWriter writer = new ContentStreamWriter(new PDPageContentStream(document, page))) {
+                float expectedY = 700;
+                for (float height : heights) {
+                    expectedY -= height;
+                }
+                assertEquals(expectedY, table.render(writer, 50, 700, width));
+                assertEquals(700 - heights[4], table.render(writer, 50, 700, width, 4, 5));
+                assertEquals(700 - heights[4], table.render(writer, 50, 700, layout, 4, 5));
+            }
+        }
+
+        // Distribui as linhas entre as páginas pelas alturas medidas e renderiza cada página
+        float top = PDRectangle.A4.getHeight() - 50;
+        List<Integer> pageStarts = new ArrayList<>();
+        float available = 0;
+        for (int row = 0; row < heights.length; row++) {
+            if (heights[row] > available) {
+                pageStarts.add(row);
+                available = top - 50;
+            }
+            available -= heights[row];
+        }
+        pageStarts.add(heights.length);
+        PDFBuilder builder = PDFBuilder.create();
+        builder.addPages(pageStarts.size() - 1, (index, contentStream, x, y, maxWidth) ->
+                table.render(contentStream, x, y, layout, pageStarts.get(index), pageStarts.get(index + 1)));
+
+        try (PDDocument document = Loader.loadPDF(save(builder))) {
+            assertEquals(pageStarts.size() - 1, document.getNumberOfPages());
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(document.getNumberOfPages());
+            assertTrue(stripper.getText(document).contains("Linha 1999"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve dividir entre páginas a tabela mais alta que uma página, repetindo o cabeçalho")
+    void shouldBreakTableAcrossPagesByMeasuredHeights() throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        rows.add(List.of("Código", "Histórico"));
+        for (int row = 1; row < 300; row++) {
+            rows.add(List.of("Linha " + row, "Descrição " + "com detalhes ".repeat(row % 7)));
+        }
+        PDFBuilder builder = PDFBuilder.create()
+                .addText("Extrato")
+                .moveDown(20)
+                .addTable(Table.builder().withData(rows).withColumnWidths(100, 150).withFontSize(10).build())
+                .addText("Fim do extrato");
+
+        try (PDDocument document = Loader.loadPDF(save(builder))) {
+            assertTrue(document.getNumberOfPages() > 1);
+            float pageHeight = document.getPage(0).getMediaBox().getHeight();
+            List<Float> positions = new ArrayList<>();
+            PDFTextStripper stripper = new PDFTextStripper() {
+                @Override
+                protected void processTextPosition(TextPosition text) {
+                    positions.add(text.getY());
+                    super.processTextPosition(text);
+                }
+            };
+            String text = stripper.getText(document);
+            for (int row = 1; row < 300; row++) {
+                assertTrue(text.contains("Linha " + row + "\n") || text.contains("Linha " + row + " "),
+                        "Linha ausente: " + row);
+            }
+            for (float y : positions) {
+                assertTrue(y > 0 && y < pageHeight, "Texto fora da página: " + y);
+            }
+            PDFTextStripper pageStripper = new PDFTextStripper();
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                pageStripper.setStartPage(page);
+                pageStripper.setEndPage(page);
+                String pageText = pageStripper.getText(document);
+                if (pageText.contains("Linha ")) {
+                    // O cabeçalho abre cada página da tabela e é seguido por linhas de dados
+                    int header = pageText.indexOf("Código");
+                    assertTrue(header >= 0 && header < pageText.indexOf("Linha "), "Página " + page + ": " + pageText);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve passar inteira para a página seguinte a tabela que não cabe no espaço restante")
+    void shouldMoveTableThatFitsOnOnePageToNextPage() throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        rows.add(List.of("Código", "Histórico"));
+        for (int row = 1; row < 8; row++) {
+            rows.add(List.of("Linha " + row, "Descrição " + "com detalhes ".repeat(row)));
+        }
+        PDFBuilder builder = PDFBuilder.create()
+                .addText("Extrato")
+                .moveDown(640)
+                .addTable(Table.builder().withData(rows).withColumnWidths(100, 150).withFontSize(10).build())
+                .addText("Fim do extrato");
+
+        try (PDDocument document = Loader.loadPDF(save(builder))) {
+            assertEquals(2, document.getNumberOfPages());
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setEndPage(1);
+            String first = stripper.getText(document);
+            assertTrue(first.contains("Extrato"), first);
+            assertFalse(first.contains("Código"), first);
+            stripper.setStartPage(2);
+            stripper.setEndPage(2);
+            String second = stripper.getText(document);
+            for (int row = 1; row < 8; row++) {
+                assertTrue(second.contains("Linha " + row), second);
+            }
+        }
+    }
+
+    private byte[] renderReport(Executor executor) throws IOException {
+        PDFBuilder builder = PDFBuilder.create()
+                .setLogo("Relatório de lançamentos")
+                .setFooter(PageSection.builder()
+                        .withLeftText("Confidencial")
+                        .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
+                        .withFontSize(9)
+                        .build())
+                .setPageNumbering(PageNumbering.builder()
+                        .withFont(StandardFonts.get(Standard14Fonts.FontName.HELVETICA))
+                        .withFontSize(9)
+                        .withFormat(PageNumbering.Format.WITH_TOTAL)
+                        .build())
+                .setPageExecutor(executor)
+                .addText("Resumo")
+                .moveDown(20);
+        builder.addPages(12, (page, contentStream, x, y, maxWidth) -> {
+            List<List<String>> rows = new ArrayList<>();
+            for (int row = 0; row < 25; row++) {
+                rows.add(List.of("Lançamento " + page + "." + row, "R$ " + (page * 31 + row) + ",00"));
+            }
+            return Table.builder().withData(rows).withColumnWidths(300, 150).withHeader(false).build().render(contentStream, x, y, maxWidth);
+        });
+        builder.addText("Fim do relatório");
+        return save(builder);
+    }
+
+    private byte[] renderEmbeddedFontReport(Path fontPath, Executor executor) throws IOException {
+        PDFBuilder builder = PDFBuilder.create().setPageExecutor(executor);
+        TextStyle style = TextStyle.builder()
+                .withFont(builder.getResourceManager().loadFont("Corporativa", fontPath))
+                .withFontSize(10)
+                .build();
+        builder.addText("Resumo");
+        builder.addPages(24, (page, contentStream, x, y, maxWidth) -> {
+            // Cada página mede caracteres diferentes, que a fonte ainda não tem em cache
+            StringBuilder text = new StringBuilder("Página " + page + ":");
+            for (int i = 0; i < 400; i++) {
+                text.append(i % 12 == 0 ? ' ' : (char) (0xC0 + (page * 7 + i) % 64));
+            }
+            return Paragraph.builder().addStyledText(text.toString(), style).build()
+                    .render(contentStream, x, y, maxWidth);
+        });
+        return save(builder);
+    }
+
+    private byte[] renderStatement(PDFConfiguration config) throws IOException {
+        PDFBuilder builder = PDFBuilder.create(config);
+        for (int i = 0; i < 60; i++) {
+            builder.addText("Lançamento " + i + " no valor de R$ " + (i * 17 % 1000) + ",00");
+            if (i % 25 == 24) {
+                builder.addNewPage();
+            }
+        }
+        return save(builder);
+    }
+
+    private byte[] save(PDFBuilder builder) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.saveToOutputStream(output);
+        // O identificador do arquivo é derivado do horário e varia entre execuções
+        String pdf = output.toString(StandardCharsets.ISO_8859_1);
+        return pdf.replaceAll("/ID \\[<\\p{XDigit}+> <\\p{XDigit}+>]", "/ID []").getBytes(StandardCharsets.ISO_8859_1);
+    }
+
     /**
      * Cria uma imagem de teste no caminho especificado.
      *
      * @param path Caminho onde a imagem será criada
+     * @param color Cor de preenchimento da imagem
      * @throws IOException se houver erro ao criar a imagem
      */
-    private void createTestImage(Path path) throws IOException {
+    private void createTestImage(Path path, Color color) throws IOException {
         BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
         Graphics2D g2d = image.createGraphics();
-        g2d.setColor(Color.WHITE);
+        g2d.setColor(color);
         g2d.fillRect(0, 0, 100, 100);
         g2d.dispose();
         ImageIO.write(image, "PNG", path.toFile());
@@ -1,24 +1,60 @@
 package io.github.joabsonlg.pdfbuilder.core;
 
+import io.github.joabsonlg.pdfbuilder.components.image.Image;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDInlineImage;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -120,12 +156,611 @@ class ResourceManagerTest {
         assertFalse(resourceManager.removeImage("nonexistent"));
     }
 
+    @Test
+    @DisplayName("Deve carregar fonte TrueType reutilizando a análise entre documentos")
+    void shouldLoadTrueTypeFontSharingParsedProgram(@TempDir Path tempDir) throws IOException {
+        Path fontPath = createTestFont(tempDir);
+
+        PDFont font = resourceManager.loadFont("Corporativa", fontPath);
+        assertSame(font, resourceManager.getFont("Corporativa"));
+        resourceManager.setDefaultFont("Corporativa");
+        assertSame(font, resourceManager.getDefaultFont());
+
+        try (PDDocument other = new PDDocument()) {
+            PDType0Font otherFont = (PDType0Font) new ResourceManager(other).loadFont("Corporativa", fontPath);
+            assertNotSame(font, otherFont);
+            assertSame(FontCache.get(fontPath), FontCache.get(tempDir.resolve(".").resolve("corporativa.ttf")));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve embutir apenas o subconjunto de glifos usados")
+    void shouldEmbedFontSubset(@TempDir Path tempDir) throws IOException {
+        Path fontPath = createTestFont(tempDir);
+        PDFont font = resourceManager.loadFont("Corporativa", fontPath);
+
+        PDPage page = new PDPage();
+        document.addPage(page);
+        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+            contentStream.beginText();
+            contentStream.setFont(font, 12);
+            contentStream.showText("Olá, Привет");
+            contentStream.endText();
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        document.save(output);
+
+        assertTrue(font.getName().matches("[A-Z]{6}\\+.*"), font.getName());
+        assertTrue(output.size() < Files.size(fontPath) / 4);
+    }
+
+    @Test
+    @DisplayName("Deve gerar subconjuntos em paralelo com saída idêntica")
+    void shouldSubsetFontsConcurrentlyWithIdenticalOutput(@TempDir Path tempDir) throws IOException {
+        Path source = createTestFont(tempDir);
+        List<Path> fontPaths = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            fontPaths.add(Files.copy(source, tempDir.resolve("familia" + i + ".ttf")));
+        }
+
+        byte[] sequential = renderWithFonts(fontPaths, null);
+        AtomicInteger tasks = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            byte[] parallel = renderWithFonts(fontPaths, command -> {
+                tasks.incrementAndGet();
+                executor.execute(command);
+            });
+            assertEquals(3, tasks.get());
+            assertArrayEquals(sequential, parallel);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private byte[] renderWithFonts(List<Path> fontPaths, Executor executor) throws IOException {
+        try (PDDocument target = new PDDocument()) {
+            ResourceManager manager = new ResourceManager(target);
+            PDPage page = new PDPage();
+            target.addPage(page);
+            try (PDPageContentStream contentStream = new PDPageContentStream(target, page)) {
+                contentStream.beginText();
+                for (int i = 0; i < fontPaths.size(); i++) {
+                    contentStream.setFont(manager.loadFont("Familia" + i, fontPaths.get(i)), 12);
+                    contentStream.showText("Texto " + i + " çãõ");
+                }
+                contentStream.endText();
+            }
+            if (executor != null) {
+                manager.setSubsetExecutor(executor);
+                manager.subsetFonts();
+            }
+            COSArray id = new COSArray();
+            id.add(new COSString("pdf-builder"));
+            id.add(new COSString("pdf-builder"));
+            target.getDocument().getTrailer().setItem(COSName.ID, id);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            target.save(output);
+            return output.toByteArray();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar a imagem de conteúdos idênticos")
+    void shouldShareImageForIdenticalContent(@TempDir Path tempDir) throws IOException {
+        Path original = tempDir.resolve("produto.png");
+        Path copy = tempDir.resolve("produto-copia.png");
+        Path other = tempDir.resolve("outro.png");
+        createNoiseImage(original, 1);
+        Files.copy(original, copy);
+        createNoiseImage(other, 2);
+
+        PDImageXObject image = resourceManager.createImage(original);
+        assertSame(image, resourceManager.createImage(copy));
+        assertSame(image, resourceManager.createImage(Files.readAllBytes(original), "produto"));
+        assertNotSame(image, resourceManager.createImage(other));
+        assertSame(resourceManager, ResourceManager.of(document));
+    }
+
+    @Test
+    @DisplayName("Deve manter o gerenciador enquanto o documento existir, sem retê-lo depois")
+    void shouldKeepManagerForDocumentLifetime(@TempDir Path tempDir) throws IOException {
+        Path icon = tempDir.resolve("icone.png");
+        createNoiseImage(icon, 3, 32, 32);
+        try (PDDocument plain = new PDDocument()) {
+            Image.builder(plain, icon.toFile()).build();
+            WeakReference<ResourceManager> manager = new WeakReference<>(ResourceManager.of(plain));
+            collectGarbage(manager);
+            assertNotNull(manager.get());
+            assertSame(manager.get(), ResourceManager.of(plain));
+        }
+
+        WeakReference<PDDocument> released = releasedDocument();
+        collectGarbage(released);
+        assertNull(released.get());
+    }
+
+    private static WeakReference<PDDocument> releasedDocument() {
+        PDDocument released = new PDDocument();
+        ResourceManager.of(released);
+        return new WeakReference<>(released);
+    }
+
+    private static void collectGarbage(WeakReference<?> reference) {
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve embutir uma única vez a imagem repetida no catálogo")
+    void shouldEmbedRepeatedImageOnce(@TempDir Path tempDir) throws IOException {
+        Path product = tempDir.resolve("produto.png");
+        Path copy = tempDir.resolve("produto-copia.png");
+        createNoiseImage(product, 1);
+        Files.copy(product, copy);
+
+        byte[] single = renderCatalog(List.of(product));
+        List<Path> uses = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            uses.add(i % 2 == 0 ? product : copy);
+        }
+        byte[] catalog = renderCatalog(uses);
+
+        try (PDDocument loaded = Loader.loadPDF(catalog)) {
+            Set<COSBase> images = Collections.newSetFromMap(new IdentityHashMap<>());
+            int drawn = 0;
+            for (PDPage page : loaded.getPages()) {
+                for (COSName name : page.getResources().getXObjectNames()) {
+                    images.add(page.getResources().getXObject(name).getCOSObject());
+                    drawn++;
+                }
+            }
+            assertTrue(loaded.getNumberOfPages() > 1);
+            assertTrue(drawn > 1);
+            assertEquals(1, images.size());
+        }
+        assertTrue(catalog.length < single.length * 2,
+                "Catálogo com " + catalog.length + " bytes, imagem única com " + single.length);
+    }
+
+    @Test
+    @DisplayName("Deve reamostrar imagens para o DPI configurado no tamanho exibido")
+    void shouldResampleImagesToConfiguredDpi(@TempDir Path tempDir) throws IOException {
+        Path photo = tempDir.resolve("foto.png");
+        createNoiseImage(photo, 1, 1600, 1200);
+
+        PDFBuilder builder = PDFBuilder.create(PDFConfiguration.create().withDPI(150).withCompressionQuality(0.6f).build());
+        Image first = Image.builder(builder.getDocument(), photo.toFile()).withWidth(144).withQuality(1).build();
+        Image second = Image.builder(builder.getDocument(), photo.toFile()).withWidth(144).withQuality(1).build();
+        builder.addImage(first).addImage(second);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.saveToOutputStream(output);
+        byte[] resampled = output.toByteArray();
+
+        try (PDDocument loaded = Loader.loadPDF(resampled)) {
+            PDPage page = loaded.getPage(0);
+            List<COSName> names = new ArrayList<>();
+            page.getResources().getXObjectNames().forEach(names::add);
+            assertEquals(1, names.size());
+            PDImageXObject image = (PDImageXObject) page.getResources().getXObject(names.get(0));
+            assertEquals(300, image.getWidth());
+            assertEquals(225, image.getHeight());
+            assertEquals(List.of(COSName.DCT_DECODE), image.getStream().getFilters());
+            assertNotNull(image.getImage());
+        }
+
+        PDFBuilder original = PDFBuilder.create(PDFConfiguration.create().withDPI(10_000).build());
+        original.addImage(Image.builder(original.getDocument(), photo.toFile()).withWidth(144).withQuality(1).build());
+        ByteArrayOutputStream originalOutput = new ByteArrayOutputStream();
+        original.saveToOutputStream(originalOutput);
+        assertTrue(resampled.length * 10 < originalOutput.size(),
+                "Reamostrado com " + resampled.length + " bytes, original com " + originalOutput.size());
+    }
+
+    @Test
+    @DisplayName("Deve preservar a transparência ao reamostrar")
+    void shouldKeepTransparencyWhenResampling() throws IOException {
+        BufferedImage translucent = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = translucent.createGraphics();
+        g2d.setColor(new Color(255, 0, 0, 128));
+        g2d.fillOval(0, 0, 400, 400);
+        g2d.dispose();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(translucent, "PNG", png);
+
+        resourceManager.setImageResolution(72, 0.7f);
+        PDImageXObject image = resourceManager.createImage(png.toByteArray(), "selo");
+        PDImageXObject resampled = resourceManager.resampleImage(image, 100, 100);
+        assertSame(image, resourceManager.resampleImage(image, 400, 400));
+        assertSame(resampled, resourceManager.resampleImage(image, 100, 100));
+        resourceManager.completeImages();
+
+        assertEquals(100, resampled.getWidth());
+        assertNotNull(resampled.getSoftMask());
+        assertEquals(List.of(COSName.FLATE_DECODE), resampled.getStream().getFilters());
+    }
+
+    @Test
+    @DisplayName("Deve ler apenas o cabeçalho ao criar a imagem e decodificá-la depois de desenhada")
+    void shouldDecodeImageOnlyWhenDrawn(@TempDir Path tempDir) throws IOException {
+        Path photo = tempDir.resolve("foto.png");
+        createNoiseImage(photo, 1, 640, 480);
+        byte[] content = Files.readAllBytes(photo);
+        Path truncated = tempDir.resolve("truncada.png");
+        Files.write(truncated, Arrays.copyOf(content, 64));
+
+        PDFBuilder builder = PDFBuilder.create();
+        Image image = Image.builder(builder.getDocument(), truncated.toFile()).build();
+        assertEquals(640, image.getDimensions().width);
+        assertEquals(480, image.getDimensions().height);
+
+        builder.addImage(image);
+        assertThrows(IOException.class, () -> builder.saveToOutputStream(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("Deve converter imagens em paralelo respeitando o limite de conversões simultâneas")
+    void shouldIngestImagesConcurrentlyWithinLimit(@TempDir Path tempDir) throws IOException {
+        List<Path> photos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Path photo = tempDir.resolve("foto" + i + ".bmp");
+            BufferedImage image = new BufferedImage(120 + i, 80, BufferedImage.TYPE_INT_RGB);
+            image.setRGB(i, i, 0xFF0000);
+            ImageIO.write(image, "BMP", photo.toFile());
+            photos.add(photo);
+        }
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // A permissão é liberada ao fim da conversão, antes do retorno da tarefa; por isso
+            // conta-se apenas a espera inicial, em que cada tarefa certamente detém uma permissão
+            resourceManager.setImageExecutor(command -> executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                command.run();
+            }));
+            resourceManager.setBackgroundConversion(true);
+            resourceManager.setImageConcurrency(2);
+            List<PDImageXObject> images = new ArrayList<>();
+            for (Path photo : photos) {
+                PDImageXObject image = resourceManager.ingestImage(photo);
+                assertEquals(80, image.getHeight());
+                images.add(image);
+            }
+            assertSame(images.get(0), resourceManager.ingestImage(photos.get(0)));
+            resourceManager.completeImages();
+
+            assertTrue(maxRunning.get() <= 2, "Conversões simultâneas: " + maxRunning.get());
+            for (int i = 0; i < images.size(); i++) {
+                BufferedImage decoded = images.get(i).getImage();
+                assertEquals(120 + i, decoded.getWidth());
+                assertEquals(0xFFFF0000, decoded.getRGB(i, i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> resourceManager.setImageConcurrency(0));
+    }
+
+    @Test
+    @DisplayName("Deve embutir JPEG com os bytes originais e o mesmo dicionário do PDFBox")
+    void shouldEmbedJpegWithoutDecoding(@TempDir Path tempDir) throws IOException {
+        for (int type : new int[]{BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_BYTE_GRAY}) {
+            BufferedImage photo = new BufferedImage(320, 240, type);
+            Graphics2D g2d = photo.createGraphics();
+            g2d.setColor(Color.ORANGE);
+            g2d.fillOval(20, 20, 280, 200);
+            g2d.dispose();
+            Path jpeg = tempDir.resolve("foto" + type + ".jpg");
+            ImageIO.write(photo, "JPEG", jpeg.toFile());
+            byte[] content = Files.readAllBytes(jpeg);
+
+            PDImageXObject image = resourceManager.createImage(jpeg);
+            PDImageXObject expected = JPEGFactory.createFromByteArray(document, content);
+            assertEquals(expected.getCOSObject().toString(), image.getCOSObject().toString());
+            assertArrayEquals(content, readRaw(image));
+            assertEquals(320, image.getWidth());
+            assertEquals(240, image.getHeight());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve embutir PNG com alfa e em tons de cinza a partir dos dados comprimidos")
+    void shouldEmbedPngFromCompressedData() throws IOException {
+        for (int type : new int[]{BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_BYTE_GRAY}) {
+            BufferedImage screenshot = new BufferedImage(257, 130, type);
+            Random random = new Random(type);
+            for (int y = 0; y < screenshot.getHeight(); y++) {
+                for (int x = 0; x < screenshot.getWidth(); x++) {
+                    screenshot.setRGB(x, y, x % 7 == 0 ? random.nextInt() : (x * y) << 8 | 0xFF000000 | y);
+                }
+            }
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(screenshot, "PNG", png);
+
+            PDImageXObject image = resourceManager.createImage(png.toByteArray(), "captura.png");
+            assertEquals(List.of(COSName.FLATE_DECODE), image.getStream().getFilters());
+            assertEquals(15, image.getCOSObject().getCOSDictionary(COSName.DECODE_PARMS).getInt(COSName.PREDICTOR));
+            assertEquals(type == BufferedImage.TYPE_INT_ARGB, image.getSoftMask() != null);
+            BufferedImage decoded = image.getImage();
+            for (int y = 0; y < screenshot.getHeight(); y++) {
+                for (int x = 0; x < screenshot.getWidth(); x++) {
+                    // As amostras de cinza do PNG são embutidas sem a conversão linear do Java
+                    int expected = type == BufferedImage.TYPE_BYTE_GRAY
+                            ? screenshot.getRaster().getSample(x, y, 0) * 0x010101 | 0xFF000000
+                            : screenshot.getRGB(x, y);
+                    assertEquals(expected, decoded.getRGB(x, y), "Pixel " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve escolher a codificação das imagens pelo conteúdo quando ativado")
+    void shouldSelectImageEncodingWhenEnabled() throws IOException {
+        BufferedImage photo = new BufferedImage(200, 150, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(41);
+        for (int y = 0; y < photo.getHeight(); y++) {
+            for (int x = 0; x < photo.getWidth(); x++) {
+                photo.setRGB(x, y, random.nextInt());
+            }
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(photo, "PNG", png);
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(photo, "JPEG", jpeg);
+
+        resourceManager.setImageEncodingSelection(true);
+        PDImageXObject image = resourceManager.createImage(png.toByteArray(), "foto.png");
+        resourceManager.createImage(jpeg.toByteArray(), "foto.jpg");
+
+        assertEquals(List.of(COSName.DCT_DECODE), image.getStream().getFilters());
+        assertEquals(Map.of(ImageEncoding.DCT_RGB, 1, ImageEncoding.ORIGINAL, 1),
+                resourceManager.getImageEncodingCounts());
+    }
+
+    @Test
+    @DisplayName("Deve embutir imagens completas em documentos salvos sem o PDFBuilder")
+    void shouldCompleteImagesSavedWithoutBuilder(@TempDir Path tempDir) throws IOException {
+        BufferedImage poster = new BufferedImage(3000, 2000, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < poster.getHeight(); y++) {
+            for (int x = 0; x < poster.getWidth(); x++) {
+                poster.setRGB(x, y, 0xFF000000 | (x % 256) << 16 | (y % 256) << 8 | (x + y) % 256);
+            }
+        }
+        Path posterPath = tempDir.resolve("cartaz.png");
+        ImageIO.write(poster, "PNG", posterPath.toFile());
+
+        PDPage page = new PDPage();
+        document.addPage(page);
+        try (ContentStreamWriter writer = new ContentStreamWriter(new PDPageContentStream(document, page))) {
+            Image.builder(document, posterPath.toFile()).withWidth(300).withQuality(1).build()
+                    .render(writer, 50, 750, 500, 300);
+            Image.builder(document, posterPath.toFile()).withWidth(300).withQuality(1).withStripHeight(256).build()
+                    .render(writer, 50, 500, 500, 300);
+            resourceManager.setImageResolution(72, 0.7f);
+            Image.builder(document, posterPath.toFile()).withWidth(150).withQuality(1).build()
+                    .render(writer, 50, 250, 500, 150);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        document.save(output);
+
+        try (PDDocument loaded = Loader.loadPDF(output.toByteArray())) {
+            PDResources resources = loaded.getPage(0).getResources();
+            List<Integer> widths = new ArrayList<>();
+            for (COSName name : resources.getXObjectNames()) {
+                PDImageXObject image = (PDImageXObject) resources.getXObject(name);
+                assertTrue(image.getStream().getLength() > 0, name.getName());
+                BufferedImage decoded = image.getImage();
+                if (decoded.getWidth() == poster.getWidth()) {
+                    assertEquals(poster.getRGB(300, 200), decoded.getRGB(300, 200), name.getName());
+                }
+                widths.add(decoded.getWidth());
+            }
+            Collections.sort(widths);
+            assertEquals(List.of(150, 3000, 3000), widths);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve embutir imagens lidas em faixas")
+    void shouldIngestImageInStrips(@TempDir Path tempDir) throws IOException {
+        BufferedImage drawing = new BufferedImage(301, 203, BufferedImage.TYPE_INT_RGB);
+        BufferedImage scan = new BufferedImage(301, 203, BufferedImage.TYPE_BYTE_BINARY);
+        Random random = new Random(7);
+        for (int y = 0; y < drawing.getHeight(); y++) {
+            for (int x = 0; x < drawing.getWidth(); x++) {
+                drawing.setRGB(x, y, random.nextInt());
+                scan.setRGB(x, y, random.nextBoolean() ? 0xFFFFFF : 0);
+            }
+        }
+        Path drawingPath = tempDir.resolve("desenho.tif");
+        Path scanPath = tempDir.resolve("digitalizado.tif");
+        ImageIO.write(drawing, "TIFF", drawingPath.toFile());
+        ImageIO.write(scan, "TIFF", scanPath.toFile());
+
+        PDImageXObject image = resourceManager.ingestImageInStrips(drawingPath, 16, 301, 203);
+        PDImageXObject bilevel = resourceManager.ingestImageInStrips(scanPath, 16, 301, 203);
+        assertSame(image, resourceManager.ingestImageInStrips(drawingPath, 32, 301, 203));
+        resourceManager.setImageResolution(72, 0.7f);
+        PDImageXObject reduced = resourceManager.ingestImageInStrips(drawingPath, 16, 100, 67);
+        assertEquals(101, reduced.getWidth());
+        resourceManager.completeImages();
+
+        assertEquals(1, bilevel.getBitsPerComponent());
+        BufferedImage decoded = image.getImage();
+        BufferedImage decodedScan = bilevel.getImage();
+        for (int y = 0; y < drawing.getHeight(); y++) {
+            for (int x = 0; x < drawing.getWidth(); x++) {
+                assertEquals(drawing.getRGB(x, y), decoded.getRGB(x, y), "Pixel " + x + "," + y);
+                assertEquals(scan.getRGB(x, y), decodedScan.getRGB(x, y), "Pixel " + x + "," + y);
+            }
+        }
+        int expected = 0;
+        for (int i = 0; i < 9; i++) {
+            expected += drawing.getRGB(i % 3, i / 3) & 0xFF;
+        }
+        assertEquals(Math.round(expected / 9f), reduced.getImage().getRGB(0, 0) & 0xFF);
+    }
+
+    @Test
+    @DisplayName("Deve ler em faixas as amostras cinza sem clarear a imagem")
+    void shouldKeepGraySamplesInStrips(@TempDir Path tempDir) throws IOException {
+        BufferedImage scan = new BufferedImage(97, 61, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = scan.getRaster();
+        for (int y = 0; y < scan.getHeight(); y++) {
+            for (int x = 0; x < scan.getWidth(); x++) {
+                raster.setSample(x, y, 0, (x * 7 + y * 3) % 256);
+            }
+        }
+        raster.setSample(0, 0, 0, 12);
+        Path scanPath = tempDir.resolve("cinza.png");
+        ImageIO.write(scan, "PNG", scanPath.toFile());
+
+        PDImageXObject whole = resourceManager.createImage(scanPath);
+        PDImageXObject striped = resourceManager.ingestImageInStrips(scanPath, 8, 97, 61);
+        resourceManager.completeImages();
+
+        assertEquals(PDDeviceGray.INSTANCE, striped.getColorSpace());
+        byte[] expected = whole.getStream().toByteArray();
+        assertEquals(12, expected[0]);
+        assertArrayEquals(expected, striped.getStream().toByteArray());
+    }
+
+    @Test
+    @DisplayName("Deve emitir em linha apenas ícones pequenos e não repetidos")
+    void shouldInlineSmallNonRepeatedIcons(@TempDir Path tempDir) throws IOException {
+        Path check = tempDir.resolve("check.png");
+        Path bullet = tempDir.resolve("bullet.png");
+        Path star = tempDir.resolve("star.png");
+        BufferedImage checkIcon = new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB);
+        BufferedImage bulletIcon = new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB);
+        BufferedImage starIcon = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                checkIcon.setRGB(x, y, x == y ? 0x00A000 : 0xFFFFFF);
+                bulletIcon.setRGB(x, y, (x - 8) * (x - 8) + (y - 8) * (y - 8) < 20 ? 0x404040 : 0xFFFFFF);
+                starIcon.setRGB(x, y, x == 15 - y ? 0xFFFFC000 : 0);
+            }
+        }
+        ImageIO.write(checkIcon, "PNG", check.toFile());
+        ImageIO.write(bulletIcon, "PNG", bullet.toFile());
+        ImageIO.write(starIcon, "PNG", star.toFile());
+
+        PDFBuilder builder = PDFBuilder.create();
+        builder.getResourceManager().setInlineImageThreshold(1024);
+        List<Image> icons = new ArrayList<>();
+        for (Path icon : List.of(check, bullet, check, star)) {
+            icons.add(Image.builder(builder.getDocument(), icon.toFile()).withWidth(16).build());
+        }
+        icons.forEach(builder::addImage);
+        // Um uso criado depois da emissão em linha é desenhado como XObject
+        builder.addImage(Image.builder(builder.getDocument(), bullet.toFile()).withWidth(16).build());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.saveToOutputStream(output);
+
+        try (PDDocument loaded = Loader.loadPDF(output.toByteArray())) {
+            PDPage page = loaded.getPage(0);
+            List<PDInlineImage> inline = new ArrayList<>();
+            PDFStreamParser parser = new PDFStreamParser(page);
+            for (Object token = parser.parseNextToken(); token != null; token = parser.parseNextToken()) {
+                if (token instanceof Operator operator && "BI".equals(operator.getName())) {
+                    inline.add(new PDInlineImage(operator.getImageParameters(), operator.getImageData(), page.getResources()));
+                }
+            }
+            int xObjects = 0;
+            for (COSName ignored : page.getResources().getXObjectNames()) {
+                xObjects++;
+            }
+            // Apenas o marcador, único entre as imagens criadas, é emitido em linha
+            assertEquals(1, inline.size());
+            assertEquals(3, xObjects);
+            assertEquals(PDDeviceGray.INSTANCE, inline.get(0).getColorSpace());
+            for (int y = 0; y < 16; y++) {
+                for (int x = 0; x < 16; x++) {
+                    assertEquals(bulletIcon.getRGB(x, y), inline.get(0).getImage().getRGB(x, y));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve desenhar JPEG CMYK pequeno como XObject em vez de em linha")
+    void shouldFallBackToXObjectForCmykJpeg(@TempDir Path tempDir) throws IOException {
+        WritableRaster raster = Raster.createBandedRaster(DataBuffer.TYPE_BYTE, 16, 16, 4, null);
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                raster.setPixel(x, y, new int[]{x * 16, y * 16, 0, 32});
+            }
+        }
+        Path icon = tempDir.resolve("cmyk.jpg");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("JPEG").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(icon.toFile())) {
+            writer.setOutput(output);
+            writer.write(new IIOImage(raster, null, null));
+        } finally {
+            writer.dispose();
+        }
+        assertEquals(4, JpegHeader.read(Files.readAllBytes(icon)).getComponents());
+
+        resourceManager.setInlineImageThreshold(1024);
+        assertNull(resourceManager.inlineImage(icon));
+        PDImageXObject image = resourceManager.createImage(icon);
+        assertEquals(List.of(COSName.DCT_DECODE), image.getStream().getFilters());
+        assertEquals(4, image.getColorSpace().getNumberOfComponents());
+    }
+
+    private byte[] readRaw(PDImageXObject image) throws IOException {
+        try (InputStream in = image.getCOSObject().createRawInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private byte[] renderCatalog(List<Path> imagePaths) throws IOException {
+        PDFBuilder builder = PDFBuilder.create();
+        for (Path imagePath : imagePaths) {
+            builder.addImage(Image.builder(builder.getDocument(), imagePath.toFile()).withWidth(150).build());
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.saveToOutputStream(output);
+        return output.toByteArray();
+    }
+
     @Test
     @DisplayName("Deve criar PDResources")
     void shouldCreatePageResources() {
         assertNotNull(resourceManager.createPageResources());
     }
 
+    /**
+     * Copia a fonte TrueType distribuída com o PDFBox para o diretório informado.
+     * @param directory Diretório de destino
+     * @return Caminho da fonte copiada
+     * @throws IOException se houver erro ao copiar a fonte
+     */
+    private Path createTestFont(Path directory) throws IOException {
+        Path fontPath = directory.resolve("corporativa.ttf");
+        try (InputStream font = PDDocument.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")) {
+            Files.copy(font, fontPath);
+        }
+        return fontPath;
+    }
+
     /**
      * Cria uma imagem de teste no caminho especificado.
      * @param path Caminho onde a imagem será criada
@@ -139,4 +774,25 @@ class ResourceManagerTest {
         g2d.dispose();
         ImageIO.write(image, "PNG", path.toFile());
     }
+
+    /**
+     * Cria uma imagem de ruído, pouco compressível, no caminho especificado.
+     * @param path Caminho onde a imagem será criada
+     * @param seed Semente do ruído
+     * @throws IOException se houver erro ao criar a imagem
+     */
+    private void createNoiseImage(Path path, long seed) throws IOException {
+        createNoiseImage(path, seed, 200, 200);
+    }
+
+    private void createNoiseImage(Path path, long seed, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(seed);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        ImageIO.write(image, "PNG", path.toFile());
+    }
 }
@@ -0,0 +1,132 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.fontbox.afm.AFMParser;
+import org.apache.fontbox.afm.FontMetrics;
+import org.apache.fontbox.afm.KernPair;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Gera o recurso {@code standard14.metrics} a partir das métricas AFM do PDFBox.
+ * <p>
+ * Execute o método {@code main} com o classpath de testes após atualizar a versão do PDFBox.
+ */
+public final class Standard14MetricsGenerator {
+
+    static final Path RESOURCE = Paths.get("src/main/resources/io/github/joabsonlg/pdfbuilder/core/standard14.metrics");
+
+    private Standard14MetricsGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path target = args.length > 0 ? Paths.get(args[0]) : RESOURCE;
+        Files.createDirectories(target.getParent());
+        Files.write(target, generate());
+        System.out.println("Métricas gravadas em " + target.toAbsolutePath());
+    }
+
+    /**
+     * Gera o conteúdo binário do recurso de métricas.
+     */
+    static byte[] generate() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            Standard14Fonts.FontName[] fontNames = Standard14Fonts.FontName.values();
+            out.writeInt(Standard14Metrics.MAGIC);
+            out.writeShort(Standard14Metrics.VERSION);
+            out.writeShort(fontNames.length);
+            for (Standard14Fonts.FontName fontName : fontNames) {
+                writeFont(out, fontName);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeFont(DataOutputStream out, Standard14Fonts.FontName fontName) throws IOException {
+        PDType1Font font = new PDType1Font(fontName);
+        TreeMap<Integer, Integer> widths = new TreeMap<>();
+        Map<String, List<Integer>> codePointsByGlyph = new HashMap<>();
+        for (int codePoint = 0; codePoint <= 0xFFFF; codePoint++) {
+            if (Character.isSurrogate((char) codePoint)) {
+                continue;
+            }
+            String text = String.valueOf((char) codePoint);
+            byte[] encoded;
+            try {
+                encoded = font.encode(text);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            widths.put(codePoint, toShort(font.getStringWidth(text), fontName, "largura"));
+            String glyphName = font.getEncoding().getName(encoded[0] & 0xFF);
+            codePointsByGlyph.computeIfAbsent(glyphName, k -> new ArrayList<>()).add(codePoint);
+        }
+
+        TreeMap<Integer, Integer> kerning = new TreeMap<>();
+        for (KernPair pair : readAfm(fontName.getName()).getKernPairs()) {
+            List<Integer> firsts = codePointsByGlyph.get(pair.getFirstKernCharacter());
+            List<Integer> seconds = codePointsByGlyph.get(pair.getSecondKernCharacter());
+            if (firsts == null || seconds == null || pair.getX() == 0) {
+                continue;
+            }
+            int value = toShort(pair.getX(), fontName, "kerning");
+            for (int first : firsts) {
+                for (int second : seconds) {
+                    kerning.put(KerningTable.key(first, second), value);
+                }
+            }
+        }
+
+        out.writeUTF(fontName.getName());
+        out.writeFloat(font.getSpaceWidth());
+        out.writeFloat(font.getBoundingBox().getHeight());
+        out.writeInt(widths.size());
+        for (int codePoint : widths.keySet()) {
+            out.writeChar(codePoint);
+        }
+        for (int width : widths.values()) {
+            out.writeShort(width);
+        }
+        out.writeInt(kerning.size());
+        for (int key : kerning.keySet()) {
+            out.writeInt(key);
+        }
+        for (int value : kerning.values()) {
+            out.writeShort(value);
+        }
+    }
+
+    /**
+     * Lê o AFM completo de uma fonte padrão. O PDFBox carrega os seus AFM sem os pares
+     * de kerning, por isso o arquivo é lido novamente do recurso embutido.
+     */
+    static FontMetrics readAfm(String fontName) throws IOException {
+        String resource = "/org/apache/pdfbox/resources/afm/" + fontName + ".afm";
+        try (InputStream in = PDType1Font.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("AFM não encontrado: " + resource);
+            }
+            return new AFMParser(in).parse();
+        }
+    }
+
+    private static int toShort(float value, Standard14Fonts.FontName fontName, String kind) {
+        if (value != Math.rint(value) || value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw new IllegalStateException("Valor de " + kind + " não inteiro em " + fontName.getName() + ": " + value);
+        }
+        return (int) value;
+    }
+}
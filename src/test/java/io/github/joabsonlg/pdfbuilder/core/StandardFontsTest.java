@@ -0,0 +1,66 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import io.github.joabsonlg.pdfbuilder.components.page.PageSection;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StandardFonts")
+class StandardFontsTest {
+
+    @Test
+    @DisplayName("Deve registrar as 14 fontes padrão")
+    void shouldRegisterAllStandardFonts() {
+        for (Standard14Fonts.FontName fontName : Standard14Fonts.FontName.values()) {
+            PDType1Font font = StandardFonts.get(fontName);
+            assertNotNull(font);
+            assertSame(font, StandardFonts.get(fontName.getName()));
+        }
+        assertNull(StandardFonts.get("FonteInexistente"));
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar instâncias entre documentos e componentes")
+    void shouldShareInstancesAcrossDocuments() throws IOException {
+        try (PDDocument first = new PDDocument(); PDDocument second = new PDDocument()) {
+            ResourceManager firstManager = new ResourceManager(first);
+            ResourceManager secondManager = new ResourceManager(second);
+
+            assertSame(firstManager.getDefaultFont(), secondManager.getDefaultFont());
+            assertSame(firstManager.getFont("Times-Bold"), secondManager.getFont("Times-Bold"));
+            assertSame(StandardFonts.get(Standard14Fonts.FontName.HELVETICA), PageSection.builder().build().getFont());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve medir texto de forma consistente entre threads")
+    void shouldMeasureConsistentlyAcrossThreads() throws Exception {
+        PDType1Font font = StandardFonts.get(Standard14Fonts.FontName.HELVETICA);
+        String text = "Relatório de vendas — 2024: R$ 1.234,56 (ÁÉÍÓÚ àèìòù ç)";
+        float expected = new PDType1Font(Standard14Fonts.FontName.HELVETICA).getStringWidth(text);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Float>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> TextMeasurer.getStringWidth(font, text)));
+            }
+            for (Future<Float> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
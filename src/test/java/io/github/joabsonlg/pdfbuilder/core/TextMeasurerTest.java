@@ -0,0 +1,123 @@
+package io.github.joabsonlg.pdfbuilder.core;
+
+import org.apache.fontbox.afm.KernPair;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TextMeasurer")
+class TextMeasurerTest {
+
+    private static final String SAMPLE = "Relatório AV To Wa — R$ 1.234,56 \"ÁÉÍÓÚ\" àèìòù ç ß € ‰ fi";
+
+    /**
+     * Regenera as métricas de todos os caracteres das 14 fontes, o que leva alguns segundos;
+     * executado apenas com os perfis {@code metrics-drift} e {@code release}.
+     */
+    @Test
+    @Tag("metrics-drift")
+    @DisplayName("Recurso de métricas deve estar atualizado com o PDFBox")
+    void shouldMatchGeneratedMetrics() throws IOException {
+        try (InputStream resource = Standard14Metrics.class.getResourceAsStream("standard14.metrics")) {
+            assertNotNull(resource);
+            assertArrayEquals(Standard14MetricsGenerator.generate(), resource.readAllBytes(),
+                    "Execute Standard14MetricsGenerator para regenerar o recurso");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve medir igual ao PDFBox para as fontes padrão")
+    void shouldMatchPdfBoxWidths() throws IOException {
+        for (Standard14Fonts.FontName fontName : Standard14Fonts.FontName.values()) {
+            PDType1Font font = new PDType1Font(fontName);
+            assertNotNull(TextMeasurer.metricsFor(font), fontName.getName());
+            assertEquals(font.getSpaceWidth() / 1000 * 11, TextMeasurer.getSpaceWidth(font, 11));
+            assertEquals(font.getBoundingBox().getHeight() / 1000 * 11, TextMeasurer.getBoundingBoxHeight(font, 11));
+            if (fontName == Standard14Fonts.FontName.SYMBOL || fontName == Standard14Fonts.FontName.ZAPF_DINGBATS) {
+                continue;
+            }
+            assertEquals(font.getStringWidth(SAMPLE) / 1000 * 11, TextMeasurer.getStringWidth(font, SAMPLE, 11));
+            assertEquals(font.getStringWidth(SAMPLE), TextMeasurer.getStringWidth(StandardFonts.get(fontName), SAMPLE));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar caracteres indisponíveis na fonte")
+    void shouldRejectUnavailableCharacters() {
+        PDFont font = StandardFonts.get(Standard14Fonts.FontName.HELVETICA);
+        assertThrows(IllegalArgumentException.class, () -> TextMeasurer.getStringWidth(font, "Olá 世界"));
+        assertThrows(IllegalArgumentException.class, () -> TextMeasurer.getStringWidth(font, "😀"));
+    }
+
+    @Test
+    @DisplayName("Deve delegar ao PDFBox quando a fonte define larguras próprias")
+    void shouldFallBackForCustomWidths() throws IOException {
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        COSArray widths = new COSArray();
+        for (int code = 32; code < 256; code++) {
+            widths.add(COSInteger.get(500));
+        }
+        font.getCOSObject().setInt(COSName.FIRST_CHAR, 32);
+        font.getCOSObject().setInt(COSName.LAST_CHAR, 255);
+        font.getCOSObject().setItem(COSName.WIDTHS, widths);
+
+        assertNull(TextMeasurer.metricsFor(font));
+        assertEquals(font.getStringWidth("Texto"), TextMeasurer.getStringWidth(font, "Texto"));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os pares de kerning das métricas AFM")
+    void shouldApplyAfmKerningPairs() throws IOException {
+        PDFont font = StandardFonts.get(Standard14Fonts.FontName.HELVETICA);
+        KerningTable pairs = TextMeasurer.metricsFor(font).getKerning();
+        int checked = 0;
+        for (KernPair pair : Standard14MetricsGenerator.readAfm("Helvetica").getKernPairs()) {
+            String first = pair.getFirstKernCharacter();
+            String second = pair.getSecondKernCharacter();
+            if (first.length() == 1 && second.length() == 1 && Character.isLetter(first.charAt(0)) && Character.isLetter(second.charAt(0))) {
+                assertEquals((int) pair.getX(), pairs.get(first.charAt(0), second.charAt(0)), first + second);
+                checked++;
+            }
+        }
+        assertTrue(checked > 100);
+        assertEquals(0, pairs.get('x', 'x'));
+
+        float plain = TextMeasurer.getStringWidth(font, "AVATAR", 10);
+        assertEquals(plain, TextMeasurer.getStringWidth(font, "AVATAR", 10, false));
+        float kerned = (font.getStringWidth("AVATAR") + pairs.get('A', 'V') + pairs.get('V', 'A')
+                + pairs.get('A', 'T') + pairs.get('T', 'A')) / 1000 * 10;
+        assertEquals(kerned, TextMeasurer.getStringWidth(font, "AVATAR", 10, true), 1e-4);
+        assertTrue(kerned < plain);
+        assertEquals(TextMeasurer.getStringWidth(font, "xxx", 10), TextMeasurer.getStringWidth(font, "xxx", 10, true));
+    }
+
+    @Test
+    @DisplayName("Deve detectar fontes de largura fixa sem codificar o texto")
+    void shouldDetectFixedPitchFonts() throws IOException {
+        for (Standard14Fonts.FontName name : Standard14Fonts.FontName.values()) {
+            PDFont font = StandardFonts.get(name);
+            boolean courier = name.getName().startsWith("Courier");
+            assertEquals(courier ? 600 : -1, TextMeasurer.getFixedPitchAdvance(font), name.getName());
+        }
+
+        PDFont courier = StandardFonts.get(Standard14Fonts.FontName.COURIER);
+        String text = "Relatório mensal: 42 itens, total € 1.234,56";
+        assertTrue(TextMeasurer.isFixedPitch(courier, text, 0, text.length()));
+        assertEquals(TextMeasurer.getStringWidth(courier, text, 9), text.length() * 600f / 1000 * 9);
+        assertFalse(TextMeasurer.isFixedPitch(courier, "linha\noutra", 0, 11));
+        assertTrue(TextMeasurer.isFixedPitch(courier, "linha\noutra", 6, 11));
+        assertFalse(TextMeasurer.isFixedPitch(courier, "Привет", 0, 6));
+        assertFalse(TextMeasurer.isFixedPitch(StandardFonts.get(Standard14Fonts.FontName.HELVETICA), "abc", 0, 3));
+    }
+}